@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keeps the scanned {@link ProjectContext} of the project being upgraded in memory across requests.
+ * <p>
+ * The project is only scanned again when another project is opened or when the working tree was changed outside
+ * of this session. Drift is detected by comparing a fingerprint of the paths, sizes and modification times of the
+ * scanned files, which only requires walking the project directory. The working tree is checked when a project is
+ * opened and before recipes are applied, but not when the report is requested. Changes successfully applied through
+ * this session update the fingerprint and don't trigger a scan, after a failed apply the project is scanned again.
+ * <p>
+ * Methods are synchronized, requests working with the project are processed one after the other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectSession {
+
+    public static final String REPORT_RECIPE = "sbu30-report";
+
+    private final ScanCommand scanCommand;
+    private final ApplyCommand applyCommand;
+    private final ProjectContextHolder contextHolder;
+
+    private ProjectContext projectContext;
+    private String workingTreeFingerprint;
+    /**
+     * Set when applying a recipe failed, the {@link ProjectContext} may then differ from the working tree.
+     */
+    private boolean outOfSync;
+    /**
+     * Incremented whenever the {@link ProjectContext} was scanned or changed.
+     */
+    private long version;
+    private long reportedVersion = -1;
+
+    /**
+     * Open the project at {@code projectPath}, the cached {@link ProjectContext} is reused when it belongs to the same
+     * project and the working tree did not change.
+     */
+    public synchronized ProjectContext open(String projectPath) {
+        Path projectRoot = Path.of(projectPath).toAbsolutePath().normalize();
+        if (projectContext == null || !projectContext.getProjectRootDirectory().normalize().equals(projectRoot)) {
+            scan(projectRoot);
+        } else {
+            rescanIfOutOfSync(true);
+        }
+        return projectContext;
+    }
+
+    /**
+     * Run {@code function} with the {@link ProjectContext} of the project at {@code projectPath} while no other
+     * request can change it.
+     */
+    public synchronized <T> T withProjectContext(String projectPath, Function<ProjectContext, T> function) {
+        return function.apply(open(projectPath));
+    }
+
+    /**
+     * Apply the recipes with given names to the currently opened project.
+     */
+    public synchronized void apply(List<String> recipeNames) {
+        ProjectContext context = getProjectContext(true);
+        try {
+            recipeNames.forEach(recipeName -> applyCommand.execute(context, recipeName));
+        } catch (RuntimeException e) {
+            outOfSync = true;
+            version++;
+            throw e;
+        }
+        changesApplied();
+    }
+
+    /**
+     * Apply the recipes with given names to the project at {@code projectPath}.
+     */
+    public synchronized void apply(String projectPath, List<String> recipeNames) {
+        open(projectPath);
+        apply(recipeNames);
+    }
+
+    /**
+     * Create the upgrade report again if the project changed through this session since it was last created.
+     * <p>
+     * The working tree is not checked for changes made outside of this session, these are picked up when the project
+     * is opened again or recipes are applied.
+     */
+    public synchronized void updateReport() {
+        ProjectContext context = getProjectContext(false);
+        if (reportedVersion != version) {
+            applyCommand.execute(context, REPORT_RECIPE);
+            reportedVersion = version;
+        }
+    }
+
+    private ProjectContext getProjectContext(boolean checkWorkingTree) {
+        if (projectContext == null) {
+            throw new IllegalStateException("No project was opened.");
+        }
+        rescanIfOutOfSync(checkWorkingTree);
+        return projectContext;
+    }
+
+    private void scan(Path projectRoot) {
+        // taken before scanning, changes made while scanning lead to another scan
+        workingTreeFingerprint = fingerprint(projectRoot);
+        projectContext = scanCommand.execute(projectRoot.toString());
+        contextHolder.setProjectContext(projectContext);
+        outOfSync = false;
+        version++;
+    }
+
+    private void rescanIfOutOfSync(boolean checkWorkingTree) {
+        Path projectRoot = projectContext.getProjectRootDirectory();
+        if (outOfSync) {
+            log.info("Applying recipes to project '%s' failed, scanning it again.".formatted(projectRoot));
+            scan(projectRoot);
+        } else if (checkWorkingTree && !fingerprint(projectRoot).equals(workingTreeFingerprint)) {
+            log.info("Project '%s' changed outside of this session, scanning it again.".formatted(projectRoot));
+            scan(projectRoot);
+        }
+    }
+
+    private void changesApplied() {
+        // the project is scanned again when it was found out of sync while applying a recipe
+        ProjectContext currentContext = contextHolder.getProjectContext();
+        if (currentContext != null) {
+            projectContext = currentContext;
+        }
+        workingTreeFingerprint = fingerprint(projectContext.getProjectRootDirectory());
+        version++;
+    }
+
+    /**
+     * Digest of the path, size and modification time of every scanned file in path order.
+     */
+    private String fingerprint(Path projectRoot) {
+        List<String> entries = scanCommand.scanProjectRoot(projectRoot).stream()
+                .map(this::describe)
+                .sorted()
+                .toList();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String entry : entries) {
+                digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String describe(Resource resource) {
+        try {
+            return resource.getFile().toPath() + "|" + resource.contentLength() + "|" + resource.lastModified();
+        } catch (IOException e) {
+            // resource vanished while walking the tree, a different fingerprint is what we want
+            return resource.getDescription() + "|-";
+        }
+    }
+}
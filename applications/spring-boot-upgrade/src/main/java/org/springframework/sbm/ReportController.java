@@ -21,9 +21,6 @@ import lombok.Value;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportRenderer;
-import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.context.ProjectContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,46 +30,35 @@ import java.util.List;
 @CrossOrigin
 class ReportController{
 
-    @Autowired
-    private ApplyCommand applyCommand;
     @Autowired
     private ReportHolder reportHolder;
 
     @Autowired
-    private ProjectContextHolder contextHolder;
-
-    public static final String REPORT_RECIPE = "sbu30-report";
+    private ProjectSession projectSession;
 
-    private boolean isInitialReport = true;
+    public static final String REPORT_RECIPE = ProjectSession.REPORT_RECIPE;
 
     @GetMapping(path = "/spring-boot-upgrade", produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
     public String upgrade() {
-        // Urgh... that's nasty
-        if(!isInitialReport) {
-            applyCommand.execute(contextHolder.getProjectContext(), REPORT_RECIPE);
-        }
-        isInitialReport = false;
+        // the report is only created again when the project changed since it was last created
+        projectSession.updateReport();
         return reportHolder.getReport();
     }
 
     @PostMapping(path = "/spring-boot-upgrade", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
     public String applyRecipes(@RequestParam("recipeNames[]") String[] recipeNames) {
-        ProjectContext context = contextHolder.getProjectContext();
-        List.of(recipeNames).forEach(recipeName -> applyCommand.execute(context, recipeName));
-        applyCommand.execute(context, REPORT_RECIPE);
+        projectSession.apply(List.of(recipeNames));
+        projectSession.updateReport();
         return reportHolder.getReport();
     }
 
     @PostMapping(path = "/spring-boot-upgrade")
     @ResponseBody
     public void applyRecipes2(@RequestBody Recipe recipeNames) {
-        ProjectContext context = contextHolder.getProjectContext();
-        recipeNames.getRecipes().forEach(
-                recipeName -> applyCommand.execute(context, recipeName)
-        );
-        applyCommand.execute(context, REPORT_RECIPE);
+        projectSession.apply(recipeNames.getRecipes());
+        projectSession.updateReport();
     }
 
     @Getter
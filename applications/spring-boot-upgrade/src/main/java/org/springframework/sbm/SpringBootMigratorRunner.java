@@ -20,19 +20,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.commands.ScanCommand;
-import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.context.ProjectContextHolder;
 
 @Configuration
 @RequiredArgsConstructor
 public class SpringBootMigratorRunner implements ApplicationRunner {
 
-    private final ScanCommand scanCommand;
-    private final ProjectContextHolder contextHolder;
-    private final ApplyCommand applyCommand;
-    private final String REPORT_RECIPE = "sbu30-report";
+    private final ProjectSession projectSession;
 
     @Value("${server.port:8080}")
     private String port;
@@ -45,9 +38,8 @@ public class SpringBootMigratorRunner implements ApplicationRunner {
         }
         String applicationPath = args.getSourceArgs()[0];
         System.out.println("Scanning " + applicationPath);
-        ProjectContext context = scanCommand.execute(applicationPath);
-        contextHolder.setProjectContext(context);
-        applyCommand.execute(contextHolder.getProjectContext(), REPORT_RECIPE);
+        projectSession.open(applicationPath);
+        projectSession.updateReport();
         System.out.printf("finished scan. Please open: http://localhost:%s/spring-boot-upgrade\n", port);
     }
 }
@@ -16,8 +16,10 @@
 package org.springframework.sbm;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Primary;
-import org.springframework.sbm.boot.upgrade.common.UpgradeReportUtil;
+import org.springframework.context.event.EventListener;
+import org.springframework.sbm.boot.upgrade.common.AsciidoctorEngine;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportRenderer;
 import org.springframework.stereotype.Component;
 
@@ -29,9 +31,22 @@ import org.springframework.stereotype.Component;
 public class SpringBootUpgradeReportStringRenderer implements SpringBootUpgradeReportRenderer {
     @Autowired
     private ReportHolder reportHolder;
+    @Autowired
+    private AsciidoctorEngine asciidoctorEngine;
+
+    /**
+     * Boots the JRuby runtime in the background so the first report does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpAsciidoctor() {
+        Thread warmUp = new Thread(asciidoctorEngine::warmUp, "asciidoctor-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
     @Override
     public void processReport(String renderedReport) {
-        String htmlReport = UpgradeReportUtil.renderHtml(renderedReport);
+        String htmlReport = asciidoctorEngine.renderHtml(renderedReport);
         String closingHeadTag = "</head>";
 
         String additionalHeader =
@@ -15,10 +15,8 @@
  */
 package org.springframework.sbm.service;
 
+import org.springframework.sbm.ProjectSession;
 import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
-import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.commands.ScanCommand;
-import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.service.dto.RecipeInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
@@ -26,32 +24,28 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 public class RestApi {
     
     @Autowired
-    private ScanCommand scanCommand;
-    
-    @Autowired
-    private ApplyCommand applyCommand;
+    private ProjectSession projectSession;
     
     @Autowired
     private ApplicableRecipeListCommand applicableRecipeListCommand;
 
     @PostMapping(value = "/scan", produces = MediaType.APPLICATION_JSON_VALUE)
     RecipeInfo[] scan(@RequestParam("projectPath") String projectPath) {
-        ProjectContext projectContext = scanCommand.execute(projectPath);
-        return applicableRecipeListCommand.execute(projectContext).stream()
+        return projectSession.withProjectContext(projectPath, projectContext ->
+                applicableRecipeListCommand.execute(projectContext).stream()
                     .map(r -> RecipeInfo.builder().name(r.getName()).description(r.getDescription()).details(r.getDetails()).build())
-                    .toArray(RecipeInfo[]::new);
+                    .toArray(RecipeInfo[]::new));
     }
     
     @PostMapping("/apply")
     void apply(@RequestParam("projectPath") String projectPath, @RequestParam("recipe") String recipe) {
-        // FIXME: ProjectContext must be cached and used here
-        // FIXME: Apply should not do implicit scan.
-        ProjectContext projectContext = scanCommand.execute(projectPath);
-        applyCommand.execute(projectContext, recipe);
+        projectSession.apply(projectPath, List.of(recipe));
     }
 
 }
@@ -35,13 +35,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportRenderer;
-import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.commands.ScanCommand;
-import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.mockito.InOrder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -57,33 +55,29 @@ public class ControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
-    private ApplyCommand applyCommand;
-
     @MockBean
     private ReportHolder reportHolder;
 
     @MockBean
-    private ProjectContextHolder contextHolder;
+    private ProjectSession projectSession;
 
     @Test
     void testGetRequest() throws Exception {
-        ProjectContext projectContext = mock(ProjectContext.class);
-        when(contextHolder.getProjectContext()).thenReturn(projectContext);
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
-        // For the first request the report is created by the runner, for following calls the report is created again
-        verify(applyCommand, times(1)).execute(projectContext, ReportController.REPORT_RECIPE);
+        // the session decides if the report must be created again
+        verify(projectSession, times(2)).updateReport();
+        verify(projectSession, never()).apply(any());
     }
 
     @Test
     void testPostRequest() throws Exception {
-        ProjectContext projectContext = mock(ProjectContext.class);
-        when(contextHolder.getProjectContext()).thenReturn(projectContext);
         mockMvc.perform(post("/spring-boot-upgrade")
                                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                                 .param("recipeNames[]", "recipe1", "recipe2")
         ).andExpect(status().isOk());
-        verify(applyCommand).execute(projectContext, ReportController.REPORT_RECIPE);
+        InOrder inOrder = inOrder(projectSession);
+        inOrder.verify(projectSession).apply(List.of("recipe1", "recipe2"));
+        inOrder.verify(projectSession).updateReport();
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProjectSessionTest {
+
+    @TempDir
+    Path projectRoot;
+
+    private final ScanCommand scanCommand = mock(ScanCommand.class);
+    private final ApplyCommand applyCommand = mock(ApplyCommand.class);
+    private final ProjectContextHolder contextHolder = new ProjectContextHolder();
+    private final ProjectSession sut = new ProjectSession(scanCommand, applyCommand, contextHolder);
+    private Path file;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        file = Files.writeString(projectRoot.resolve("pom.xml"), "<project/>");
+        when(scanCommand.scanProjectRoot(any(Path.class))).thenAnswer(invocation -> List.<Resource>of(new FileSystemResource(file)));
+        when(scanCommand.execute(any())).thenAnswer(invocation -> {
+            ProjectContext context = mock(ProjectContext.class);
+            when(context.getProjectRootDirectory()).thenReturn(projectRoot);
+            return context;
+        });
+    }
+
+    @Test
+    void projectContextIsReusedAcrossRequests() {
+        ProjectContext context = sut.open(projectRoot.toString());
+
+        assertThat(sut.open(projectRoot.toString())).isSameAs(context);
+        assertThat(sut.withProjectContext(projectRoot.toString(), c -> c)).isSameAs(context);
+        assertThat(contextHolder.getProjectContext()).isSameAs(context);
+        verify(scanCommand, times(1)).execute(any());
+    }
+
+    @Test
+    void projectIsScannedAgainWhenWorkingTreeChanged() throws IOException {
+        ProjectContext context = sut.open(projectRoot.toString());
+
+        Files.writeString(file, "<project><modelVersion>4.0.0</modelVersion></project>");
+
+        assertThat(sut.open(projectRoot.toString())).isNotSameAs(context);
+        verify(scanCommand, times(2)).execute(any());
+    }
+
+    @Test
+    void reportIsOnlyCreatedAgainAfterChanges() throws IOException {
+        ProjectContext context = sut.open(projectRoot.toString());
+        sut.updateReport();
+        sut.updateReport();
+        verify(applyCommand, times(1)).execute(context, ProjectSession.REPORT_RECIPE);
+
+        doAnswer(invocation -> Files.writeString(file, "<project>changed</project>"))
+                .when(applyCommand).execute(context, "some-recipe");
+        sut.apply(List.of("some-recipe"));
+        sut.updateReport();
+
+        // changes made by applied recipes are no drift
+        verify(scanCommand, times(1)).execute(any());
+        verify(applyCommand, times(2)).execute(context, ProjectSession.REPORT_RECIPE);
+    }
+
+    @Test
+    void reportDoesNotWalkWorkingTree() {
+        sut.open(projectRoot.toString());
+        clearInvocations(scanCommand);
+
+        sut.updateReport();
+        sut.updateReport();
+
+        verify(scanCommand, never()).scanProjectRoot(any());
+    }
+
+    @Test
+    void projectIsScannedAgainAfterFailedApply() {
+        ProjectContext context = sut.open(projectRoot.toString());
+        doThrow(new IllegalStateException("recipe failed")).when(applyCommand).execute(context, "failing-recipe");
+
+        assertThatThrownBy(() -> sut.apply(List.of("failing-recipe"))).isInstanceOf(IllegalStateException.class);
+        sut.updateReport();
+
+        verify(scanCommand, times(2)).execute(any());
+        verify(applyCommand, never()).execute(context, ProjectSession.REPORT_RECIPE);
+        verify(applyCommand, times(1)).execute(any(), eq(ProjectSession.REPORT_RECIPE));
+    }
+
+    @Test
+    void projectIsScannedAgainWhenSizesOfFilesAreSwapped() throws IOException {
+        Path other = Files.writeString(projectRoot.resolve("other.xml"), "<other/>");
+        FileTime modified = FileTime.fromMillis(1_000_000);
+        Files.setLastModifiedTime(file, modified);
+        Files.setLastModifiedTime(other, modified);
+        when(scanCommand.scanProjectRoot(any(Path.class))).thenAnswer(invocation -> List.<Resource>of(new FileSystemResource(other), new FileSystemResource(file)));
+        ProjectContext context = sut.open(projectRoot.toString());
+
+        Files.writeString(file, "<other/>");
+        Files.writeString(other, "<project/>");
+        Files.setLastModifiedTime(file, modified);
+        Files.setLastModifiedTime(other, modified);
+
+        assertThat(sut.open(projectRoot.toString())).isNotSameAs(context);
+    }
+}
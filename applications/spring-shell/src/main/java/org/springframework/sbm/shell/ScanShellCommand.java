@@ -64,7 +64,7 @@ public class ScanShellCommand {
 
         stringBuilder = new AttributedStringBuilder();
         if (!result.hasError()) {
-            ProjectContext projectContext = scanCommand.execute(projectRoot);
+            ProjectContext projectContext = scanCommand.execute(projectRoot, resources);
             contextHolder.setProjectContext(projectContext);
             List<Recipe> recipes = applicableRecipeListCommand.execute(projectContext);
             AttributedString recipeList = applicableRecipeListRenderer.render(recipes);
@@ -122,7 +122,7 @@ class ScanShellCommandTest {
         when(preconditionVerificationRenderer.renderPreconditionCheckResults(verificationResult)).thenReturn(renderedVerificationResult);
         // Creates ProjectContext
         ProjectContext projectContext = mock(ProjectContext.class);
-        when(scanCommand.execute(projectRoot)).thenReturn(projectContext);
+        when(scanCommand.execute(projectRoot, resources)).thenReturn(projectContext);
         // find applicable recipes
         when(applicableRecipeListCommand.execute(projectContext)).thenReturn(recipes);
         // render recipe list
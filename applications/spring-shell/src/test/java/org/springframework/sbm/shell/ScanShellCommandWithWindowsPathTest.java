@@ -63,7 +63,7 @@ public class ScanShellCommandWithWindowsPathTest {
     }
 
     private void recordMocks(String projectRoot, ScanCommand scanCommand, ApplicableRecipeListRenderer applicationRecipeListRenderer, ApplicableRecipeListCommand applicableRecipeListCommand, List<Resource> resources, List<Recipe> recipes, ProjectContext projectContext) {
-        when(scanCommand.execute(projectRoot)).thenReturn(projectContext);
+        when(scanCommand.execute(projectRoot, resources)).thenReturn(projectContext);
         PreconditionVerificationResult result = new PreconditionVerificationResult(Path.of(projectRoot));
         when(applicableRecipeListCommand.execute(projectContext)).thenReturn(recipes);
         when(applicableRecipeListCommand.execute(projectContext)).thenReturn(recipes);
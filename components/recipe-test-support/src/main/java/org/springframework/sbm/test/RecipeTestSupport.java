@@ -15,8 +15,10 @@
  */
 package org.springframework.sbm.test;
 
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.build.impl.MavenBuildFileRefactoringFactory;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
 import org.springframework.sbm.engine.context.RewriteJavaSearchActionDeserializer;
@@ -77,6 +79,8 @@ public class RecipeTestSupport {
             RewriteMavenParser.class,
             MavenSettingsInitializer.class,
             MavenBuildFileRefactoringFactory.class,
+            RewriteMavenArtifactDownloader.class,
+            ConcurrentArtifactDownloader.class,
             ProjectResourceSetHolder.class,
             ScopeConfiguration.class,
             ExecutionScope.class,
@@ -23,6 +23,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BuildFile extends ProjectResource {
 
@@ -176,4 +177,14 @@ public interface BuildFile extends ProjectResource {
 
 	Optional<Plugin> findPlugin(String groupId, String artifactId);
 
+    /**
+     * Applies all modifications made by {@code modifications} to this build file and refreshes the build model once
+     * after the last modification instead of after every single modification.
+     * <p>
+     * Queries inside {@code modifications} see the model as it was before the batch, e.g. the effective dependencies
+     * do not yet contain dependencies added in the same batch.
+     * Nested batches are merged into the outermost batch.
+     */
+    void batch(Consumer<BuildFile> modifications);
+
 }
@@ -37,7 +37,9 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -206,9 +208,9 @@ public class Module {
 
     /**
      * Class provides filtering on the list of resources in a {@code ProjectResourceSet}.
-     * As all read methods rely on {@code stream()}, only this stream has to be filtered. :fingers_crossed:
+     * All read methods are routed through the filtered {@code stream()}, modifications are not supported.
      *
-     * It's a private inner class as it is currently only used here and quite hacky overwriting only parts of
+     * It's a private inner class as it is currently only used here and quite hacky overwriting
      * {@code ProjectResourceSet} with a lot of assumptions of the inner workings of other classes.
      */
     private class ImmutableFilteringProjectResourceSet extends ProjectResourceSet{
@@ -225,5 +227,89 @@ public class Module {
             return projectResourceSet.stream()
                     .filter(this.predicate);
         }
+
+        @Override
+        public Stream<RewriteSourceFileHolder<? extends SourceFile>> streamIncludingDeleted() {
+            return projectResourceSet.streamIncludingDeleted()
+                    .filter(r -> r != null && this.predicate.test(r));
+        }
+
+        @Override
+        public int size() {
+            return (int) streamIncludingDeleted().count();
+        }
+
+        @Override
+        public int indexOf(Path absolutePath) {
+            List<RewriteSourceFileHolder<? extends SourceFile>> resources = streamIncludingDeleted().toList();
+            for (int i = 0; i < resources.size(); i++) {
+                if (absolutePath.equals(resources.get(i).getAbsolutePath())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Optional<RewriteSourceFileHolder<? extends SourceFile>> findByAbsolutePath(Path absolutePath) {
+            return projectResourceSet.findByAbsolutePath(absolutePath).filter(this.predicate);
+        }
+
+        @Override
+        public Optional<RewriteSourceFileHolder<? extends SourceFile>> findById(UUID id) {
+            return projectResourceSet.findById(id).filter(this.predicate);
+        }
+
+        @Override
+        public <T> List<T> findByWrapperType(Class<T> type) {
+            return projectResourceSet.findByWrapperType(type).stream()
+                    .filter(r -> this.predicate.test((RewriteSourceFileHolder<? extends SourceFile>) r))
+                    .toList();
+        }
+
+        @Override
+        public boolean ownsResources() {
+            return projectResourceSet.ownsResources();
+        }
+
+        @Override
+        public long getModificationCount() {
+            return projectResourceSet.getModificationCount();
+        }
+
+        @Override
+        public long getStructuralModificationCount() {
+            return projectResourceSet.getStructuralModificationCount();
+        }
+
+        @Override
+        public long getModificationCount(Class<? extends SourceFile> type) {
+            return projectResourceSet.getModificationCount(type);
+        }
+
+        @Override
+        public void add(RewriteSourceFileHolder<? extends SourceFile> newResource) {
+            throw new UnsupportedOperationException("Resources can't be added to a filtered view of the project resources.");
+        }
+
+        @Override
+        public void replace(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
+            throw new UnsupportedOperationException("Resources can't be replaced in a filtered view of the project resources.");
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<RewriteSourceFileHolder<? extends SourceFile>> mapper) {
+            throw new UnsupportedOperationException("Resources can't be replaced in a filtered view of the project resources.");
+        }
+
+        @Override
+        public void remove(Path absolutePath) {
+            throw new UnsupportedOperationException("Resources can't be removed from a filtered view of the project resources.");
+        }
+
+        @Override
+        public void attachResources() {
+            throw new UnsupportedOperationException("A filtered view of the project resources can't own resources.");
+        }
     }
 }
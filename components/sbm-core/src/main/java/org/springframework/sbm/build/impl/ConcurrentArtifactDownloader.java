@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.utilities.MavenArtifactDownloader;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Downloads artifacts concurrently on a bounded pool.
+ * <p>
+ * Resolved paths are cached by this instance, keyed by GAV, classifier and type, until the cache is cleared
+ * before a project is scanned again.
+ * Concurrent requests for the same artifact wait for the download already in flight.
+ * Failed downloads are not cached and will be retried on the next request.
+ * The pool is shut down when the application context is closed, downloads requested afterwards start a new pool.
+ */
+@Slf4j
+@Component
+public class ConcurrentArtifactDownloader implements DisposableBean {
+
+    private static final int DOWNLOAD_THREADS = Math.max(4, Math.min(16, Runtime.getRuntime().availableProcessors() * 2));
+
+    private final Map<String, CompletableFuture<Optional<Path>>> pathCache = new ConcurrentHashMap<>();
+
+    private final MavenArtifactDownloader artifactDownloader;
+
+    private ExecutorService executor;
+
+    public ConcurrentArtifactDownloader(MavenArtifactDownloader artifactDownloader) {
+        this.artifactDownloader = artifactDownloader;
+    }
+
+    /**
+     * Download given {@code dependencies} concurrently.
+     *
+     * @param onStart called for every dependency before its download is requested
+     * @return the paths of the downloaded artifacts by dependency in the order of {@code dependencies},
+     * dependencies that could not be downloaded are missing
+     */
+    public Map<ResolvedDependency, Path> downloadArtifacts(Collection<ResolvedDependency> dependencies, Consumer<ResolvedDependency> onStart) {
+        Map<ResolvedDependency, CompletableFuture<Optional<Path>>> downloads = new LinkedHashMap<>();
+        dependencies.forEach(d -> {
+            onStart.accept(d);
+            downloads.put(d, download(d));
+        });
+        Map<ResolvedDependency, Path> paths = new LinkedHashMap<>();
+        downloads.forEach((d, download) -> download.join().ifPresent(path -> paths.put(d, path)));
+        return paths;
+    }
+
+    public Map<ResolvedDependency, Path> downloadArtifacts(Collection<ResolvedDependency> dependencies) {
+        return downloadArtifacts(dependencies, d -> {});
+    }
+
+    /**
+     * Forget all resolved paths, e.g. because artifacts in the local repository were updated.
+     */
+    public void clear() {
+        pathCache.clear();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(DOWNLOAD_THREADS, r -> {
+                Thread thread = new Thread(r, "sbm-artifact-download");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private CompletableFuture<Optional<Path>> download(ResolvedDependency dependency) {
+        String key = cacheKey(dependency);
+        CompletableFuture<Optional<Path>> download = pathCache.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> downloadArtifact(dependency), getExecutor()));
+        return download.thenApply(path -> {
+            if (path.isEmpty()) {
+                pathCache.remove(key, download);
+            }
+            return path;
+        });
+    }
+
+    private Optional<Path> downloadArtifact(ResolvedDependency dependency) {
+        try {
+            return Optional.ofNullable(artifactDownloader.downloadArtifact(dependency));
+        } catch (Exception e) {
+            log.warn("Could not download artifact '%s'".formatted(dependency.getGav()), e);
+            return Optional.empty();
+        }
+    }
+
+    private String cacheKey(ResolvedDependency dependency) {
+        return dependency.getGav() + ":" + dependency.getRequested().getClassifier() + ":" + dependency.getRequested().getType();
+    }
+}
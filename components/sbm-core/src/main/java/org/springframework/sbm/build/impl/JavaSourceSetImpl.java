@@ -19,7 +19,7 @@ import org.openrewrite.ExecutionContext;
 import org.springframework.sbm.build.api.JavaSourceSet;
 import org.springframework.sbm.java.api.JavaSource;
 import org.springframework.sbm.java.api.JavaSourceLocation;
-import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.java.impl.JavaParserPool;
 import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
 import org.springframework.sbm.java.refactoring.JavaRefactoringFactory;
 import org.springframework.sbm.java.util.BasePackageCalculator;
@@ -66,7 +66,7 @@ public class JavaSourceSetImpl implements JavaSourceSet {
     @Deprecated(forRemoval = true)
     public JavaSource addJavaSource(Path projectRoot, Path sourceFolder, String sourceCode, String packageName) {
         // FIXME: #7 JavaParser
-        JavaParser javaParser = JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+        JavaParser javaParser = JavaParserPool.getInstance().getCurrentJavaParser();
 //        javaParser.reset();
         List<J.CompilationUnit> compilationUnits = javaParser.parse(sourceCode);
         J.CompilationUnit parsedCompilationUnit = compilationUnits.get(0);
@@ -15,13 +15,15 @@
  */
 package org.springframework.sbm.build.impl;
 
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.*;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.maven.MavenVisitor;
+import org.openrewrite.maven.tree.ManagedDependency;
 import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Parent;
+import org.openrewrite.maven.tree.ResolvedPom;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
@@ -30,9 +32,8 @@ import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -85,68 +86,161 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
         }
     }
 
+    /**
+     * Refreshes the {@link MavenResolutionResult} of all Maven build files modified since their model was
+     * last resolved, together with all build files inheriting from, importing or depending on them and the
+     * aggregators listing any of these as module.
+     * <p>
+     * Unchanged build files required to resolve these (parents, imported BOMs, reactor dependencies and modules of
+     * refreshed aggregators) are parsed as input too, but keep their current model.
+     */
     public void refreshPomModels() {
-        // store buildfiles and their index in project resource list
-        List<BuildFileWithIndex> buildFilesWithIndex = new ArrayList<>();
-        List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = projectResourceSet.list();
-        for(RewriteSourceFileHolder<? extends SourceFile> sf : projectResources) {
-            if(isMavenBuildFile(sf)) {
-                int index = projectResources.indexOf(sf);
-                Xml.Document xmlDoc = (Xml.Document) sf.getSourceFile();
-                buildFilesWithIndex.add(new BuildFileWithIndex(index, (RewriteSourceFileHolder<Xml.Document>) sf));
-            }
+        List<RewriteSourceFileHolder<Xml.Document>> buildFiles = projectResourceSet.stream()
+                .filter(this::isMavenBuildFile)
+                .map(sf -> (RewriteSourceFileHolder<Xml.Document>) sf)
+                .collect(Collectors.toList());
+
+        Set<RewriteSourceFileHolder<Xml.Document>> changedBuildFiles = buildFiles.stream()
+                .filter(MavenBuildFileRefactoring::isPomModelOutdated)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (changedBuildFiles.isEmpty()) {
+            return;
         }
 
-        // create parser inputs from buildfiles content
-        List<Parser.Input> parserInputs = buildFilesWithIndex
-                .stream()
-                .map(BuildFileWithIndex::getXmlDoc)
-                .map(m -> new Parser.Input(m.getSourcePath(), null, () -> new ByteArrayInputStream(
-                        m.print().getBytes(StandardCharsets.UTF_8)), !Files.exists(m.getSourcePath())))
-                .collect(Collectors.toList());
+        BuildFileGraph graph = new BuildFileGraph(buildFiles);
+        // aggregators reference the models of their modules, they are refreshed together with their modules
+        Set<RewriteSourceFileHolder<Xml.Document>> buildFilesToRefresh = graph.withAggregators(graph.withDependents(changedBuildFiles));
+        // the parser links the models of aggregators only to modules parsed with them
+        Set<RewriteSourceFileHolder<Xml.Document>> buildFilesToParse = graph.withRequirements(graph.withModules(buildFilesToRefresh));
+
+        // create parser inputs from buildfiles content, keeping the order of the project resources
+        Map<Path, RewriteSourceFileHolder<Xml.Document>> buildFilesBySourcePath = new HashMap<>();
+        List<Parser.Input> parserInputs = new ArrayList<>();
+        for (RewriteSourceFileHolder<Xml.Document> buildFile : buildFiles) {
+            if (buildFilesToParse.contains(buildFile)) {
+                Xml.Document xmlDoc = buildFile.getSourceFile();
+                buildFilesBySourcePath.put(xmlDoc.getSourcePath(), buildFile);
+                parserInputs.add(new Parser.Input(xmlDoc.getSourcePath(), null, () -> new ByteArrayInputStream(
+                        xmlDoc.printAll().getBytes(StandardCharsets.UTF_8)), !Files.exists(xmlDoc.getSourcePath())));
+            }
+        }
 
         // parse buildfiles
         List<Xml.Document> newMavenFiles = mavenParser.parseInputs(parserInputs, null, executionContext);
 
         // replace new model in build files
-        newMavenFiles.stream()
-                .forEach(mf -> {
-                    replaceModelInBuildFile(projectResources, buildFilesWithIndex, newMavenFiles, mf);
-                });
+        newMavenFiles.forEach(mf -> {
+            RewriteSourceFileHolder<Xml.Document> originalPom = buildFilesBySourcePath.get(mf.getSourcePath());
+            if (originalPom != null && buildFilesToRefresh.contains(originalPom)) {
+                replaceModelInBuildFile(originalPom, mf);
+            }
+        });
     }
 
-    private void replaceModelInBuildFile(
-            List<RewriteSourceFileHolder<? extends SourceFile>> projectResources,
-            List<BuildFileWithIndex> buildFilesWithIndex,
-            List<Xml.Document> newMavenFiles,
-            Xml.Document mf
-    ) {
-        // get index in list of build files
-        int indexInNewMavenFiles = newMavenFiles.indexOf(mf);
-        RewriteSourceFileHolder<Xml.Document> originalPom = buildFilesWithIndex.get(indexInNewMavenFiles).getXmlDoc();
-        int indexInProjectResources = projectResources.indexOf(originalPom);
+    private void replaceModelInBuildFile(RewriteSourceFileHolder<Xml.Document> originalPom, Xml.Document mf) {
         // replace marker
         Markers markers = originalPom.getSourceFile().getMarkers().removeByType(MavenResolutionResult.class);
         MavenResolutionResult updatedModel = mf.getMarkers().findFirst(MavenResolutionResult.class).get();
         markers = markers.addIfAbsent(updatedModel);
         Xml.Document refreshedPom = originalPom.getSourceFile().withMarkers(markers);
-        RewriteSourceFileHolder<Xml.Document> rewriteSourceFileHolder = (RewriteSourceFileHolder<Xml.Document>) projectResources.get(indexInProjectResources);
-        rewriteSourceFileHolder.replaceWith(refreshedPom);
+        originalPom.replaceWith(refreshedPom);
+        if (originalPom instanceof OpenRewriteMavenBuildFile buildFile) {
+            buildFile.pomModelResolved();
+        }
+    }
+
+    private static boolean isPomModelOutdated(RewriteSourceFileHolder<Xml.Document> buildFile) {
+        // build files not wrapped in OpenRewriteMavenBuildFile have no record of their last resolution
+        return !(buildFile instanceof OpenRewriteMavenBuildFile openRewriteMavenBuildFile) || openRewriteMavenBuildFile.isPomModelOutdated();
     }
 
     private boolean isMavenBuildFile(RewriteSourceFileHolder<? extends SourceFile> sf) {
         return Xml.Document.class.isInstance(sf.getSourceFile()) && Xml.Document.class.cast(sf.getSourceFile()).getMarkers().findFirst(MavenResolutionResult.class).isPresent();
     }
 
-    @Getter
-    class BuildFileWithIndex {
-        private final int index;
-        private final RewriteSourceFileHolder<Xml.Document> xmlDoc;
+    /**
+     * Relations between the build files of the reactor, derived from their last resolved models.
+     * A build file requires its parent, imported BOMs and dependencies if these are build files of the reactor.
+     * Aggregators are tracked separately as they only link to the models of their modules.
+     */
+    private static class BuildFileGraph {
+        private final Map<RewriteSourceFileHolder<Xml.Document>, Set<RewriteSourceFileHolder<Xml.Document>>> requirements = new HashMap<>();
+        private final Map<RewriteSourceFileHolder<Xml.Document>, Set<RewriteSourceFileHolder<Xml.Document>>> dependents = new HashMap<>();
+        private final Map<RewriteSourceFileHolder<Xml.Document>, Set<RewriteSourceFileHolder<Xml.Document>>> modules = new HashMap<>();
+        private final Map<RewriteSourceFileHolder<Xml.Document>, Set<RewriteSourceFileHolder<Xml.Document>>> aggregators = new HashMap<>();
 
-        public BuildFileWithIndex(int index, RewriteSourceFileHolder<Xml.Document> xmlDoc) {
+        BuildFileGraph(List<RewriteSourceFileHolder<Xml.Document>> buildFiles) {
+            Map<String, RewriteSourceFileHolder<Xml.Document>> buildFilesByCoordinates = new HashMap<>();
+            buildFiles.forEach(bf -> {
+                ResolvedPom pom = resolvedPom(bf);
+                buildFilesByCoordinates.put(key(pom.getGroupId(), pom.getArtifactId()), bf);
+            });
+            buildFiles.forEach(bf -> {
+                ResolvedPom pom = resolvedPom(bf);
+                List<String> required = new ArrayList<>();
+                Parent parent = pom.getRequested().getParent();
+                if (parent != null) {
+                    required.add(key(pom.getValue(parent.getGroupId()), pom.getValue(parent.getArtifactId())));
+                }
+                pom.getRequested().getDependencyManagement().stream()
+                        .filter(ManagedDependency.Imported.class::isInstance)
+                        .forEach(md -> required.add(key(pom.getValue(md.getGroupId()), pom.getValue(md.getArtifactId()))));
+                pom.getRequestedDependencies()
+                        .forEach(d -> required.add(key(pom.getValue(d.getGroupId()), pom.getValue(d.getArtifactId()))));
+                required.stream()
+                        .map(buildFilesByCoordinates::get)
+                        .filter(r -> r != null && r != bf)
+                        .forEach(r -> {
+                            requirements.computeIfAbsent(bf, k -> new HashSet<>()).add(r);
+                            dependents.computeIfAbsent(r, k -> new HashSet<>()).add(bf);
+                        });
+                resolution(bf).getModules().stream()
+                        .map(m -> buildFilesByCoordinates.get(key(m.getPom().getGroupId(), m.getPom().getArtifactId())))
+                        .filter(m -> m != null && m != bf)
+                        .forEach(m -> {
+                            modules.computeIfAbsent(bf, k -> new HashSet<>()).add(m);
+                            aggregators.computeIfAbsent(m, k -> new HashSet<>()).add(bf);
+                        });
+            });
+        }
+
+        Set<RewriteSourceFileHolder<Xml.Document>> withDependents(Set<RewriteSourceFileHolder<Xml.Document>> buildFiles) {
+            return closure(buildFiles, dependents);
+        }
+
+        Set<RewriteSourceFileHolder<Xml.Document>> withRequirements(Set<RewriteSourceFileHolder<Xml.Document>> buildFiles) {
+            return closure(buildFiles, requirements);
+        }
+
+        Set<RewriteSourceFileHolder<Xml.Document>> withAggregators(Set<RewriteSourceFileHolder<Xml.Document>> buildFiles) {
+            return closure(buildFiles, aggregators);
+        }
+
+        Set<RewriteSourceFileHolder<Xml.Document>> withModules(Set<RewriteSourceFileHolder<Xml.Document>> buildFiles) {
+            return closure(buildFiles, modules);
+        }
+
+        private static Set<RewriteSourceFileHolder<Xml.Document>> closure(Set<RewriteSourceFileHolder<Xml.Document>> start, Map<RewriteSourceFileHolder<Xml.Document>, Set<RewriteSourceFileHolder<Xml.Document>>> edges) {
+            Set<RewriteSourceFileHolder<Xml.Document>> result = new HashSet<>(start);
+            Deque<RewriteSourceFileHolder<Xml.Document>> queue = new ArrayDeque<>(start);
+            while (!queue.isEmpty()) {
+                edges.getOrDefault(queue.poll(), Set.of()).stream()
+                        .filter(result::add)
+                        .forEach(queue::add);
+            }
+            return result;
+        }
+
+        private static ResolvedPom resolvedPom(RewriteSourceFileHolder<Xml.Document> buildFile) {
+            return resolution(buildFile).getPom();
+        }
+
+        private static MavenResolutionResult resolution(RewriteSourceFileHolder<Xml.Document> buildFile) {
+            return buildFile.getSourceFile().getMarkers().findFirst(MavenResolutionResult.class).get();
+        }
 
-            this.index = index;
-            this.xmlDoc = xmlDoc;
+        private static String key(String groupId, String artifactId) {
+            return groupId + ":" + artifactId;
         }
     }
 
@@ -46,6 +46,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -121,16 +122,41 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
     private final ExecutionContext executionContext;
 
+    private final ConcurrentArtifactDownloader artifactDownloader;
+
+    private int batchDepth = 0;
+    private boolean pomModelRefreshPending = false;
+    private boolean classpathRegistryUpdatePending = false;
+    private boolean dependenciesChangedPending = false;
+
+    /**
+     * The {@link #getModificationCount()} when the {@link MavenResolutionResult} was last resolved.
+     */
+    private long resolvedModificationCount;
+
 
     public OpenRewriteMavenBuildFile(Path absoluteProjectPath,
                                      Xml.Document sourceFile,
                                      ApplicationEventPublisher eventPublisher,
                                      ExecutionContext executionContext,
-                                     MavenBuildFileRefactoring refactoring) {
+                                     MavenBuildFileRefactoring refactoring,
+                                     ConcurrentArtifactDownloader artifactDownloader) {
         super(absoluteProjectPath, sourceFile);
         this.eventPublisher = eventPublisher;
         this.executionContext = executionContext;
         this.refactoring = refactoring;
+        this.artifactDownloader = artifactDownloader;
+    }
+
+    /**
+     * @return true if this build file was modified since its Maven model was resolved.
+     */
+    boolean isPomModelOutdated() {
+        return getModificationCount() != resolvedModificationCount;
+    }
+
+    void pomModelResolved() {
+        resolvedModificationCount = getModificationCount();
     }
 
     public void apply(Recipe recipe) {
@@ -151,7 +177,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     public void addDependency(Dependency dependency) {
         if (!containsDependency(dependency)) {
             addDependencyInner(dependency);
-            eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+            publishDependenciesChanged();
         }
     }
 
@@ -175,7 +201,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     @Override
     public void addDependencies(List<Dependency> dependencies) {
         addDependenciesInner(dependencies);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     /**
@@ -353,7 +379,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     public void removeDependencies(List<Dependency> dependencies) {
         removeDependenciesInner(dependencies);
 
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     /**
@@ -369,13 +395,13 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                 .filter(c -> Arrays.stream(regex).anyMatch(r -> c.getCoordinates().matches(r)))
                 .collect(Collectors.toList());
         removeDependenciesInner(dependenciesMatching);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     @Override
     public void addToDependencyManagement(Dependency dependency) {
         addToDependencyManagementInner(dependency);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     private org.springframework.sbm.build.api.Dependency mapDependency(org.openrewrite.maven.tree.Dependency d) {
@@ -442,9 +468,54 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
         }
     }
 
+    @Override
+    public void batch(Consumer<BuildFile> modifications) {
+        batchDepth++;
+        try {
+            modifications.accept(this);
+        } finally {
+            batchDepth--;
+            // modifications applied before a failure must be reflected in the model as well
+            if (batchDepth == 0) {
+                flushBatch();
+            }
+        }
+    }
+
+    private void flushBatch() {
+        if (pomModelRefreshPending) {
+            pomModelRefreshPending = false;
+            refactoring.refreshPomModels();
+        }
+        if (classpathRegistryUpdatePending) {
+            classpathRegistryUpdatePending = false;
+            updateClasspathRegistry();
+        }
+        if (dependenciesChangedPending) {
+            dependenciesChangedPending = false;
+            publishDependenciesChanged();
+        }
+    }
+
+    private boolean isInBatch() {
+        return batchDepth > 0;
+    }
+
     private void refreshPomModel() {
 //        apply(new GenericOpenRewriteRecipe<>(() -> new UpdateMavenModel<>()));
-        refactoring.refreshPomModels();
+        if (isInBatch()) {
+            pomModelRefreshPending = true;
+        } else {
+            refactoring.refreshPomModels();
+        }
+    }
+
+    private void publishDependenciesChanged() {
+        if (isInBatch()) {
+            dependenciesChangedPending = true;
+        } else {
+            eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        }
     }
 
     /**
@@ -461,6 +532,10 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     }
 
     private void updateClasspathRegistry() {
+        if (isInBatch()) {
+            classpathRegistryUpdatePending = true;
+            return;
+        }
         ClasspathRegistry instance = ClasspathRegistry.getInstance();
         // FIXME: removed dependencies must be removed from ProjectDependenciesRegistry too
         Set<ResolvedDependency> compileDependencies = new HashSet<>(getPom().getDependencies().get(Scope.Compile));
@@ -576,11 +651,10 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
     @Override
     public List<Path> getResolvedDependenciesPaths() {
-        RewriteMavenArtifactDownloader rewriteMavenArtifactDownloader = new RewriteMavenArtifactDownloader();
-        return getPom().getDependencies().get(Scope.Provided).stream()
+        List<ResolvedDependency> dependencies = getPom().getDependencies().get(Scope.Provided).stream()
                 .filter(this::filterProjectDependencies)
-                .map(rd -> rewriteMavenArtifactDownloader.downloadArtifact(rd))
                 .collect(Collectors.toList());
+        return new ArrayList<>(artifactDownloader.downloadArtifacts(dependencies).values());
     }
 
     @NotNull
@@ -44,7 +44,7 @@ public class AnyDeclaredDependencyExistMatchingRegex implements Condition {
     @Override
     public boolean evaluate(ProjectContext context) {
         return dependencies.stream().anyMatch(d ->
-                context.getBuildFile().hasDeclaredDependencyMatchingRegex(d)
+                context.getProjectFacts().hasDeclaredDependencyMatchingRegex(context.getBuildFile(), d)
         );
     }
 }
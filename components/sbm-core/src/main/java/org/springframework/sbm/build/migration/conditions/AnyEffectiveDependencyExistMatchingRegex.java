@@ -44,7 +44,7 @@ public class AnyEffectiveDependencyExistMatchingRegex implements Condition {
     @Override
     public boolean evaluate(ProjectContext context) {
         return dependencies.stream().anyMatch(d ->
-                context.getBuildFile().hasEffectiveDependencyMatchingRegex(d)
+                context.getProjectFacts().hasEffectiveDependencyMatchingRegex(context.getBuildFile(), d)
         );
     }
 }
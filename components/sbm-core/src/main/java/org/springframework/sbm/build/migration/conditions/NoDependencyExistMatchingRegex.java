@@ -43,7 +43,7 @@ public class NoDependencyExistMatchingRegex implements Condition {
         return dependencies.stream().allMatch(d ->
                 context.getModules().stream()
                         .map(Module::getBuildFile)
-                        .noneMatch(b -> b.hasDeclaredDependencyMatchingRegex(d))
+                        .noneMatch(b -> context.getProjectFacts().hasDeclaredDependencyMatchingRegex(b, d))
         );
     }
 }
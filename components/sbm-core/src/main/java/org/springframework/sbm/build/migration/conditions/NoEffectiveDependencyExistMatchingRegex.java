@@ -44,7 +44,7 @@ public class NoEffectiveDependencyExistMatchingRegex implements Condition {
     @Override
     public boolean evaluate(ProjectContext context) {
         return dependencies.stream().noneMatch(d ->
-                context.getBuildFile().hasEffectiveDependencyMatchingRegex(d)
+                context.getProjectFacts().hasEffectiveDependencyMatchingRegex(context.getBuildFile(), d)
         );
     }
 }
@@ -21,6 +21,7 @@ import org.openrewrite.SourceFile;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.annotation.Order;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.build.impl.MavenBuildFileRefactoring;
 import org.springframework.sbm.build.impl.MavenBuildFileRefactoringFactory;
 import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
@@ -28,6 +29,8 @@ import org.springframework.sbm.project.resource.ProjectResourceWrapper;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 @Order
@@ -37,6 +40,12 @@ public class BuildFileResourceWrapper implements ProjectResourceWrapper<OpenRewr
 
     private final MavenBuildFileRefactoringFactory mavenBuildFileRefactoringFactory;
     private final ExecutionContext executionContext;
+    private final ConcurrentArtifactDownloader artifactDownloader;
+
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("xml");
+    }
 
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
@@ -52,7 +61,8 @@ public class BuildFileResourceWrapper implements ProjectResourceWrapper<OpenRewr
                 maven,
                 eventPublisher,
                 executionContext,
-                refactoring
+                refactoring,
+                artifactDownloader
         );
     }
 
@@ -16,7 +16,6 @@
 package org.springframework.sbm.common.filter;
 
 import org.openrewrite.SourceFile;
-import org.springframework.sbm.project.resource.ProjectResource;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.project.resource.filter.ProjectResourceFinder;
@@ -58,9 +57,9 @@ public class AbsolutePathResourcesFinder implements ProjectResourceFinder<List<R
 
     @Override
     public List<RewriteSourceFileHolder<? extends SourceFile>> apply(ProjectResourceSet projectResourceSet) {
-        return projectResourceSet
-                .stream()
-                .filter(r -> absoluteResourcePaths.contains(r.getAbsolutePath()))
+        return absoluteResourcePaths.stream()
+                .map(projectResourceSet::findByAbsolutePath)
+                .flatMap(Optional::stream)
                 .collect(Collectors.toList());
     }
 }
@@ -18,8 +18,10 @@ package org.springframework.sbm.engine.commands;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.ApplicableRecipesListHolder;
 import org.springframework.sbm.engine.recipe.Recipe;
+import org.springframework.sbm.engine.recipe.RecipeApplicabilityCache;
 import org.springframework.sbm.engine.recipe.Recipes;
 import org.springframework.sbm.engine.recipe.RecipesBuilder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.scopes.ExecutionScope;
 import org.springframework.stereotype.Component;
 
@@ -31,11 +33,14 @@ public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> {
     private static final String COMMAND_NAME = "applicableRecipes";
     private final RecipesBuilder recipesBuilder;
     private final ApplicableRecipesListHolder applicableRecipesListHolder;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final RecipeApplicabilityCache applicabilityCache = new RecipeApplicabilityCache();
 
-    protected ApplicableRecipeListCommand(RecipesBuilder recipesBuilder, ExecutionScope executionScope, ApplicableRecipesListHolder applicableRecipesListHolder) {
+    protected ApplicableRecipeListCommand(RecipesBuilder recipesBuilder, ExecutionScope executionScope, ApplicableRecipesListHolder applicableRecipesListHolder, SbmApplicationProperties sbmApplicationProperties) {
         super(COMMAND_NAME);
         this.recipesBuilder = recipesBuilder;
         this.applicableRecipesListHolder = applicableRecipesListHolder;
+        this.sbmApplicationProperties = sbmApplicationProperties;
     }
 
     public List<Recipe> execute(ProjectContext projectContext) {
@@ -45,11 +50,24 @@ public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> {
     private List<Recipe> getApplicableRecipes(ProjectContext context) {
         applicableRecipesListHolder.clear();
         Recipes recipes = recipesBuilder.buildRecipes();
-        List<Recipe> applicable = recipes.getApplicable(context);
+        List<Recipe> applicable;
+        if (sbmApplicationProperties.isRecipeApplicabilityCacheEnabled()) {
+            int threads = sbmApplicationProperties.isParallelRecipeEvaluationEnabled() ? getRecipeEvaluationThreads() : 1;
+            applicable = applicabilityCache.getApplicable(recipes, context, threads);
+        } else if (sbmApplicationProperties.isParallelRecipeEvaluationEnabled()) {
+            applicable = recipes.getApplicable(context, getRecipeEvaluationThreads());
+        } else {
+            applicable = recipes.getApplicable(context);
+        }
         applicableRecipesListHolder.setRecipes(applicable);
         return applicable;
     }
 
+    private int getRecipeEvaluationThreads() {
+        int threads = sbmApplicationProperties.getRecipeEvaluationThreads();
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
     @Override
     @Deprecated
     // FIXME: Refactor: inheriting AbstractCommand forces this method!
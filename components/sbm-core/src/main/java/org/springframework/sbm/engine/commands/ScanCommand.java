@@ -70,6 +70,16 @@ public class ScanCommand extends AbstractCommand<ProjectContext> {
         return projectContextInitializer.initProjectContext(projectRoot, resources);
     }
 
+    /**
+     * Create the {@link ProjectContext} from {@code resources} previously returned by {@link #scanProjectRoot(String)},
+     * saving another walk of the project tree.
+     */
+    public ProjectContext execute(String projectRoot, List<Resource> resources) {
+        scanScope.clear(beanFactory);
+        Path projectRootPath = projectRootPathResolver.getProjectRootOrDefault(projectRoot);
+        return projectContextInitializer.initProjectContext(projectRootPath, resources);
+    }
+
     public List<Resource> scanProjectRoot(String projectRoot) {
         Path projectRootPath = projectRootPathResolver.getProjectRootOrDefault(projectRoot);
         return pathScanner.scan(projectRootPath);
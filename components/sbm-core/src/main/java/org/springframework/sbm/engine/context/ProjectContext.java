@@ -52,15 +52,18 @@ public class ProjectContext {
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
     private final RewriteMigrationResultMerger resultMerger;
+    private final ProjectFacts projectFacts;
 
     public ProjectContext(JavaRefactoringFactory javaRefactoringFactory, Path projectRootDirectory, ProjectResourceSet projectResources, BasePackageCalculator basePackageCalculator, JavaParser javaParser, ExecutionContext executionContext, RewriteMigrationResultMerger resultMerger) {
         this.projectRootDirectory = projectRootDirectory.toAbsolutePath();
         this.projectResources = projectResources;
+        this.projectResources.attachResources();
         this.javaRefactoringFactory = javaRefactoringFactory;
         this.basePackageCalculator = basePackageCalculator;
         this.javaParser = javaParser;
         this.executionContext = executionContext;
         this.resultMerger = resultMerger;
+        this.projectFacts = new ProjectFacts(projectResources);
     }
 
     /**
@@ -98,7 +101,7 @@ public class ProjectContext {
     }
 
     public ProjectJavaSources getProjectJavaSources() {
-        ProjectJavaSources projectJavaSources = new ProjectJavaSourcesImpl(projectResources, javaRefactoringFactory.createRefactoring());
+        ProjectJavaSources projectJavaSources = new ProjectJavaSourcesImpl(projectResources, javaRefactoringFactory.createRefactoring(), projectFacts);
         return projectJavaSources;
     }
 
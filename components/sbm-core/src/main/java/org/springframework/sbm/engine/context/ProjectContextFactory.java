@@ -19,6 +19,7 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.filter.BuildFileProjectResourceFilter;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
 import org.springframework.sbm.java.refactoring.JavaRefactoringFactory;
 import org.springframework.sbm.java.impl.ClasspathRegistry;
@@ -30,7 +31,6 @@ import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -43,24 +43,21 @@ public class ProjectContextFactory {
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
     private final RewriteMigrationResultMerger resultMerger;
+    private final ConcurrentArtifactDownloader artifactDownloader;
 
     @NotNull
     public ProjectContext createProjectContext(Path projectDir, ProjectResourceSet projectResourceSet) {
         projectResourceSetHolder.setProjectResourceSet(projectResourceSet);
         applyProjectResourceWrappers(projectResourceSet);
         List<BuildFile> buildFiles = new BuildFileProjectResourceFilter().apply(projectResourceSet);
-        ClasspathRegistry.initializeFromBuildFiles(buildFiles);
+        ClasspathRegistry.initializeFromBuildFiles(buildFiles, artifactDownloader);
         ProjectContext projectContext = new ProjectContext(javaRefactoringFactory, projectDir, projectResourceSet, basePackageCalculator, javaParser, executionContext, resultMerger);
+        projectContext.getProjectFacts().refresh();
         return projectContext;
     }
 
     private void applyProjectResourceWrappers(ProjectResourceSet projectResourceSet) {
-        projectResourceSet.list().forEach(pr -> {
-            Optional<ProjectResourceWrapper> wrapper = resourceWrapperRegistry.findWrapper(pr);
-            if (wrapper.isPresent()) {
-                projectResourceSet.replace(pr.getAbsolutePath(), wrapper.get().wrapRewriteSourceFileHolder(pr));
-            }
-        });
+        projectResourceSet.replaceAll(resourceWrapperRegistry::wrap);
     }
 
 }
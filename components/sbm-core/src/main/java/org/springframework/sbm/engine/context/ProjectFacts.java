@@ -0,0 +1,454 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.context;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.search.FindAnnotations;
+import org.openrewrite.java.search.FindReferencedTypes;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeTree;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.build.api.BuildFile;
+import org.springframework.sbm.build.api.Dependency;
+import org.springframework.sbm.build.api.Plugin;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.java.impl.Utils;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Index of facts about the Java sources and build files of a {@link ProjectContext} which are frequently asked
+ * for by {@link org.springframework.sbm.engine.recipe.Condition}s and type lookups in
+ * {@link org.springframework.sbm.java.api.ProjectJavaSources}.
+ * <p>
+ * Facts are extracted once per {@code SourceFile} instance. Resources are modified in place by actions and
+ * by merging recipe results, the index therefore compares the {@code SourceFile} of every resource by identity
+ * when the resources were modified and only re-extracts the facts of changed, added or removed resources.
+ * Lookups are then answered from hash and tree maps instead of visiting every compilation unit again.
+ * <p>
+ * Methods are synchronized as conditions can be evaluated concurrently.
+ */
+public class ProjectFacts {
+
+    private static final Pattern PLAIN_TYPE_NAME = Pattern.compile("@?[\\w.$]+");
+
+    private final ProjectResourceSet projectResources;
+    private final Map<RewriteSourceFileHolder<?>, JavaSourceFacts> javaSources = new IdentityHashMap<>();
+    private final Map<RewriteSourceFileHolder<?>, BuildFileFacts> buildFiles = new IdentityHashMap<>();
+    /**
+     * Sorted to find imports starting with a given prefix in O(log n).
+     */
+    private final NavigableMap<String, Integer> imports = new TreeMap<>();
+    private final Map<String, Integer> referencedTypes = new HashMap<>();
+    private final Map<String, Integer> typeAnnotations = new HashMap<>();
+    private final Map<String, Integer> memberAnnotations = new HashMap<>();
+    /**
+     * All annotations used anywhere in a compilation unit including their (transitive) meta-annotations.
+     */
+    private final Map<String, Integer> annotations = new HashMap<>();
+    /**
+     * Java sources by the fully qualified names of the types they declare and the interfaces these types implement.
+     */
+    private final Map<String, Set<RewriteSourceFileHolder<?>>> declaringSources = new HashMap<>();
+    private final Map<String, Set<RewriteSourceFileHolder<?>>> implementingSources = new HashMap<>();
+    private final Set<RewriteSourceFileHolder<?>> sourcesWithUnresolvedInterfaces = new HashSet<>();
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+    /**
+     * Position of the indexed Java sources in the project resources, to return them in resource order.
+     */
+    private final Map<RewriteSourceFileHolder<?>, Integer> positions = new IdentityHashMap<>();
+    private long syncedModificationCount = -1;
+    private ResourceAccessRecorder.Recording<Void> javaSourcesRead = new ResourceAccessRecorder.Recording<>(null, Map.of(), false);
+
+    public ProjectFacts(ProjectResourceSet projectResources) {
+        this.projectResources = projectResources;
+    }
+
+    /**
+     * Bring the index in sync with the current resources.
+     * <p>
+     * Called by every query, calling it explicitly is only required to build the index eagerly.
+     * When the resources are owned by the given set the index is only synced after the set was modified,
+     * as counted by {@link ProjectResourceSet#getModificationCount()}.
+     */
+    public synchronized void refresh() {
+        long modificationCount = projectResources.getModificationCount();
+        if (!projectResources.ownsResources() || modificationCount != syncedModificationCount) {
+            sync();
+            syncedModificationCount = modificationCount;
+        }
+        // the answers depend on all Java sources, computations recording their reads must see all of them
+        ResourceAccessRecorder.replay(javaSourcesRead);
+    }
+
+    private void sync() {
+        Set<RewriteSourceFileHolder<?>> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        positions.clear();
+        projectResources.stream().forEach(resource -> {
+            if (resource instanceof JavaSource) {
+                current.add(resource);
+                positions.put(resource, positions.size());
+                if (resource.getSourceFile() instanceof J.CompilationUnit compilationUnit) {
+                    JavaSourceFacts indexed = javaSources.get(resource);
+                    if (indexed == null || indexed.compilationUnit() != compilationUnit) {
+                        if (indexed != null) {
+                            unregister(resource, indexed);
+                        }
+                        JavaSourceFacts facts = JavaSourceFacts.of(compilationUnit);
+                        register(resource, facts);
+                        javaSources.put(resource, facts);
+                    }
+                }
+            } else if (resource instanceof BuildFile) {
+                current.add(resource);
+            }
+        });
+        javaSources.entrySet().removeIf(e -> {
+            if (!current.contains(e.getKey())) {
+                unregister(e.getKey(), e.getValue());
+                return true;
+            }
+            return false;
+        });
+        buildFiles.keySet().removeIf(k -> !current.contains(k));
+        Map<RewriteSourceFileHolder<?>, SourceFile> read = new IdentityHashMap<>();
+        javaSources.forEach((resource, facts) -> read.put(resource, facts.compilationUnit()));
+        javaSourcesRead = new ResourceAccessRecorder.Recording<>(null, Collections.unmodifiableMap(read), false);
+    }
+
+    public synchronized boolean hasImportStartingWith(String prefix) {
+        refresh();
+        String candidate = imports.ceilingKey(prefix);
+        return candidate != null && candidate.startsWith(prefix);
+    }
+
+    public synchronized boolean hasAnyTypeReference(Collection<String> fqNames) {
+        refresh();
+        return fqNames.stream().anyMatch(referencedTypes::containsKey);
+    }
+
+    /**
+     * Whether any (top level) type is annotated with {@code fqName}.
+     */
+    public synchronized boolean hasTypeAnnotation(String fqName) {
+        refresh();
+        return typeAnnotations.containsKey(normalize(fqName));
+    }
+
+    /**
+     * Whether any field of a (top level) type is annotated with {@code fqName}.
+     */
+    public synchronized boolean hasMemberAnnotation(String fqName) {
+        refresh();
+        return memberAnnotations.containsKey(normalize(fqName));
+    }
+
+    /**
+     * Whether any element is annotated with an annotation matching {@code annotationPattern}, either directly or
+     * through a meta-annotation.
+     * <p>
+     * Patterns that are not a plain fully qualified name, e.g. with wildcards or attributes, are matched by
+     * running {@link FindAnnotations} over all compilation units.
+     */
+    public synchronized boolean hasAnnotation(String annotationPattern) {
+        refresh();
+        if (PLAIN_TYPE_NAME.matcher(annotationPattern).matches()) {
+            String fqName = annotationPattern.startsWith("@") ? annotationPattern.substring(1) : annotationPattern;
+            return annotations.containsKey(normalize(fqName));
+        }
+        String pattern = annotationPattern.startsWith("@") ? annotationPattern : "@" + annotationPattern;
+        List<J.CompilationUnit> compilationUnits = javaSources.values().stream()
+                .map(JavaSourceFacts::compilationUnit)
+                .collect(Collectors.toList());
+        return !new FindAnnotations(pattern, true).run(compilationUnits).getResults().isEmpty();
+    }
+
+    /**
+     * The Java sources declaring a (top level) type with given {@code fqName}, in the order of the project resources.
+     */
+    public synchronized List<JavaSource> findJavaSourcesDeclaringType(String fqName) {
+        refresh();
+        return inResourceOrder(declaringSources.getOrDefault(fqName, Set.of()));
+    }
+
+    /**
+     * The Java sources declaring a (top level) type which implements {@code interfaceFqName}, in the order of the
+     * project resources.
+     * <p>
+     * Sources implementing interfaces whose type could not be resolved are always contained, callers decide how to
+     * deal with them.
+     */
+    public synchronized List<JavaSource> findJavaSourcesImplementing(String interfaceFqName) {
+        refresh();
+        Set<RewriteSourceFileHolder<?>> candidates = new HashSet<>(implementingSources.getOrDefault(interfaceFqName, Set.of()));
+        candidates.addAll(sourcesWithUnresolvedInterfaces);
+        return inResourceOrder(candidates);
+    }
+
+    /**
+     * The Java sources containing references to types which could not be resolved, e.g. because a dependency is missing.
+     */
+    public synchronized List<JavaSource> findJavaSourcesWithUnresolvedTypes() {
+        refresh();
+        return inResourceOrder(javaSources.entrySet().stream()
+                .filter(e -> e.getValue().hasUnresolvedTypes())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * The Java sources referencing any of the given fully qualified type names.
+     */
+    public synchronized List<JavaSource> findJavaSourcesReferencingAnyType(Set<String> fqNames) {
+        refresh();
+        return inResourceOrder(javaSources.entrySet().stream()
+                .filter(e -> e.getValue().referencedTypes().stream().anyMatch(fqNames::contains))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * The given Java sources together with all Java sources declaring types they (transitively) reference.
+     */
+    public synchronized List<JavaSource> withReferencedJavaSources(Collection<? extends JavaSource> sources) {
+        refresh();
+        Set<RewriteSourceFileHolder<?>> closure = new LinkedHashSet<>();
+        Deque<RewriteSourceFileHolder<?>> pending = new ArrayDeque<>();
+        sources.forEach(js -> pending.add((RewriteSourceFileHolder<?>) js));
+        while (!pending.isEmpty()) {
+            RewriteSourceFileHolder<?> current = pending.poll();
+            JavaSourceFacts facts = javaSources.get(current);
+            if (closure.add(current) && facts != null) {
+                facts.referencedTypes().stream()
+                        .flatMap(t -> declaringSources.getOrDefault(t, Set.of()).stream())
+                        .filter(r -> !closure.contains(r))
+                        .forEach(pending::add);
+            }
+        }
+        return inResourceOrder(closure);
+    }
+
+    private List<JavaSource> inResourceOrder(Collection<RewriteSourceFileHolder<?>> resources) {
+        if (resources.size() == 1) {
+            return List.of((JavaSource) resources.iterator().next());
+        }
+        return resources.stream()
+                .sorted(Comparator.comparingInt(r -> positions.getOrDefault(r, Integer.MAX_VALUE)))
+                .map(JavaSource.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    public synchronized boolean hasDeclaredDependencyMatchingRegex(BuildFile buildFile, String regex) {
+        return getBuildFileFacts(buildFile)
+                .map(facts -> facts.declaredMatches.computeIfAbsent(regex, r -> anyMatches(facts.declaredDependencies, r)))
+                .orElseGet(() -> buildFile.hasDeclaredDependencyMatchingRegex(regex));
+    }
+
+    public synchronized boolean hasEffectiveDependencyMatchingRegex(BuildFile buildFile, String regex) {
+        return getBuildFileFacts(buildFile)
+                .map(facts -> facts.effectiveMatches.computeIfAbsent(regex, r -> anyMatches(facts.getEffectiveDependencies(), r)))
+                .orElseGet(() -> buildFile.hasEffectiveDependencyMatchingRegex(regex));
+    }
+
+    public synchronized boolean hasPlugin(BuildFile buildFile, Plugin plugin) {
+        return getBuildFileFacts(buildFile)
+                .map(facts -> facts.plugins.contains(plugin.getGroupId() + ":" + plugin.getArtifactId()))
+                .orElseGet(() -> buildFile.hasPlugin(plugin));
+    }
+
+    private Optional<BuildFileFacts> getBuildFileFacts(BuildFile buildFile) {
+        if (!(buildFile instanceof RewriteSourceFileHolder<?> resource) || !(resource.getSourceFile() instanceof Xml.Document document)) {
+            return Optional.empty();
+        }
+        BuildFileFacts facts = buildFiles.get(resource);
+        if (facts == null || facts.document != document) {
+            facts = BuildFileFacts.of(buildFile, document);
+            buildFiles.put(resource, facts);
+        }
+        return Optional.of(facts);
+    }
+
+    private boolean anyMatches(Collection<String> coordinates, String regex) {
+        Pattern pattern = patterns.computeIfAbsent(regex, Pattern::compile);
+        return coordinates.stream().anyMatch(c -> pattern.matcher(c).matches());
+    }
+
+    private void register(RewriteSourceFileHolder<?> resource, JavaSourceFacts facts) {
+        facts.imports().forEach(i -> imports.merge(i, 1, Integer::sum));
+        facts.referencedTypes().forEach(t -> referencedTypes.merge(t, 1, Integer::sum));
+        facts.typeAnnotations().forEach(a -> typeAnnotations.merge(a, 1, Integer::sum));
+        facts.memberAnnotations().forEach(a -> memberAnnotations.merge(a, 1, Integer::sum));
+        facts.annotations().forEach(a -> annotations.merge(a, 1, Integer::sum));
+        facts.declaredTypes().forEach(t -> declaringSources.computeIfAbsent(t, k -> new LinkedHashSet<>()).add(resource));
+        facts.implementedInterfaces().forEach(i -> implementingSources.computeIfAbsent(i, k -> new LinkedHashSet<>()).add(resource));
+        if (facts.hasUnresolvedInterfaces()) {
+            sourcesWithUnresolvedInterfaces.add(resource);
+        }
+    }
+
+    private void unregister(RewriteSourceFileHolder<?> resource, JavaSourceFacts facts) {
+        facts.imports().forEach(i -> decrement(imports, i));
+        facts.referencedTypes().forEach(t -> decrement(referencedTypes, t));
+        facts.typeAnnotations().forEach(a -> decrement(typeAnnotations, a));
+        facts.memberAnnotations().forEach(a -> decrement(memberAnnotations, a));
+        facts.annotations().forEach(a -> decrement(annotations, a));
+        facts.declaredTypes().forEach(t -> remove(declaringSources, t, resource));
+        facts.implementedInterfaces().forEach(i -> remove(implementingSources, i, resource));
+        sourcesWithUnresolvedInterfaces.remove(resource);
+    }
+
+    private static void remove(Map<String, Set<RewriteSourceFileHolder<?>>> sources, String key, RewriteSourceFileHolder<?> resource) {
+        sources.computeIfPresent(key, (k, resources) -> resources.remove(resource) && resources.isEmpty() ? null : resources);
+    }
+
+    private static void decrement(Map<String, Integer> counts, String key) {
+        counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static String normalize(String fqName) {
+        return fqName.replace('$', '.');
+    }
+
+    private record JavaSourceFacts(J.CompilationUnit compilationUnit, Set<String> imports, Set<String> referencedTypes,
+                                   Set<String> typeAnnotations, Set<String> memberAnnotations, Set<String> annotations,
+                                   Set<String> declaredTypes, Set<String> implementedInterfaces, boolean hasUnresolvedInterfaces,
+                                   boolean hasUnresolvedTypes) {
+
+        static JavaSourceFacts of(J.CompilationUnit compilationUnit) {
+            Set<String> imports = compilationUnit.getImports().stream()
+                    .map(J.Import::getTypeName)
+                    .collect(Collectors.toSet());
+            Set<String> referencedTypes = FindReferencedTypes.find(compilationUnit).stream()
+                    .map(JavaType.FullyQualified::getFullyQualifiedName)
+                    .collect(Collectors.toSet());
+            Set<String> typeAnnotations = new HashSet<>();
+            Set<String> memberAnnotations = new HashSet<>();
+            Set<String> declaredTypes = new HashSet<>();
+            Set<String> implementedInterfaces = new HashSet<>();
+            boolean hasUnresolvedInterfaces = false;
+            for (J.ClassDeclaration classDeclaration : compilationUnit.getClasses()) {
+                collectAnnotationNames(classDeclaration.getLeadingAnnotations(), typeAnnotations);
+                Utils.getFields(classDeclaration)
+                        .forEach(f -> collectAnnotationNames(f.getLeadingAnnotations(), memberAnnotations));
+                if (classDeclaration.getType() != null) {
+                    declaredTypes.add(classDeclaration.getType().getFullyQualifiedName());
+                }
+                if (classDeclaration.getImplements() != null) {
+                    for (TypeTree implemented : classDeclaration.getImplements()) {
+                        JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(implemented.getType());
+                        if (fullyQualified == null) {
+                            hasUnresolvedInterfaces = true;
+                        } else {
+                            implementedInterfaces.add(fullyQualified.getFullyQualifiedName());
+                        }
+                    }
+                }
+            }
+            Set<String> annotations = new HashSet<>();
+            AtomicBoolean hasUnresolvedTypes = new AtomicBoolean();
+            new JavaIsoVisitor<Set<String>>() {
+                @Override
+                public J.Annotation visitAnnotation(J.Annotation annotation, Set<String> collected) {
+                    collectWithMetaAnnotations(TypeUtils.asFullyQualified(annotation.getType()), collected);
+                    return super.visitAnnotation(annotation, collected);
+                }
+
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier identifier, Set<String> collected) {
+                    if (identifier.getType() instanceof JavaType.Unknown) {
+                        hasUnresolvedTypes.set(true);
+                    }
+                    return super.visitIdentifier(identifier, collected);
+                }
+
+                @Override
+                public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, Set<String> collected) {
+                    if (fieldAccess.getType() instanceof JavaType.Unknown) {
+                        hasUnresolvedTypes.set(true);
+                    }
+                    return super.visitFieldAccess(fieldAccess, collected);
+                }
+            }.visit(compilationUnit, annotations);
+            return new JavaSourceFacts(compilationUnit, imports, referencedTypes, typeAnnotations, memberAnnotations, annotations,
+                                       declaredTypes, implementedInterfaces, hasUnresolvedInterfaces, hasUnresolvedTypes.get());
+        }
+
+        private static void collectAnnotationNames(List<J.Annotation> annotations, Set<String> collected) {
+            annotations.stream()
+                    .filter(a -> a.getType() instanceof JavaType.Class)
+                    .map(a -> normalize(((JavaType.Class) a.getType()).getFullyQualifiedName()))
+                    .forEach(collected::add);
+        }
+
+        private static void collectWithMetaAnnotations(JavaType.FullyQualified type, Set<String> collected) {
+            if (type != null && collected.add(normalize(type.getFullyQualifiedName()))) {
+                type.getAnnotations().forEach(meta -> collectWithMetaAnnotations(meta, collected));
+            }
+        }
+    }
+
+    private static class BuildFileFacts {
+        private final BuildFile buildFile;
+        private final SourceFile document;
+        private final List<String> declaredDependencies;
+        private final Set<String> plugins;
+        private final Map<String, Boolean> declaredMatches = new HashMap<>();
+        private final Map<String, Boolean> effectiveMatches = new HashMap<>();
+        private List<String> effectiveDependencies;
+
+        private BuildFileFacts(BuildFile buildFile, SourceFile document, List<String> declaredDependencies, Set<String> plugins) {
+            this.buildFile = buildFile;
+            this.document = document;
+            this.declaredDependencies = declaredDependencies;
+            this.plugins = plugins;
+        }
+
+        static BuildFileFacts of(BuildFile buildFile, Xml.Document document) {
+            List<String> declaredDependencies = buildFile.getDeclaredDependencies().stream()
+                    .map(Dependency::getCoordinates)
+                    .collect(Collectors.toList());
+            Set<String> plugins = document.getRoot().getChildren("build").stream()
+                    .flatMap(b -> b.getChildren("plugins").stream())
+                    .flatMap(p -> p.getChildren("plugin").stream())
+                    .filter(p -> p.getChildValue("groupId").isPresent() && p.getChildValue("artifactId").isPresent())
+                    .map(p -> p.getChildValue("groupId").get() + ":" + p.getChildValue("artifactId").get())
+                    .collect(Collectors.toSet());
+            return new BuildFileFacts(buildFile, document, declaredDependencies, plugins);
+        }
+
+        /**
+         * Resolving effective dependencies is expensive and only done when asked for.
+         */
+        List<String> getEffectiveDependencies() {
+            if (effectiveDependencies == null) {
+                effectiveDependencies = buildFile.getEffectiveDependencies().stream()
+                        .map(Dependency::getCoordinates)
+                        .collect(Collectors.toList());
+            }
+            return effectiveDependencies;
+        }
+    }
+}
@@ -19,10 +19,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.*;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
@@ -32,8 +36,11 @@ import org.springframework.stereotype.Component;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -305,6 +312,47 @@ public class GitSupport {
         }
     }
 
+    /**
+     * Get the absolute paths of all files that differ between {@code revision} and the working tree.
+     * <p>
+     * This covers files changed by commits after {@code revision} as well as uncommitted and untracked files.
+     * Paths of deleted files are contained but don't exist anymore.
+     *
+     * @param repo     the location of the repo
+     * @param revision the revision to compare with
+     */
+    public Set<Path> getChangedFilesSince(File repo, String revision) {
+        try {
+            Git git = getGit(repo);
+            Repository repository = git.getRepository();
+            Set<String> changedFiles = new TreeSet<>();
+            ObjectId revisionTree = repository.resolve(revision + "^{tree}");
+            ObjectId headTree = repository.resolve("HEAD^{tree}");
+            if (revisionTree != null && headTree != null && !revisionTree.equals(headTree)) {
+                try (ObjectReader reader = repository.newObjectReader()) {
+                    CanonicalTreeParser oldTree = new CanonicalTreeParser();
+                    oldTree.reset(reader, revisionTree);
+                    CanonicalTreeParser newTree = new CanonicalTreeParser();
+                    newTree.reset(reader, headTree);
+                    git.diff().setOldTree(oldTree).setNewTree(newTree).call().forEach(diff -> {
+                        changedFiles.add(diff.getOldPath());
+                        changedFiles.add(diff.getNewPath());
+                    });
+                }
+            }
+            Status status = git.status().call();
+            changedFiles.addAll(status.getUncommittedChanges());
+            changedFiles.addAll(status.getUntracked());
+            changedFiles.remove(DiffEntry.DEV_NULL);
+            Path workTree = repository.getWorkTree().toPath().toAbsolutePath().normalize();
+            return changedFiles.stream()
+                    .map(f -> workTree.resolve(f).normalize())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        } catch (GitAPIException | IOException e) {
+            throw new RuntimeException("Could not calculate changes since revision '%s'.".formatted(revision), e);
+        }
+    }
+
     public void switchToBranch(File repo, String branchName) {
         try {
             Git git = getGit(repo);
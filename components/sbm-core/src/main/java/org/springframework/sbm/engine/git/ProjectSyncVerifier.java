@@ -18,6 +18,7 @@ package org.springframework.sbm.engine.git;
 import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.project.parser.IncrementalProjectRefresher;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -33,6 +34,7 @@ public class ProjectSyncVerifier {
     private final ScanCommand scanCommand;
     private final SbmApplicationProperties sbmApplicationProperties;
     private final ProjectContextHolder projectContextHolder;
+    private final IncrementalProjectRefresher incrementalProjectRefresher;
 
     public void rescanWhenProjectIsOutOfSyncAndGitAvailable(ProjectContext context) {
         if (sbmApplicationProperties.isGitSupportEnabled()) {
@@ -40,8 +42,12 @@ public class ProjectSyncVerifier {
             if (gitSupport.repoExists(repo)) {
                 String expectedRevision = context.getRevision();
                 if (expectedRevision != null && !isProjectInSync(repo, expectedRevision)) {
-                    ProjectContext projectContext = scanCommand.execute(context.getProjectRootDirectory().toString());
-                    projectContextHolder.setProjectContext(projectContext);
+                    if (incrementalProjectRefresher.refresh(context)) {
+                        projectContextHolder.setProjectContext(context);
+                    } else {
+                        ProjectContext projectContext = scanCommand.execute(context.getProjectRootDirectory().toString());
+                        projectContextHolder.setProjectContext(projectContext);
+                    }
                 }
             }
         }
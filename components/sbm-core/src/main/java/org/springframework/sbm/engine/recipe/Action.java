@@ -41,6 +41,12 @@ public interface Action {
                 eventPublisher.publishEvent(new ActionFailedEvent(message));
             }
             throw new ActionFailedException(message, e);
+        } catch(Error e) {
+            // errors are not wrapped, but listeners tracking running actions must still learn that the action ended
+            if (eventPublisher != null) {
+                eventPublisher.publishEvent(new ActionFailedEvent("Action ["+this.getClass().getSimpleName()+"] '" + this.getDescription() + "' failed: " + e));
+            }
+            throw e;
         }
         if (eventPublisher != null) {
             eventPublisher.publishEvent(new ActionFinishedEvent(getDescription()));
@@ -54,7 +60,7 @@ public interface Action {
     boolean isAutomated();
 
     default boolean isApplicable(ProjectContext context) {
-        return getCondition().evaluate(context);
+        return ConditionMemo.evaluate(getCondition(), context);
     }
 
     /**
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder.Recording;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Memo of {@link Condition} results shared by all recipes and actions during one applicability evaluation.
+ * <p>
+ * Many recipes declare the same conditions (e.g. the same annotation or dependency lookup) and each of them scans
+ * the whole project. Results are keyed by condition type and the values of its parameters, conditions having
+ * parameters which cannot be compared by value are evaluated without memoization.
+ * The memo is only active inside {@link #withMemo(Supplier)} on the current thread and must only be used while the
+ * {@link ProjectContext} is not modified.
+ */
+public class ConditionMemo {
+
+    private static final ThreadLocal<ConditionMemo> CURRENT = new ThreadLocal<>();
+
+    private static final Map<Class<?>, List<Field>> PARAMETER_FIELDS = new ConcurrentHashMap<>();
+
+    private final Map<ConditionKey, FutureTask<Recording<Boolean>>> results = new ConcurrentHashMap<>();
+
+    /**
+     * Evaluate {@code condition}, reusing the result of an equal condition if a memo is active on this thread.
+     */
+    public static boolean evaluate(Condition condition, ProjectContext context) {
+        ConditionMemo memo = CURRENT.get();
+        if (memo == null) {
+            return condition.evaluate(context);
+        }
+        return memo.evaluateMemoized(condition, context);
+    }
+
+    /**
+     * Run {@code evaluation} on the current thread with this memo being active.
+     */
+    public <T> T withMemo(Supplier<T> evaluation) {
+        ConditionMemo previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return evaluation.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    int size() {
+        return results.size();
+    }
+
+    private boolean evaluateMemoized(Condition condition, ProjectContext context) {
+        Optional<ConditionKey> key = ConditionKey.of(condition);
+        if (key.isEmpty()) {
+            return condition.evaluate(context);
+        }
+        FutureTask<Recording<Boolean>> task = new FutureTask<>(() -> ResourceAccessRecorder.record(() -> condition.evaluate(context)));
+        FutureTask<Recording<Boolean>> existing = results.putIfAbsent(key.get(), task);
+        if (existing == null) {
+            task.run();
+            existing = task;
+        }
+        try {
+            Recording<Boolean> recording = existing.get();
+            // reused results must be attributed to the resources they were computed from
+            ResourceAccessRecorder.replay(recording);
+            return recording.result();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating condition '%s'.".formatted(condition.getDescription()), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record ConditionKey(Class<?> type, List<Object> parameters) {
+
+        private static final Object NOT_COMPARABLE = new Object();
+
+        static Optional<ConditionKey> of(Condition condition) {
+            Object key = toComparableValue(condition);
+            return key == NOT_COMPARABLE ? Optional.empty() : Optional.of((ConditionKey) key);
+        }
+
+        private static Object conditionKey(Condition condition) {
+            List<Object> parameters = new ArrayList<>();
+            for (Field field : parameterFields(condition.getClass())) {
+                Object value;
+                try {
+                    value = field.get(condition);
+                } catch (IllegalAccessException e) {
+                    return NOT_COMPARABLE;
+                }
+                Object comparableValue = toComparableValue(value);
+                if (comparableValue == NOT_COMPARABLE) {
+                    return NOT_COMPARABLE;
+                }
+                parameters.add(comparableValue);
+            }
+            return new ConditionKey(condition.getClass(), parameters);
+        }
+
+        private static Object toComparableValue(Object value) {
+            if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                    || value instanceof Character || value instanceof Enum<?> || value instanceof Class<?>) {
+                return value;
+            }
+            if (value instanceof Pattern pattern) {
+                return List.of(Pattern.class, pattern.pattern(), pattern.flags());
+            }
+            if (value instanceof Condition condition) {
+                return conditionKey(condition);
+            }
+            if (value instanceof Collection<?> collection) {
+                List<Object> values = new ArrayList<>();
+                for (Object element : collection) {
+                    Object comparableElement = toComparableValue(element);
+                    if (comparableElement == NOT_COMPARABLE) {
+                        return NOT_COMPARABLE;
+                    }
+                    values.add(comparableElement);
+                }
+                return values;
+            }
+            if (value instanceof Map<?, ?> map) {
+                Map<String, Object> values = new TreeMap<>();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    Object comparableValue = toComparableValue(entry.getValue());
+                    if (!(entry.getKey() instanceof String key) || comparableValue == NOT_COMPARABLE) {
+                        return NOT_COMPARABLE;
+                    }
+                    values.put(key, comparableValue);
+                }
+                return values;
+            }
+            return NOT_COMPARABLE;
+        }
+
+        private static List<Field> parameterFields(Class<?> type) {
+            return PARAMETER_FIELDS.computeIfAbsent(type, t -> {
+                List<Field> fields = new ArrayList<>();
+                for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                                || field.isAnnotationPresent(JsonIgnore.class) || field.isAnnotationPresent(Autowired.class)) {
+                            continue;
+                        }
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+                return fields;
+            });
+        }
+    }
+}
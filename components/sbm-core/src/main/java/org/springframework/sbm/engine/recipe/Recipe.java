@@ -89,7 +89,7 @@ public class Recipe {
     }
 
     public boolean isApplicable(ProjectContext context) {
-        return condition.evaluate(context) && actions.stream().anyMatch(a -> a.isApplicable(context));
+        return ConditionMemo.evaluate(condition, context) && actions.stream().anyMatch(a -> a.isApplicable(context));
     }
 
     public List<Action> apply(ProjectContext context) {
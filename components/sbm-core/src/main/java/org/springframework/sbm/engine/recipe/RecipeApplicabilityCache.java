@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.SourceFile;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder.Recording;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the applicability of recipes for one {@link ProjectResourceSet}.
+ * <p>
+ * Every evaluation records the types of the {@code SourceFile}s it read. A cached result stays valid until resources
+ * are added, removed, moved or deleted, or until a {@code SourceFile} of one of the recorded types gets replaced,
+ * as counted by {@link ProjectResourceSet#getModificationCount(Class)}. After a recipe was applied only the recipes
+ * depending on the changed types are evaluated again.
+ * <p>
+ * Recipes whose conditions read models modified in place (e.g. the JAXB model of a {@code web.xml}) are evaluated
+ * every time, these modifications are not counted.
+ * <p>
+ * Conditions must only depend on the project resources for cached results to be correct.
+ */
+@Slf4j
+public class RecipeApplicabilityCache {
+
+    private WeakReference<ProjectResourceSet> projectResources = new WeakReference<>(null);
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public synchronized List<Recipe> getApplicable(Recipes recipes, ProjectContext context, int threads) {
+        ProjectResourceSet currentResources = context.getProjectResources();
+        if (projectResources.get() != currentResources) {
+            entries.clear();
+            projectResources = new WeakReference<>(currentResources);
+        }
+        List<Recipe> outdated = recipes.getAll().stream()
+                .filter(r -> !isUpToDate(entries.get(r.getName()), currentResources))
+                .toList();
+        if (!outdated.isEmpty()) {
+            long structuralModificationCount = currentResources.getStructuralModificationCount();
+            List<Recording<Boolean>> recordings = Recipes.recordApplicability(outdated, context, threads);
+            for (int i = 0; i < outdated.size(); i++) {
+                Recording<Boolean> recording = recordings.get(i);
+                Map<Class<? extends SourceFile>, Long> modificationCounts = recording.accessedSourceFiles().values().stream()
+                        .map(SourceFile::getClass)
+                        .distinct()
+                        .collect(Collectors.toMap(t -> t, currentResources::getModificationCount));
+                entries.put(outdated.get(i).getName(), new Entry(recording.result(), !recording.modelModifiedInPlaceRead(), structuralModificationCount, modificationCounts));
+            }
+        }
+        log.debug("Evaluated applicability of {} of {} recipes.", outdated.size(), recipes.size());
+        return recipes.getAll().stream()
+                .filter(r -> entries.get(r.getName()).applicable())
+                .toList();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private boolean isUpToDate(Entry entry, ProjectResourceSet projectResources) {
+        return entry != null
+                && entry.cacheable()
+                && entry.structuralModificationCount() == projectResources.getStructuralModificationCount()
+                && entry.modificationCounts().entrySet().stream()
+                    .allMatch(e -> projectResources.getModificationCount(e.getKey()) == e.getValue());
+    }
+
+    private record Entry(boolean applicable, boolean cacheable, long structuralModificationCount, Map<Class<? extends SourceFile>, Long> modificationCounts) {
+    }
+}
@@ -16,10 +16,18 @@
 package org.springframework.sbm.engine.recipe;
 
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder.Recording;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class Recipes {
@@ -46,12 +54,62 @@ public class Recipes {
     }
 
     public List<Recipe> getApplicable(ProjectContext context) {
-        List<Recipe> applicableRecipes = recipesList.stream()
+        ConditionMemo conditionMemo = new ConditionMemo();
+        List<Recipe> applicableRecipes = conditionMemo.withMemo(() -> recipesList.stream()
                 .filter(r -> r.isApplicable(context))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
         return applicableRecipes;
     }
 
+    /**
+     * Evaluate the recipes concurrently on {@code threads} threads, sharing one {@link ConditionMemo}.
+     * <p>
+     * The {@code context} must not be modified during evaluation.
+     * The returned list has the same order as {@link #getApplicable(ProjectContext)}.
+     */
+    public List<Recipe> getApplicable(ProjectContext context, int threads) {
+        if (threads <= 1 || recipesList.size() <= 1) {
+            return getApplicable(context);
+        }
+        List<Recording<Boolean>> applicable = recordApplicability(recipesList, context, threads);
+        List<Recipe> applicableRecipes = new ArrayList<>();
+        for (int i = 0; i < recipesList.size(); i++) {
+            if (applicable.get(i).result()) {
+                applicableRecipes.add(recipesList.get(i));
+            }
+        }
+        return applicableRecipes;
+    }
+
+    /**
+     * Evaluate the applicability of {@code recipes} sharing one {@link ConditionMemo}, concurrently if {@code threads} is
+     * greater than one, and record the resources read by each evaluation.
+     * <p>
+     * The {@code context} must not be modified during evaluation.
+     * The returned recordings have the same order as the given {@code recipes}.
+     */
+    public static List<Recording<Boolean>> recordApplicability(List<Recipe> recipes, ProjectContext context, int threads) {
+        ConditionMemo conditionMemo = new ConditionMemo();
+        Function<Recipe, Recording<Boolean>> evaluation = r -> conditionMemo.withMemo(() -> ResourceAccessRecorder.record(() -> r.isApplicable(context)));
+        if (threads <= 1 || recipes.size() <= 1) {
+            return recipes.stream().map(evaluation).toList();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, recipes.size()));
+        try {
+            List<CompletableFuture<Recording<Boolean>>> applicable = recipes.stream()
+                    .map(r -> CompletableFuture.supplyAsync(() -> evaluation.apply(r), executor))
+                    .toList();
+            return applicable.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     public Optional<Recipe> getRecipeByName(String recipeName) {
         return recipesList.stream()
                 .filter(r -> r.getName().equals(recipeName))
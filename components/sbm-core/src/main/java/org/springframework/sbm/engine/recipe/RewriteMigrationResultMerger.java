@@ -19,13 +19,12 @@ import lombok.RequiredArgsConstructor;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.sbm.common.filter.AbsolutePathResourceFinder;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.project.RewriteSourceFileWrapper;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.stereotype.Component;
 
-import java.nio.file.Path;
 import java.util.List;
 
 @Component
@@ -46,21 +45,30 @@ public class RewriteMigrationResultMerger {
                 handleModified(context, after);
             }
         });
+        context.getProjectFacts().refresh();
     }
 
     private void handleDeleted(ProjectContext context, SourceFile before) {
-        Path path = context.getProjectRootDirectory().resolve(before.getSourcePath());
-        RewriteSourceFileHolder<? extends SourceFile> filteredResources = context.search(new AbsolutePathResourceFinder(path)).get();
+        RewriteSourceFileHolder<? extends SourceFile> filteredResources = findResource(context, before);
         filteredResources.delete();
     }
 
     private void handleModified(ProjectContext context, SourceFile after) {
-        Path path = context.getProjectRootDirectory().resolve(after.getSourcePath());
-        RewriteSourceFileHolder<? extends SourceFile> filteredResources = context.search(new AbsolutePathResourceFinder(path)).get();
+        RewriteSourceFileHolder<? extends SourceFile> filteredResources = findResource(context, after);
         // TODO: handle situations where resource is not rewriteSourceFileHolder -> use predicates for known types to reuse, alternatively using the ProjectContextBuiltEvent might help
         replaceWrappedResource(filteredResources, after);
     }
 
+    /**
+     * Results keep the id of the {@code SourceFile} they were created from, the path is used when the id is unknown.
+     */
+    private RewriteSourceFileHolder<? extends SourceFile> findResource(ProjectContext context, SourceFile sourceFile) {
+        ProjectResourceSet projectResources = context.getProjectResources();
+        return projectResources.findById(sourceFile.getId())
+                .or(() -> projectResources.findByAbsolutePath(context.getProjectRootDirectory().resolve(sourceFile.getSourcePath())))
+                .get();
+    }
+
     private void handleAdded(ProjectContext context, SourceFile after) {
         RewriteSourceFileHolder<? extends SourceFile> modifiableProjectResource = surceFileWrapper.wrapRewriteSourceFiles(context.getProjectRootDirectory(), List.of(after)).get(0);
         context.getProjectResources().add(modifiableProjectResource);
@@ -27,6 +27,8 @@ import org.openrewrite.SourceFile;
 import org.openrewrite.java.tree.J;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 public class JavaSourceProjectResourceWrapper implements ProjectResourceWrapper<OpenRewriteJavaSource> {
@@ -36,6 +38,11 @@ public class JavaSourceProjectResourceWrapper implements ProjectResourceWrapper<
 
     private final ExecutionContext executionContext;
 
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("java");
+    }
+
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         return J.CompilationUnit.class.isAssignableFrom(rewriteSourceFileHolder.getSourceFile().getClass());
@@ -47,6 +47,15 @@ public interface Type {
 
     void addMethod(String methodTemplate, Set<String> importTypes);
 
+    /**
+     * Adds all given method templates to this type at once.
+     *
+     * The templates are compiled in a single parser invocation and inserted in one pass,
+     * which is considerably cheaper than calling {@link #addMethod(String, Set)} for each of them.
+     * Methods are appended in the given order.
+     */
+    void addMethods(List<String> methodTemplates, Set<String> importTypes);
+
     boolean isTypeOf(String gqName);
 
     List<? extends Type> getImplements();
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Fully qualified names of the types contained in classpath entries (jars or class directories).
+ * <p>
+ * Results are cached per entry as resolved artifacts don't change.
+ */
+@Slf4j
+class ArtifactTypes {
+
+    private final Map<Path, Set<String>> typesByArtifact = new ConcurrentHashMap<>();
+
+    Set<String> getTypes(Path artifact) {
+        return typesByArtifact.computeIfAbsent(artifact, ArtifactTypes::readTypes);
+    }
+
+    private static Set<String> readTypes(Path artifact) {
+        try {
+            if (Files.isDirectory(artifact)) {
+                try (Stream<Path> files = Files.walk(artifact)) {
+                    return toTypeNames(files.map(f -> artifact.relativize(f).toString().replace(File.separatorChar, '/')));
+                }
+            }
+            try (ZipFile zipFile = new ZipFile(artifact.toFile())) {
+                return toTypeNames(zipFile.stream().map(ZipEntry::getName));
+            }
+        } catch (IOException e) {
+            log.warn("Could not read types of classpath entry '%s'.".formatted(artifact), e);
+            return Set.of();
+        }
+    }
+
+    private static Set<String> toTypeNames(Stream<String> entryNames) {
+        return entryNames
+                .filter(n -> n.endsWith(".class") && !n.startsWith("META-INF/"))
+                .filter(n -> !n.endsWith("module-info.class") && !n.endsWith("package-info.class"))
+                .map(n -> n.substring(0, n.length() - ".class".length()).replace('/', '.'))
+                .collect(Collectors.toSet());
+    }
+}
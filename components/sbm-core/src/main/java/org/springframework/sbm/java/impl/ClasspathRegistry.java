@@ -19,8 +19,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.maven.tree.Scope;
 import org.springframework.sbm.build.api.BuildFile;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
-import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.project.parser.DependencyHelper;
 
 import java.nio.file.Path;
@@ -37,6 +37,11 @@ public class ClasspathRegistry {
 
 	private static final DependencyHelper dependencyHelper = new DependencyHelper();
 
+	/**
+	 * Downloader of the application context that scanned the project, set on initialization.
+	 */
+	private volatile ConcurrentArtifactDownloader artifactDownloader;
+
 	/**
 	 * Dependencies found during scan. These dependencies are immutable.
 	 */
@@ -53,8 +58,8 @@ public class ClasspathRegistry {
 	private ClasspathRegistry() {
 	}
 
-	public static ClasspathRegistry initialize(Set<ResolvedDependency> dependencies) {
-		return DependenciesRegistryHolder.initialDependencies(dependencies);
+	public static ClasspathRegistry initialize(Set<ResolvedDependency> dependencies, ConcurrentArtifactDownloader artifactDownloader) {
+		return DependenciesRegistryHolder.initialDependencies(dependencies, artifactDownloader);
 	}
 
 	// FIXME: remove unused method
@@ -66,7 +71,7 @@ public class ClasspathRegistry {
 	// ClasspathRegistry.initialize(effectiveDependencies);
 	// }
 
-	public static void initializeFromBuildFiles(List<BuildFile> buildFiles) {
+	public static void initializeFromBuildFiles(List<BuildFile> buildFiles, ConcurrentArtifactDownloader artifactDownloader) {
 		ClasspathRegistry.getInstance().clear();
 		Set<ResolvedDependency> effectiveDependencies = new HashSet<>();
 		buildFiles.forEach(bf -> {
@@ -77,7 +82,7 @@ public class ClasspathRegistry {
 			effectiveDependencies.addAll(dependencies.get(Scope.Provided));
 			effectiveDependencies.addAll(dependencies.get(Scope.Runtime));
 		});
-		ClasspathRegistry.initialize(effectiveDependencies);
+		ClasspathRegistry.initialize(effectiveDependencies, artifactDownloader);
 	}
 
 	private static org.openrewrite.maven.tree.Dependency mapToRewriteDependency(
@@ -94,8 +99,8 @@ public class ClasspathRegistry {
 
 		public static final ClasspathRegistry INSTANCE = new ClasspathRegistry();
 
-		public static ClasspathRegistry initialDependencies(Set<ResolvedDependency> dependencies) {
-			INSTANCE.setup(dependencies);
+		public static ClasspathRegistry initialDependencies(Set<ResolvedDependency> dependencies, ConcurrentArtifactDownloader artifactDownloader) {
+			INSTANCE.setup(dependencies, artifactDownloader);
 			return INSTANCE;
 		}
 
@@ -131,28 +136,42 @@ public class ClasspathRegistry {
 		return new HashSet<>(currentDependencies.values());
 	}
 
-	private void setup(Set<ResolvedDependency> deps) {
+	private void setup(Set<ResolvedDependency> deps, ConcurrentArtifactDownloader artifactDownloader) {
+		this.artifactDownloader = artifactDownloader;
 		initialDependencies.clear();
 		currentDependencies.clear();
 		initializeDepeendencies(deps);
 	}
 
 	private void initializeDepeendencies(Set<ResolvedDependency> deps) {
-		deps.forEach(dep -> {
-			initDependency(dep, initialDependencies, currentDependencies);
-		});
+		initDependencies(deps, initialDependencies, currentDependencies);
 	}
 
 	private void initDependency(ResolvedDependency d, Map<ResolvedDependency, Path>... maps) {
-		if(isExternalDependency(d)) {
-			Path dependencyPath = new RewriteMavenArtifactDownloader().downloadArtifact(d);
+		initDependencies(Set.of(d), maps);
+	}
+
+	/**
+	 * Downloads all external dependencies of {@code deps} concurrently and registers their paths.
+	 * The transitive dependencies of project dependencies and of artifacts that could not be downloaded are registered instead.
+	 */
+	private void initDependencies(Set<ResolvedDependency> deps, Map<ResolvedDependency, Path>... maps) {
+		if (artifactDownloader == null) {
+			throw new IllegalStateException("ClasspathRegistry must be initialized before dependencies can be added.");
+		}
+		List<ResolvedDependency> externalDependencies = deps.stream().filter(this::isExternalDependency).toList();
+		Map<ResolvedDependency, Path> dependencyPaths = artifactDownloader.downloadArtifacts(externalDependencies);
+		Set<ResolvedDependency> transitiveDependencies = new HashSet<>();
+		deps.forEach(d -> {
+			Path dependencyPath = dependencyPaths.get(d);
 			if(dependencyPath != null) {
 				Stream.of(maps).forEach(m -> m.put(d, dependencyPath));
 			} else {
-				initializeDepeendencies(new HashSet<>(d.getDependencies()));
+				transitiveDependencies.addAll(d.getDependencies());
 			}
-		} else {
-			initializeDepeendencies(new HashSet(d.getDependencies()));
+		});
+		if(!transitiveDependencies.isEmpty()) {
+			initDependencies(transitiveDependencies, maps);
 		}
 	}
 
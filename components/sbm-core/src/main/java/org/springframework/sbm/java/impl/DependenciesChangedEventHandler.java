@@ -17,50 +17,127 @@ package org.springframework.sbm.java.impl;
 
 import org.openrewrite.ExecutionContext;
 import org.springframework.sbm.build.api.DependenciesChangedEvent;
+import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.openrewrite.Parser;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.springframework.context.event.EventListener;
+import org.springframework.sbm.engine.context.ProjectFacts;
+import org.springframework.sbm.engine.events.ActionFailedEvent;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Re-attributes Java sources after the dependencies of the project changed.
+ * <p>
+ * Only compilation units which contain unresolved types or reference types of removed artifacts are re-parsed,
+ * together with the project sources declaring the types they reference, so the compiler can resolve these.
+ * Dependency changes made while an action is running are coalesced into a single re-attribution when the
+ * (outermost) action finished.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class DependenciesChangedEventHandler {
     private final ProjectContextHolder projectContextHolder;
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
+    private final ArtifactTypes artifactTypes = new ArtifactTypes();
+
+    private int runningActions;
+    private boolean reattributionPending;
+    private ProjectContext attributedContext;
+    private Set<Path> attributedClasspath;
 
     @EventListener
-    public void onDependenciesChanged(DependenciesChangedEvent event) {
-        if (projectContextHolder.getProjectContext() != null) {
-            Set<Parser.Input> compilationUnitsSet = projectContextHolder.getProjectContext().getProjectJavaSources().stream()
-                    .map(js -> js.getResource().getSourceFile())
-                    .map(js -> new Parser.Input(js.getSourcePath(), () -> new ByteArrayInputStream(js.printAll().getBytes(StandardCharsets.UTF_8))))
-                    .collect(Collectors.toSet());
-            List<Parser.Input> compilationUnits = new ArrayList<>(compilationUnitsSet);
+    public synchronized void onActionStarted(ActionStartedEvent event) {
+        runningActions++;
+    }
 
-            Path projectRootDirectory = projectContextHolder.getProjectContext().getProjectRootDirectory();
-            javaParser.setSourceSet("main");
-            javaParser.setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
+    @EventListener
+    public synchronized void onActionFinished(ActionFinishedEvent event) {
+        actionEnded();
+    }
 
-            List<J.CompilationUnit> parsedCompilationUnits = javaParser.parseInputs(compilationUnits, null, executionContext);
-            // ((J.VariableDeclarations)parsedCompilationUnits.get(0).getClasses().get(0).getBody().getStatements().get(0)).getLeadingAnnotations().get(0).getType()
-            parsedCompilationUnits.forEach(cu -> {
-                projectContextHolder.getProjectContext().getProjectJavaSources().stream()
-                        .filter(js -> js.getResource().getAbsolutePath().equals(projectRootDirectory.resolve(cu.getSourcePath()).normalize()))
-                        .forEach(js -> js.getResource().replaceWith(cu));
-            });
+    @EventListener
+    public synchronized void onActionFailed(ActionFailedEvent event) {
+        actionEnded();
+    }
+
+    @EventListener
+    public synchronized void onDependenciesChanged(DependenciesChangedEvent event) {
+        if (runningActions > 0) {
+            reattributionPending = true;
+        } else {
+            reattribute();
         }
     }
-}
 
+    private void actionEnded() {
+        runningActions = Math.max(0, runningActions - 1);
+        if (runningActions == 0 && reattributionPending) {
+            reattributionPending = false;
+            reattribute();
+        }
+    }
+
+    private void reattribute() {
+        ProjectContext context = projectContextHolder.getProjectContext();
+        if (context == null) {
+            return;
+        }
+        Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+        Set<Path> previousClasspath = context == attributedContext ? attributedClasspath : ClasspathRegistry.getInstance().getInitialDependencies();
+        attributedContext = context;
+        attributedClasspath = classpath;
+
+        Set<String> removedTypes = previousClasspath.stream()
+                .filter(p -> !classpath.contains(p))
+                .flatMap(p -> artifactTypes.getTypes(p).stream())
+                .collect(Collectors.toSet());
+        ProjectFacts projectFacts = context.getProjectFacts();
+        Set<JavaSource> affectedSources = new LinkedHashSet<>(projectFacts.findJavaSourcesWithUnresolvedTypes());
+        if (!removedTypes.isEmpty()) {
+            affectedSources.addAll(projectFacts.findJavaSourcesReferencingAnyType(removedTypes));
+        }
+        if (affectedSources.isEmpty()) {
+            log.debug("No Java source affected by changed dependencies.");
+            return;
+        }
+
+        List<Parser.Input> compilationUnits = projectFacts.withReferencedJavaSources(affectedSources).stream()
+                .map(js -> js.getResource().getSourceFile())
+                .map(js -> new Parser.Input(js.getSourcePath(), () -> new ByteArrayInputStream(js.printAll().getBytes(StandardCharsets.UTF_8))))
+                .collect(Collectors.toList());
+
+        javaParser.setSourceSet("main");
+        javaParser.setClasspath(classpath);
+        List<J.CompilationUnit> parsedCompilationUnits = javaParser.parseInputs(compilationUnits, null, executionContext);
+
+        Path projectRootDirectory = context.getProjectRootDirectory();
+        ProjectResourceSet projectResources = context.getProjectResources();
+        Set<Path> affectedPaths = affectedSources.stream()
+                .map(js -> js.getResource().getAbsolutePath())
+                .collect(Collectors.toSet());
+        parsedCompilationUnits.stream()
+                .filter(cu -> affectedPaths.contains(projectRootDirectory.resolve(cu.getSourcePath()).normalize()))
+                .forEach(cu -> projectResources.findByAbsolutePath(projectRootDirectory.resolve(cu.getSourcePath()))
+                        .ifPresent(r -> ((RewriteSourceFileHolder<J.CompilationUnit>) r).replaceWith(cu)));
+        log.debug("Re-attributed {} Java sources, parsed {} Java sources.", affectedSources.size(), compilationUnits.size());
+    }
+}
@@ -18,10 +18,8 @@ package org.springframework.sbm.java.impl;
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaParser;
-import org.springframework.sbm.project.resource.SbmApplicationProperties;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Set;
 
 /**
@@ -33,16 +31,11 @@ public class JavaParserFactory {
     @Deprecated
     public static @NotNull JavaParser getInitialJavaParser(ExecutionContext executionContext) {
         Set<Path> dependencies = ClasspathRegistry.getInstance().getInitialDependencies();
-        JavaParser javaParser = new RewriteJavaParser(new SbmApplicationProperties(), executionContext);
-        javaParser.setClasspath(new ArrayList<>(dependencies));
-        return javaParser;
+        return JavaParserPool.getInstance().getJavaParser(dependencies);
     }
 
     @Deprecated
     public static @NotNull JavaParser getCurrentJavaParser(ExecutionContext executionContext) {
-        Set<Path> dependencies = ClasspathRegistry.getInstance().getCurrentDependencies();
-        JavaParser javaParser = new RewriteJavaParser(new SbmApplicationProperties(), executionContext);
-        javaParser.setClasspath(new ArrayList<>(dependencies));
-        return javaParser;
+        return JavaParserPool.getInstance().getCurrentJavaParser();
     }
 }
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Pool of {@link JavaParser}s keyed by their classpath.
+ * <p>
+ * Building a {@code JavaParser} and indexing the jars of its classpath is expensive.
+ * Parsers retrieved for the same classpath are therefore backed by the same compiler, keeping javac's symbol tables
+ * warm. A compiler is used by one thread at a time, another compiler for the classpath is only created while its
+ * compiler is busy, e.g. when modules are parsed in parallel.
+ * <p>
+ * Every compiler has a {@link JavaTypeCache} living as long as the compiler, shared by all parses with its classpath:
+ * scanning the project, re-parsing sources and parsing template stubs. The types of the classpath never change for
+ * a compiler, the types of project sources do. The cache is therefore cleared when a source is parsed again, or when
+ * a type declared by a previously parsed source is declared again, and the parse then starts with a fresh cache.
+ * Stubs in the default package, like the ones of templates, do not clear the cache.
+ * <p>
+ * Only the most recently used classpaths are kept, as the classpath changes when dependencies are added or removed
+ * during a migration.
+ */
+public class JavaParserPool {
+
+    private static final int MAX_CLASSPATHS = 4;
+
+    private static final int MAX_IDLE_COMPILERS_PER_CLASSPATH = 2;
+
+    private static final JavaParserPool INSTANCE = new JavaParserPool();
+
+    /**
+     * The idle compilers by classpath, most recently used first.
+     */
+    private final Map<String, Deque<PooledCompiler>> compilers = new LinkedHashMap<>(MAX_CLASSPATHS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Deque<PooledCompiler>> eldest) {
+            return size() > MAX_CLASSPATHS;
+        }
+    };
+
+    /**
+     * Incremented by {@link #clear()}, busy compilers of a previous generation are not returned to the pool.
+     */
+    private long generation;
+
+    public static JavaParserPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return a {@link JavaParser} for the current dependencies in {@link ClasspathRegistry}.
+     */
+    public JavaParser getCurrentJavaParser() {
+        return getJavaParser(ClasspathRegistry.getInstance().getCurrentDependencies());
+    }
+
+    /**
+     * @return a {@link JavaParser} with given {@code classpath}, equal classpaths in any order share the same compiler.
+     * The classpath of the returned parser can be changed, it then uses the compiler pooled for the new classpath.
+     */
+    public JavaParser getJavaParser(Collection<Path> classpath) {
+        return getJavaParser(classpath, false);
+    }
+
+    /**
+     * @return a {@link JavaParser} like {@link #getJavaParser(Collection)}, which logs compilation warnings and errors
+     * if {@code logCompilationWarningsAndErrors} is set.
+     */
+    public JavaParser getJavaParser(Collection<Path> classpath, boolean logCompilationWarningsAndErrors) {
+        return new PooledJavaParser(classpath, logCompilationWarningsAndErrors);
+    }
+
+    /**
+     * Drops all pooled compilers, e.g. before a new project is scanned.
+     */
+    public synchronized void clear() {
+        compilers.clear();
+        generation++;
+    }
+
+    /**
+     * The number of classpaths with pooled compilers.
+     */
+    synchronized int size() {
+        return compilers.size();
+    }
+
+    private synchronized void register(String key) {
+        compilers.computeIfAbsent(key, k -> new ArrayDeque<>());
+    }
+
+    private PooledCompiler acquire(String key, Collection<Path> classpath, boolean logCompilationWarningsAndErrors) {
+        long currentGeneration;
+        synchronized (this) {
+            PooledCompiler idle = compilers.computeIfAbsent(key, k -> new ArrayDeque<>()).pollFirst();
+            if (idle != null) {
+                return idle;
+            }
+            currentGeneration = generation;
+        }
+        // building a compiler takes time, parsers for other classpaths must not wait for it
+        return new PooledCompiler(key, currentGeneration, classpath, logCompilationWarningsAndErrors);
+    }
+
+    private synchronized void release(PooledCompiler compiler) {
+        Deque<PooledCompiler> idle = compilers.get(compiler.key);
+        if (compiler.generation == generation && idle != null && idle.size() < MAX_IDLE_COMPILERS_PER_CLASSPATH) {
+            idle.addFirst(compiler);
+        }
+    }
+
+    private static String key(Collection<Path> classpath, boolean logCompilationWarningsAndErrors) {
+        String fingerprint = classpath.stream()
+                .map(p -> p.toAbsolutePath().normalize().toString())
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(java.io.File.pathSeparator));
+        return logCompilationWarningsAndErrors ? "log:" + fingerprint : fingerprint;
+    }
+
+    /**
+     * Type cache of a pooled compiler, only cleared by {@link PooledCompiler#invalidateTypes()}.
+     */
+    private static class PooledTypeCache extends JavaTypeCache {
+        @Override
+        public void clear() {
+            // resetting the compiler between parses must keep the types of the classpath
+        }
+
+        void invalidate() {
+            super.clear();
+        }
+    }
+
+    private static class PooledCompiler {
+        private final String key;
+        private final long generation;
+        private final PooledTypeCache typeCache = new PooledTypeCache();
+        private final JavaParser javaParser;
+        @Nullable
+        private String sourceSet;
+        /**
+         * Source paths and types of the sources parsed since the type cache was cleared.
+         */
+        private final Set<Path> parsedSourcePaths = new HashSet<>();
+        private final Set<String> declaredTypes = new HashSet<>();
+
+        PooledCompiler(String key, long generation, Collection<Path> classpath, boolean logCompilationWarningsAndErrors) {
+            this.key = key;
+            this.generation = generation;
+            JavaParser.Builder<? extends JavaParser, ?> builder = JavaParser.fromJavaVersion()
+                    .logCompilationWarningsAndErrors(logCompilationWarningsAndErrors)
+                    .typeCache(typeCache);
+            if (!classpath.isEmpty()) {
+                builder.classpath(classpath);
+            }
+            javaParser = builder.build();
+        }
+
+        List<J.CompilationUnit> parse(List<Parser.Input> inputs, @Nullable Path relativeTo, ExecutionContext ctx, @Nullable String sourceSet) {
+            if (inputs.stream().map(i -> getSourcePath(i, relativeTo)).anyMatch(parsedSourcePaths::contains)) {
+                invalidateTypes();
+            }
+            List<J.CompilationUnit> compilationUnits = doParse(inputs, relativeTo, ctx, sourceSet);
+            if (compilationUnits.stream().flatMap(cu -> getDeclaredTypes(cu).stream()).anyMatch(declaredTypes::contains)) {
+                // a type moved to another source, e.g. a source added under a new path
+                invalidateTypes();
+                compilationUnits = doParse(inputs, relativeTo, ctx, sourceSet);
+            }
+            for (J.CompilationUnit cu : compilationUnits) {
+                if (cu.getSourcePath().getParent() != null) {
+                    parsedSourcePaths.add(cu.getSourcePath().normalize());
+                }
+                declaredTypes.addAll(getDeclaredTypes(cu));
+            }
+            return compilationUnits;
+        }
+
+        JavaSourceSet getSourceSet(ExecutionContext ctx, @Nullable String sourceSet) {
+            applySourceSet(sourceSet);
+            return javaParser.getSourceSet(ctx);
+        }
+
+        private List<J.CompilationUnit> doParse(List<Parser.Input> inputs, @Nullable Path relativeTo, ExecutionContext ctx, @Nullable String sourceSet) {
+            javaParser.reset();
+            applySourceSet(sourceSet);
+            return javaParser.parseInputs(inputs, relativeTo, ctx);
+        }
+
+        /**
+         * Setting the source set discards the {@code JavaSourceSet} computed for the classpath, it's only set if changed.
+         */
+        private void applySourceSet(@Nullable String sourceSet) {
+            if (sourceSet != null && !sourceSet.equals(this.sourceSet)) {
+                javaParser.setSourceSet(sourceSet);
+                this.sourceSet = sourceSet;
+            }
+        }
+
+        private void invalidateTypes() {
+            typeCache.invalidate();
+            parsedSourcePaths.clear();
+            declaredTypes.clear();
+        }
+
+        private Path getSourcePath(Parser.Input input, @Nullable Path relativeTo) {
+            Path path = input.getPath();
+            return (relativeTo != null && path.isAbsolute() ? relativeTo.relativize(path) : path).normalize();
+        }
+
+        /**
+         * Types declared in a package, types in the default package are declared by stubs.
+         */
+        private Set<String> getDeclaredTypes(J.CompilationUnit cu) {
+            return cu.getClasses().stream()
+                    .map(J.ClassDeclaration::getType)
+                    .filter(Objects::nonNull)
+                    .filter(t -> !t.getPackageName().isEmpty())
+                    .map(JavaType.FullyQualified::getFullyQualifiedName)
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Handle to the pooled compilers for a classpath, each call uses an idle compiler.
+     */
+    private class PooledJavaParser implements JavaParser {
+        private volatile Collection<Path> classpath;
+        private volatile String key;
+        private final boolean logCompilationWarningsAndErrors;
+        @Nullable
+        private volatile String sourceSet;
+
+        PooledJavaParser(Collection<Path> classpath, boolean logCompilationWarningsAndErrors) {
+            this.logCompilationWarningsAndErrors = logCompilationWarningsAndErrors;
+            setClasspath(classpath);
+        }
+
+        @Override
+        public List<J.CompilationUnit> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
+            List<Input> inputs = new ArrayList<>();
+            sources.forEach(inputs::add);
+            PooledCompiler compiler = acquire(key, classpath, logCompilationWarningsAndErrors);
+            try {
+                return compiler.parse(inputs, relativeTo, ctx, sourceSet);
+            } finally {
+                release(compiler);
+            }
+        }
+
+        /**
+         * Compilers are reset before every parse.
+         */
+        @Override
+        public JavaParser reset() {
+            return this;
+        }
+
+        @Override
+        public void setClasspath(Collection<Path> classpath) {
+            this.classpath = List.copyOf(classpath);
+            this.key = key(classpath, logCompilationWarningsAndErrors);
+            register(key);
+        }
+
+        @Override
+        public void setSourceSet(String sourceSet) {
+            this.sourceSet = sourceSet;
+        }
+
+        @Override
+        public JavaSourceSet getSourceSet(ExecutionContext ctx) {
+            PooledCompiler compiler = acquire(key, classpath, logCompilationWarningsAndErrors);
+            try {
+                return compiler.getSourceSet(ctx, sourceSet);
+            } finally {
+                release(compiler);
+            }
+        }
+    }
+}
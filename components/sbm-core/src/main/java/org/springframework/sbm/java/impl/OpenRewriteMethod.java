@@ -111,7 +111,7 @@ public class OpenRewriteMethod implements Method {
     public void addAnnotation(String snippet, String annotationImport, String... otherImports) {
         // FIXME: #7 requires a fresh instance of JavaParser to update typesInUse
         Recipe visitor = new GenericOpenRewriteRecipe<>(() -> {
-            Supplier<JavaParser> javaParserSupplier = () -> JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+            Supplier<JavaParser> javaParserSupplier = () -> JavaParserPool.getInstance().getCurrentJavaParser();
             return new AddAnnotationVisitor(javaParserSupplier, getMethodDecl(), snippet, annotationImport, otherImports);
         });
         refactoring.refactor(sourceFile, visitor);
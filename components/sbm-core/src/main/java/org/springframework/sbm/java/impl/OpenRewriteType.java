@@ -21,7 +21,6 @@ import org.openrewrite.java.tree.*;
 import org.springframework.sbm.java.api.*;
 import org.springframework.sbm.java.migration.visitor.RemoveImplementsVisitor;
 import org.springframework.sbm.java.refactoring.JavaRefactoring;
-import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.openrewrite.ExecutionContext;
@@ -114,7 +113,7 @@ public class OpenRewriteType implements Type {
     @Override
     public void addAnnotation(String snippet, String annotationImport, String... otherImports) {
         // FIXME: #7 JavaParser does not update typesInUse
-        Supplier<JavaParser> javaParserSupplier = () -> JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+        Supplier<JavaParser> javaParserSupplier = () -> JavaParserPool.getInstance().getCurrentJavaParser();
         AddAnnotationVisitor addAnnotationVisitor = new AddAnnotationVisitor(javaParserSupplier, getClassDeclaration(), snippet, annotationImport, otherImports);
         Recipe recipe = new GenericOpenRewriteRecipe<>(() -> addAnnotationVisitor);
         refactoring.refactor(rewriteSourceFileHolder, recipe);
@@ -152,17 +151,28 @@ public class OpenRewriteType implements Type {
 
     @Override
     public void addMethod(String methodTemplate, Set<String> requiredImports) {
+        addMethods(List.of(methodTemplate), requiredImports);
+    }
+
+    @Override
+    public void addMethods(List<String> methodTemplates, Set<String> requiredImports) {
+        if (methodTemplates.isEmpty()) {
+            return;
+        }
+        // all methods are compiled as one template so the parser runs only once
+        String joinedTemplate = methodTemplates.stream()
+                .map(String::strip)
+                .collect(Collectors.joining("\n\n"));
         this.apply(new GenericOpenRewriteRecipe<>(() -> new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext executionContext) {
                 // FIXME: #7 hack, get JavaParser as SpringBean with access to classpath
                 // TODO: 786
-                javaParser = new RewriteJavaParser(new SbmApplicationProperties(), executionContext);
-                javaParser.setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
+                javaParser = JavaParserPool.getInstance().getCurrentJavaParser();
 
                 J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, executionContext);
                 JavaTemplate template = JavaTemplate
-                        .builder(() -> getCursor().getParent(), methodTemplate)
+                        .builder(() -> getCursor().getParent(), joinedTemplate)
                         .javaParser(() -> javaParser)
                         .imports(requiredImports.toArray(new String[0]))
                         .build();
@@ -25,6 +25,7 @@ import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
+import org.springframework.sbm.engine.context.ProjectFacts;
 import org.springframework.sbm.java.api.*;
 import org.springframework.sbm.java.exceptions.UnresolvedTypeException;
 import org.springframework.sbm.java.filter.JavaSourceListFilter;
@@ -43,11 +44,20 @@ import java.util.stream.Stream;
 public class ProjectJavaSourcesImpl implements ProjectJavaSources {
     private ProjectResourceSet projectResourceSet;
     private JavaGlobalRefactoring globalRefactoring;
+    private ProjectFacts projectFacts;
 
     public ProjectJavaSourcesImpl(ProjectResourceSet filteredResources, JavaGlobalRefactoring globalRefactoring) {
+        this(filteredResources, globalRefactoring, new ProjectFacts(filteredResources));
+    }
+
+    /**
+     * @param projectFacts the index used to look up declaring and implementing types, shared with the {@code ProjectContext}
+     */
+    public ProjectJavaSourcesImpl(ProjectResourceSet filteredResources, JavaGlobalRefactoring globalRefactoring, ProjectFacts projectFacts) {
         super();
         projectResourceSet = filteredResources;
         this.globalRefactoring = globalRefactoring;
+        this.projectFacts = projectFacts;
     }
 
     @Override
@@ -84,17 +94,12 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
 
     @Override
     public boolean hasImportStartingWith(String regex) {
-        return list().stream()
-                .anyMatch(js -> js.hasImportStartingWith(regex));
+        return projectFacts.hasImportStartingWith(regex);
     }
 
     @Override
     public Optional<? extends JavaSource> findJavaSourceDeclaringType(String fqName) {
-        return list().stream()
-                .filter(js -> {
-                    return js.getTypes().stream()
-                            .anyMatch(t -> fqName.equals(t.getFullyQualifiedName()));
-                })
+        return projectFacts.findJavaSourcesDeclaringType(fqName).stream()
                 .findFirst();
     }
 
@@ -109,7 +114,7 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
         FindMethods findMethods = new FindMethods(methodPattern,true, null);
         MethodMatcher methodMatcher = new MethodMatcher(methodPattern);
         find(findMethods).stream()
-                .map(m -> list().stream().filter(js -> js.getResource().getId().equals(m.getId())).findFirst().get())
+                .map(m -> (JavaSource) projectResourceSet.findById(m.getId()).get())
                 .map(m -> new MethodCall(m, methodMatcher))
                 .forEach(matches::add);
         return matches;
@@ -118,11 +123,11 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
     @Override
     public List<JavaSourceAndType> findTypesImplementing(String type) {
         List<JavaSourceAndType> matches = new ArrayList<>();
-        this.list().forEach(js -> {
+        projectFacts.findJavaSourcesImplementing(type).forEach(js -> {
             js.getResource().getSourceFile().getClasses().stream()
                     .filter(c -> hasTypeImplementing(c, type))
                     .map(c -> {
-                        Type matchingType = getTypeForClassDecl(c);
+                        Type matchingType = getTypeForClassDecl(js, c);
                         return new JavaSourceAndType(js, matchingType);
                     })
                     .forEach(matches::add);
@@ -168,11 +173,12 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
 
     }
 
-    private Type getTypeForClassDecl(J.ClassDeclaration c) {
-        return list().stream()
+    private Type getTypeForClassDecl(JavaSource declaringSource, J.ClassDeclaration c) {
+        String fqName = c.getType().getFullyQualifiedName();
+        return Stream.concat(Stream.of(declaringSource), projectFacts.findJavaSourcesDeclaringType(fqName).stream())
                 .flatMap(js -> js.getTypes().stream())
-                .filter(t -> t.getFullyQualifiedName().equals(c.getType().getFullyQualifiedName()))
-                .findFirst().orElseThrow(() -> new RuntimeException("Could not find type for '" + c.getType().getFullyQualifiedName() + "'"));
+                .filter(t -> t.getFullyQualifiedName().equals(fqName))
+                .findFirst().orElseThrow(() -> new RuntimeException("Could not find type for '" + fqName + "'"));
     }
 
 }
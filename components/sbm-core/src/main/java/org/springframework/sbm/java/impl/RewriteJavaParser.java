@@ -16,7 +16,6 @@
 package org.springframework.sbm.java.impl;
 
 import lombok.Getter;
-import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaParser;
@@ -31,11 +30,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * The {@link JavaParser} of a scan, backed by the {@link JavaParserPool}.
+ */
 @Component
 @ScanScope
 public class RewriteJavaParser implements JavaParser {
 
-    private final SbmApplicationProperties sbmApplicationProperties;
     @Getter
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
@@ -43,19 +44,8 @@ public class RewriteJavaParser implements JavaParser {
 
     // satisfies DI
     public RewriteJavaParser(SbmApplicationProperties sbmApplicationProperties, ExecutionContext executionContext) {
-        this.sbmApplicationProperties = sbmApplicationProperties;
         this.executionContext = executionContext;
-        javaParser = buildJavaParser(Collections.emptySet());
-    }
-
-    @NotNull
-    private JavaParser buildJavaParser(Collection<Path> classpath) {
-        Builder<? extends JavaParser, ?> builder = JavaParser.fromJavaVersion()
-                .logCompilationWarningsAndErrors(sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors());
-        if (!classpath.isEmpty()) {
-            builder.classpath(classpath);
-        }
-        return builder.build();
+        javaParser = JavaParserPool.getInstance().getJavaParser(Collections.emptySet(), sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors());
     }
 
     @Override
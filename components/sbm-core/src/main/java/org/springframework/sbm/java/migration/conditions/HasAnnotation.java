@@ -36,7 +36,6 @@ public class HasAnnotation implements Condition {
 
 	@Override
 	public boolean evaluate(ProjectContext context) {
-		return context.getProjectJavaSources().asStream()
-				.anyMatch(js -> js.hasAnnotation(annotation));
+		return context.getProjectFacts().hasAnnotation(annotation);
 	}
 }
@@ -37,9 +37,7 @@ public class HasAnyImportStartingWith implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .anyMatch(js -> importPatterns.stream()
-                            .anyMatch(v -> js.hasImportStartingWith(v))
-                );
+        return importPatterns.stream()
+                .anyMatch(v -> context.getProjectFacts().hasImportStartingWith(v));
     }
 }
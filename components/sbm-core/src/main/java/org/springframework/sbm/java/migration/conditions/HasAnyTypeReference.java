@@ -37,7 +37,6 @@ public class HasAnyTypeReference implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .anyMatch(js -> js.getReferencedTypes().stream().anyMatch(rt -> fqTypeNames.contains(rt)));
+        return context.getProjectFacts().hasAnyTypeReference(fqTypeNames);
     }
 }
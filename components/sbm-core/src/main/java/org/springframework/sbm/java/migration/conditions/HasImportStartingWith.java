@@ -39,6 +39,6 @@ public class HasImportStartingWith implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().hasImportStartingWith(value);
+        return context.getProjectFacts().hasImportStartingWith(value);
     }
 }
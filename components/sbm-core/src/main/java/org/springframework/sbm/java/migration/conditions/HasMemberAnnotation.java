@@ -33,9 +33,6 @@ public class HasMemberAnnotation implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .flatMap(js -> js.getTypes().stream())
-                .flatMap(t -> t.getMembers().stream())
-                .anyMatch(m -> m.getAnnotation(annotation) != null);
+        return context.getProjectFacts().hasMemberAnnotation(annotation);
     }
 }
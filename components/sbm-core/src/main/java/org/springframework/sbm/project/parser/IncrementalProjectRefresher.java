@@ -0,0 +1,417 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.GitProvenance;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ProjectResourceWrapperRegistry;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Brings a {@link ProjectContext} in sync with the working tree without scanning the whole project again.
+ * <p>
+ * Only files that changed since the revision of the {@code ProjectContext} are parsed, together with the Java sources
+ * that use types declared in changed Java sources. The resulting resources are patched into the existing
+ * {@link ProjectResourceSet}. Changes to build files affect the whole project and are not handled incrementally.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IncrementalProjectRefresher {
+
+    private static final Pattern PACKAGE_PATTERN = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern IMPORT_PATTERN = Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w.]+)(?:\\.\\*)?\\s*;", Pattern.MULTILINE);
+
+    private static final Path MAIN_JAVA = Path.of("src/main/java");
+    private static final Path TEST_JAVA = Path.of("src/test/java");
+
+    private final GitSupport gitSupport;
+    private final PathScanner pathScanner;
+    private final ResourceParser resourceParser;
+    private final MavenProjectParser mavenProjectParser;
+    private final ProjectResourceWrapperRegistry resourceWrapperRegistry;
+    private final JavaProvenanceMarkerFactory javaProvenanceMarkerFactory;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final ExecutionContext executionContext;
+
+    /**
+     * Patch resources changed since {@link ProjectContext#getRevision()} into the given {@code context}.
+     * <p>
+     * Like the full scan only Java sources in the source folders and resources in the resource folders of a module
+     * are parsed, other changed files are ignored.
+     *
+     * @return {@code false} if the changes can't be applied incrementally and the project must be scanned again,
+     * the {@code context} is left untouched in this case
+     */
+    public boolean refresh(ProjectContext context) {
+        if (!sbmApplicationProperties.isIncrementalRescanEnabled() || context.getRevision() == null) {
+            return false;
+        }
+        Path projectRoot = context.getProjectRootDirectory().toAbsolutePath().normalize();
+        Set<Path> changedPaths = gitSupport.getChangedFilesSince(projectRoot.toFile(), context.getRevision()).stream()
+                .filter(p -> p.startsWith(projectRoot))
+                .filter(p -> !pathScanner.isIgnored(projectRoot, p))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (changedPaths.stream().anyMatch(this::isBuildFile)) {
+            log.debug("Build files changed since revision '%s', project must be scanned again.".formatted(context.getRevision()));
+            return false;
+        }
+
+        ProjectResourceSet projectResources = context.getProjectResources();
+        List<RewriteSourceFileHolder<Xml.Document>> poms = getPoms(projectResources);
+        List<ScannedFile> changedFiles = changedPaths.stream()
+                .map(p -> classify(projectRoot, poms, p))
+                .flatMap(Optional::stream)
+                .toList();
+        List<Path> deletedPaths = changedFiles.stream()
+                .map(ScannedFile::path)
+                .filter(p -> !Files.exists(p))
+                .filter(p -> projectResources.findByAbsolutePath(p).isPresent())
+                .toList();
+        List<ScannedFile> addedOrModifiedFiles = changedFiles.stream().filter(f -> Files.isRegularFile(f.path())).toList();
+
+        Set<Path> changedJavaPaths = changedFiles.stream()
+                .filter(ScannedFile::javaSource)
+                .map(ScannedFile::path)
+                .collect(Collectors.toSet());
+        List<ScannedFile> javaFiles = new ArrayList<>(addedOrModifiedFiles.stream().filter(ScannedFile::javaSource).toList());
+        List<RewriteSourceFileHolder<J.CompilationUnit>> dependents = findDependents(projectResources, changedJavaPaths);
+        dependents.forEach(d -> classify(projectRoot, poms, d.getAbsolutePath()).filter(ScannedFile::javaSource).ifPresent(javaFiles::add));
+        List<ScannedFile> resourceFiles = addedOrModifiedFiles.stream().filter(f -> !f.javaSource()).toList();
+
+        // markers are taken from the resources of the modules before anything is changed
+        ModuleMarkers moduleMarkers = new ModuleMarkers(projectRoot, projectResources, poms);
+        List<SourceFile> parsedSourceFiles = new ArrayList<>();
+        groupBySourceSet(javaFiles)
+                .forEach((sourceSet, paths) -> parsedSourceFiles.addAll(parseJavaSources(projectRoot, sourceSet, paths, projectResources, changedPaths, moduleMarkers)));
+        groupBySourceSet(resourceFiles)
+                .forEach((sourceSet, paths) -> parsedSourceFiles.addAll(resourceParser.parse(projectRoot,
+                                                                                             paths.stream().map(p -> (Resource) new FileSystemResource(p)).toList(),
+                                                                                             moduleMarkers.getMarkers(sourceSet, false))));
+
+        deletedPaths.forEach(projectResources::remove);
+        for (SourceFile sourceFile : parsedSourceFiles) {
+            Path path = projectRoot.resolve(sourceFile.getSourcePath()).normalize();
+            RewriteSourceFileHolder<? extends SourceFile> resource = resourceWrapperRegistry.wrap(new RewriteSourceFileHolder<>(projectRoot, sourceFile));
+            int index = projectResources.indexOf(path);
+            if (index != -1) {
+                projectResources.replace(index, resource);
+            } else {
+                projectResources.add(resource);
+            }
+        }
+
+        gitSupport.getLatestCommit(projectRoot.toFile()).ifPresent(c -> context.setRevision(c.getHash()));
+        log.debug("Refreshed %d changed and %d dependent resources, removed %d deleted resources."
+                .formatted(addedOrModifiedFiles.size(), dependents.size(), deletedPaths.size()));
+        return true;
+    }
+
+    private Map<SourceSet, List<Path>> groupBySourceSet(List<ScannedFile> files) {
+        return files.stream()
+                .collect(Collectors.groupingBy(ScannedFile::sourceSet, LinkedHashMap::new, Collectors.mapping(ScannedFile::path, Collectors.toList())));
+    }
+
+    private List<RewriteSourceFileHolder<Xml.Document>> getPoms(ProjectResourceSet projectResources) {
+        return projectResources.stream()
+                .filter(r -> r.getSourceFile() instanceof Xml.Document document && document.getMarkers().findFirst(MavenResolutionResult.class).isPresent())
+                .map(r -> (RewriteSourceFileHolder<Xml.Document>) r)
+                .toList();
+    }
+
+    /**
+     * Find out how the full scan treats the file at given {@code path}, using the source and resource folders of the
+     * innermost module containing it.
+     *
+     * @return empty if the file is not parsed by the full scan
+     */
+    private Optional<ScannedFile> classify(Path projectRoot, List<RewriteSourceFileHolder<Xml.Document>> poms, Path path) {
+        Optional<RewriteSourceFileHolder<Xml.Document>> module = findModule(poms, path);
+        if (module.isEmpty()) {
+            return Optional.empty();
+        }
+        Path moduleDir = getModuleDir(module.get());
+        Path pathInModule = moduleDir.relativize(path);
+        if (isJavaFile(path) && pathInModule.startsWith(MAIN_JAVA)) {
+            return Optional.of(new ScannedFile(path, new SourceSet(module.get(), Scope.Provided), true));
+        }
+        if (isJavaFile(path) && pathInModule.startsWith(TEST_JAVA)) {
+            return Optional.of(new ScannedFile(path, new SourceSet(module.get(), Scope.Test), true));
+        }
+        if (isResource(projectRoot, moduleDir, MavenProjectParser.MAIN_RESOURCE_PATHS, path)) {
+            return Optional.of(new ScannedFile(path, new SourceSet(module.get(), Scope.Provided), false));
+        }
+        if (isResource(projectRoot, moduleDir, MavenProjectParser.TEST_RESOURCE_PATHS, path)) {
+            return Optional.of(new ScannedFile(path, new SourceSet(module.get(), Scope.Test), false));
+        }
+        return Optional.empty();
+    }
+
+    private boolean isResource(Path projectRoot, Path moduleDir, Set<Path> resourceFolders, Path path) {
+        return !resourceParser.filter(projectRoot, resourceFolders, List.of(new FileSystemResource(path)), projectRoot.relativize(moduleDir)).isEmpty();
+    }
+
+    /**
+     * The innermost module containing given {@code path}.
+     */
+    private Optional<RewriteSourceFileHolder<Xml.Document>> findModule(List<RewriteSourceFileHolder<Xml.Document>> poms, Path path) {
+        return poms.stream()
+                .filter(pom -> path.startsWith(getModuleDir(pom)))
+                .max(Comparator.comparingInt(pom -> getModuleDir(pom).getNameCount()));
+    }
+
+    private Path getModuleDir(RewriteSourceFileHolder<Xml.Document> pom) {
+        return pom.getAbsolutePath().getParent();
+    }
+
+    /**
+     * Find unchanged Java sources using types declared in the changed Java sources.
+     */
+    private List<RewriteSourceFileHolder<J.CompilationUnit>> findDependents(ProjectResourceSet projectResources, Set<Path> changedJavaPaths) {
+        Set<String> changedTypes = new HashSet<>();
+        Set<String> changedPackages = new HashSet<>();
+        for (Path path : changedJavaPaths) {
+            projectResources.findByAbsolutePath(path)
+                    .filter(r -> r.getSourceFile() instanceof J.CompilationUnit)
+                    .map(r -> (J.CompilationUnit) r.getSourceFile())
+                    .ifPresent(cu -> {
+                        changedTypes.addAll(getDeclaredTypes(cu));
+                        changedPackages.addAll(getPackages(cu));
+                    });
+            if (Files.isRegularFile(path)) {
+                String source = read(path);
+                String packageName = getPackageName(source);
+                changedPackages.add(packageName);
+                changedTypes.add(qualify(packageName, path.getFileName().toString().replaceFirst("\\.java$", "")));
+            }
+        }
+        if (changedTypes.isEmpty()) {
+            return List.of();
+        }
+        return getCompilationUnits(projectResources)
+                .filter(r -> !changedJavaPaths.contains(r.getAbsolutePath()))
+                .filter(r -> usesAnyOf(r.getSourceFile(), changedTypes, changedPackages))
+                .toList();
+    }
+
+    private boolean usesAnyOf(J.CompilationUnit cu, Set<String> types, Set<String> packages) {
+        if (getPackages(cu).stream().anyMatch(packages::contains)) {
+            return true;
+        }
+        if (cu.getImports().stream().map(J.Import::getTypeName).anyMatch(i -> types.contains(i) || packages.contains(i))) {
+            return true;
+        }
+        return getTypesInUse(cu).stream().anyMatch(types::contains);
+    }
+
+    /**
+     * Parse the Java sources of one source set with the pooled parser for the classpath of its module and add the
+     * markers of the module, like the full scan does.
+     */
+    private List<J.CompilationUnit> parseJavaSources(Path projectRoot, SourceSet sourceSet, List<Path> javaPaths, ProjectResourceSet projectResources, Set<Path> changedPaths, ModuleMarkers moduleMarkers) {
+        // Sources of the same source set declaring types used by the parsed sources are required for type attribution
+        Set<Path> parsedPaths = new HashSet<>(javaPaths);
+        Set<String> usedTypes = new HashSet<>();
+        for (Path path : javaPaths) {
+            projectResources.findByAbsolutePath(path)
+                    .filter(r -> r.getSourceFile() instanceof J.CompilationUnit)
+                    .ifPresent(r -> usedTypes.addAll(getTypesInUse((J.CompilationUnit) r.getSourceFile())));
+            if (Files.isRegularFile(path)) {
+                Matcher matcher = IMPORT_PATTERN.matcher(read(path));
+                while (matcher.find()) {
+                    usedTypes.add(matcher.group(1));
+                }
+            }
+        }
+        Path sourceFolder = getModuleDir(sourceSet.pom()).resolve(sourceSet.scope() == Scope.Test ? TEST_JAVA : MAIN_JAVA);
+        List<Parser.Input> inputs = new ArrayList<>();
+        javaPaths.forEach(p -> inputs.add(new Parser.Input(p, () -> {
+            try {
+                return Files.newInputStream(p);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        })));
+        getCompilationUnits(projectResources)
+                .filter(r -> r.getAbsolutePath().startsWith(sourceFolder))
+                .filter(r -> !parsedPaths.contains(r.getAbsolutePath()) && !changedPaths.contains(r.getAbsolutePath()))
+                .filter(r -> getDeclaredTypes(r.getSourceFile()).stream().anyMatch(usedTypes::contains))
+                .forEach(r -> {
+                    String source = r.print();
+                    inputs.add(new Parser.Input(r.getAbsolutePath(), () -> new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8))));
+                });
+
+        JavaParser javaParser = mavenProjectParser.createJavaParser(mavenProjectParser.getClasspath(sourceSet.pom().getSourceFile(), sourceSet.scope()), sourceSet.name());
+        List<Marker> markers = moduleMarkers.getMarkers(sourceSet, true);
+        return javaParser.parseInputs(inputs, projectRoot, executionContext).stream()
+                .filter(cu -> parsedPaths.contains(projectRoot.resolve(cu.getSourcePath()).normalize()))
+                .map(cu -> cu.withMarkers(cu.getMarkers().withMarkers(withModuleMarkers(cu.getMarkers().getMarkers(), markers))))
+                .toList();
+    }
+
+    /**
+     * Replace the {@link JavaSourceSet} created by the parser with the markers of the module.
+     */
+    private List<Marker> withModuleMarkers(List<Marker> parsedMarkers, List<Marker> moduleMarkers) {
+        List<Marker> markers = new ArrayList<>(parsedMarkers.stream().filter(m -> !(m instanceof JavaSourceSet)).toList());
+        markers.addAll(moduleMarkers);
+        return markers;
+    }
+
+    private Stream<RewriteSourceFileHolder<J.CompilationUnit>> getCompilationUnits(ProjectResourceSet projectResources) {
+        return projectResources.stream()
+                .filter(r -> r.getSourceFile() instanceof J.CompilationUnit)
+                .map(r -> (RewriteSourceFileHolder<J.CompilationUnit>) r);
+    }
+
+    private Set<String> getDeclaredTypes(J.CompilationUnit cu) {
+        return cu.getClasses().stream()
+                .map(J.ClassDeclaration::getType)
+                .filter(Objects::nonNull)
+                .map(JavaType.FullyQualified::getFullyQualifiedName)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> getPackages(J.CompilationUnit cu) {
+        return cu.getClasses().stream()
+                .map(J.ClassDeclaration::getType)
+                .filter(Objects::nonNull)
+                .map(JavaType.FullyQualified::getPackageName)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> getTypesInUse(J.CompilationUnit cu) {
+        return cu.getTypesInUse().getTypesInUse().stream()
+                .filter(JavaType.FullyQualified.class::isInstance)
+                .map(t -> ((JavaType.FullyQualified) t).getFullyQualifiedName())
+                // nested types are declared in the source file of their outermost type
+                .map(fqName -> fqName.contains("$") ? fqName.substring(0, fqName.indexOf('$')) : fqName)
+                .collect(Collectors.toSet());
+    }
+
+    private String getPackageName(String source) {
+        Matcher matcher = PACKAGE_PATTERN.matcher(source);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    private String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private String read(Path path) {
+        try {
+            return Files.readString(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isJavaFile(Path path) {
+        return path.getFileName().toString().endsWith(".java");
+    }
+
+    private boolean isBuildFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.equals("pom.xml") || fileName.endsWith(".gradle") || fileName.endsWith(".gradle.kts");
+    }
+
+    /**
+     * The Java sources and resources of a module belonging to the source set parsed with the dependencies of given {@code scope}.
+     */
+    private record SourceSet(RewriteSourceFileHolder<Xml.Document> pom, Scope scope) {
+        String name() {
+            return scope == Scope.Test ? "test" : "main";
+        }
+    }
+
+    /**
+     * A file parsed by the full scan, either a Java source or a resource of given {@code sourceSet}.
+     */
+    private record ScannedFile(Path path, SourceSet sourceSet, boolean javaSource) {
+    }
+
+    /**
+     * Creates the markers {@link MavenProjectParser} adds to the Java sources and resources of a source set.
+     * <p>
+     * Markers already present in the module are reused, so refreshed resources keep the marker ids of the full scan.
+     */
+    @RequiredArgsConstructor
+    private class ModuleMarkers {
+
+        private final Path projectRoot;
+        private final ProjectResourceSet projectResources;
+        private final List<RewriteSourceFileHolder<Xml.Document>> poms;
+        private final Map<SourceSet, JavaSourceSet> javaSourceSets = new HashMap<>();
+
+        /**
+         * The Java provenance, {@link JavaSourceSet} and {@link GitProvenance} markers of given {@code sourceSet},
+         * test sources additionally get the {@code JavaSourceSet} of the main sources.
+         */
+        List<Marker> getMarkers(SourceSet sourceSet, boolean javaSource) {
+            Xml.Document pom = sourceSet.pom().getSourceFile();
+            List<Marker> markers = new ArrayList<>(javaProvenanceMarkerFactory.createJavaProvenanceMarkers(pom, projectRoot, executionContext).stream()
+                    .map(m -> pom.getMarkers().findFirst(m.getClass()).map(Marker.class::cast).orElse(m))
+                    .toList());
+            markers.add(getJavaSourceSet(sourceSet));
+            if (javaSource && sourceSet.scope() == Scope.Test) {
+                markers.add(getJavaSourceSet(new SourceSet(sourceSet.pom(), Scope.Provided)));
+            }
+            pom.getMarkers().findFirst(GitProvenance.class).ifPresent(markers::add);
+            return markers;
+        }
+
+        private JavaSourceSet getJavaSourceSet(SourceSet sourceSet) {
+            return javaSourceSets.computeIfAbsent(sourceSet, s -> projectResources.stream()
+                    .filter(r -> findModule(poms, r.getAbsolutePath()).filter(s.pom()::equals).isPresent())
+                    .flatMap(r -> r.getSourceFile().getMarkers().findAll(JavaSourceSet.class).stream())
+                    .filter(m -> m.getName().equals(s.name()))
+                    .findFirst()
+                    .orElseGet(() -> mavenProjectParser.createJavaParser(mavenProjectParser.getClasspath(s.pom().getSourceFile(), s.scope()), s.name())
+                            .getSourceSet(executionContext)));
+        }
+    }
+}
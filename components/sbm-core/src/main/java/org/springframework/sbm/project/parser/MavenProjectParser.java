@@ -31,13 +31,15 @@ import org.openrewrite.marker.ci.BuildEnvironment;
 import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.MavenSettings;
 import org.openrewrite.maven.tree.*;
-import org.openrewrite.maven.utilities.MavenArtifactDownloader;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.build.impl.MavenBuildFileUtil;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.events.*;
+import org.springframework.sbm.java.impl.JavaParserPool;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.scopes.ProjectMetadata;
 import org.springframework.stereotype.Component;
 
@@ -46,6 +48,10 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -59,24 +65,28 @@ public class MavenProjectParser {
 
     private final ResourceParser resourceParser;
     private final RewriteMavenParser mavenParser;
-    private final MavenArtifactDownloader artifactDownloader;
+    private final ConcurrentArtifactDownloader artifactDownloader;
     private final ApplicationEventPublisher eventPublisher;
     private final JavaProvenanceMarkerFactory javaProvenanceMarkerFactory;
-    private final JavaParser javaParser;
     private final MavenConfigHandler mavenConfigHandler;
     private final ProjectMetadata projectMetadata;
     private final ExecutionContext executionContext;
+    private final SbmApplicationProperties sbmApplicationProperties;
+
+    static final Set<Path> MAIN_RESOURCE_PATHS = Set.of(
+            Path.of("src/main/resources"),
+            Path.of("src/main/webapp"),
+            Path.of("src/main/mule")
+    );
+
+    static final Set<Path> TEST_RESOURCE_PATHS = Set.of(
+            Path.of("src/test/resources"),
+            Path.of("src/test/webapp"),
+            Path.of("src/test/mule")
+    );
 
     public List<SourceFile> parse(Path projectDirectory, List<Resource> resources) {
-        projectMetadata.setMetadata("some metadata");
-        MavenSettings mavenSettings = new MavenSettings(null, null, null, null, null);
-        projectMetadata.setMavenSettings(mavenSettings);
-        MavenExecutionContextView mavenExecutionContext = MavenExecutionContextView.view(executionContext);
-        mavenExecutionContext.setMavenSettings(mavenSettings);
-        Path localRepo = Path.of(System.getProperty("user.home")).resolve(".m2/repository");
-        MavenExecutionContextView.view(executionContext).setLocalRepository(new MavenRepository("local", localRepo.toUri().toString(), null, null, false, null, null, null));
-        // default local repo provided by MavenExecutionContextView misses two '/' in the path
-        mavenConfigHandler.injectMavenConfigIntoSystemProperties(resources);
+        initializeExecutionContext(resources);
 
         @Nullable BuildEnvironment buildEnvironment = null;
         GitProvenance gitProvenance = GitProvenance.fromProjectDirectory(projectDirectory, buildEnvironment);
@@ -102,84 +112,14 @@ public class MavenProjectParser {
             }
         }
 
-        List<SourceFile> sourceFiles = new ArrayList<>();
-        for (Xml.Document pomXml : mavens) {
-            // Create markers for pom
-            List<Marker> javaProvenanceMarkers = javaProvenanceMarkerFactory.createJavaProvenanceMarkers(pomXml,
-                                                                                                         projectDirectory,
-                                                                                                         executionContext);
-            // Add markers to pom
-            Xml.Document mavenWithMarkers = addMarkers(pomXml, javaProvenanceMarkers);
-            // Add pom to sources
-            sourceFiles.add(mavenWithMarkers);
-
-            // download pom dependencies, provided scope contains compile scope
-            Path relativeModuleDir = mavenWithMarkers.getSourcePath().getParent();
-            Path mavenProjectDirectory = projectDirectory;
-            if (relativeModuleDir != null) {
-                mavenProjectDirectory = projectDirectory.resolve(relativeModuleDir);
-            }
-
-            // --------
-            // Main Java sources
-            List<J.CompilationUnit> mainJavaSources = parseMainJavaSources(projectDirectory, resources,
-                                                                           executionContext, javaParser,
-                                                                           pomXml, mavenWithMarkers,
-                                                                           mavenProjectDirectory,
-                                                                           javaProvenanceMarkers);
-            JavaSourceSet mainSourceSet = javaParser.getSourceSet(executionContext);
-            sourceFiles.addAll(mainJavaSources);
-            // FIxME: cus already have sourceSetMarker, only provenance need to be added
-
-            // FIXME: ALL JavaParser should share the same TypeCache
-
-            //UnaryOperator<J.CompilationUnit> unaryOperator = addMarkers(mainSourceSet, javaProvenanceMarkers);
-            //sourceFiles.addAll(ListUtils.map(mainCompilationUnits, unaryOperator));
-
-            // --------
-            // Main resources
-            Set<Path> mainResourcePaths = Set.of(
-                    Path.of("src/main/resources"),
-                    Path.of("src/main/webapp"),
-                    Path.of("src/main/mule")
-            );
-
-            // FIXME: mainSourceSetMarker and provenance marker must be added to all resources
-            List<Resource> resourceList = resourceParser.filter(projectDirectory, mainResourcePaths, resources, relativeModuleDir);
-
-            List<Marker> resourceMarker = new ArrayList(javaProvenanceMarkers);
-            resourceMarker.add(mainSourceSet);
-            if(gitProvenance != null) {
-                resourceMarker.add(gitProvenance);
-            }
-            List<SourceFile> mainResources = resourceParser.parse(projectDirectory, resourceList, resourceMarker);
-            sourceFiles.addAll(mainResources);
-
-            // -------
-            // Test Java sources
-            ArrayList<Marker> markers = new ArrayList<>(javaProvenanceMarkers);
-            markers.add(mainSourceSet);
-            List<J.CompilationUnit> testJavaSources = parseTestJavaSources(projectDirectory, resources,
-                                                                           executionContext, javaParser, pomXml, mavenWithMarkers, mavenProjectDirectory, markers);
-            JavaSourceSet testSourceSet = javaParser.getSourceSet(executionContext);
-            sourceFiles.addAll(testJavaSources);
-
-            // --------
-            // Test resources
-            Set<Path> testResourcePaths = Set.of(
-                    Path.of("src/test/resources"),
-                    Path.of("src/test/webapp"),
-                    Path.of("src/test/mule")
-            );
-
-            List<Resource> filteredResources = resourceParser.filter(projectDirectory, testResourcePaths, resources, relativeModuleDir);
-            List<Marker> testResourceMarker = new ArrayList(javaProvenanceMarkers);
-            testResourceMarker.add(testSourceSet);
-            if(gitProvenance != null) {
-                testResourceMarker.add(gitProvenance);
+        List<SourceFile> sourceFiles;
+        if (sbmApplicationProperties.isParallelParsingEnabled()) {
+            sourceFiles = parseModulesInParallel(projectDirectory, resources, gitProvenance, mavens);
+        } else {
+            sourceFiles = new ArrayList<>();
+            for (Xml.Document pomXml : mavens) {
+                sourceFiles.addAll(parseModule(projectDirectory, resources, gitProvenance, pomXml));
             }
-            List<SourceFile> testResources = resourceParser.parse(projectDirectory, filteredResources, testResourceMarker);
-            sourceFiles.addAll(testResources);
         }
         if(gitProvenance != null) {
             sourceFiles = ListUtils.map(sourceFiles, s -> s.withMarkers(s.getMarkers().addIfAbsent(gitProvenance)));
@@ -187,43 +127,179 @@ public class MavenProjectParser {
         return sourceFiles;
     }
 
+    /**
+     * Prepares the {@code ExecutionContext} and {@code ProjectMetadata} for the project and discards the pooled
+     * compilers and downloaded artifact paths of a previously scanned project.
+     * <p>
+     * Also required when the parsed {@code SourceFile}s are not created by {@link #parse(Path, List)}
+     * but restored from a {@link ProjectSnapshotCache}.
+     */
+    public void initializeExecutionContext(List<Resource> resources) {
+        // pooled compilers of a previously scanned project hold its classpath, they must not be used for this one
+        JavaParserPool.getInstance().clear();
+        // artifacts may have changed in the local repository since the previous scan
+        artifactDownloader.clear();
+        projectMetadata.setMetadata("some metadata");
+        MavenSettings mavenSettings = new MavenSettings(null, null, null, null, null);
+        projectMetadata.setMavenSettings(mavenSettings);
+        MavenExecutionContextView mavenExecutionContext = MavenExecutionContextView.view(executionContext);
+        mavenExecutionContext.setMavenSettings(mavenSettings);
+        Path localRepo = Path.of(System.getProperty("user.home")).resolve(".m2/repository");
+        MavenExecutionContextView.view(executionContext).setLocalRepository(new MavenRepository("local", localRepo.toUri().toString(), null, null, false, null, null, null));
+        // default local repo provided by MavenExecutionContextView misses two '/' in the path
+        mavenConfigHandler.injectMavenConfigIntoSystemProperties(resources);
+    }
 
-    private List<J.CompilationUnit> parseTestJavaSources(Path projectDirectory, List<Resource> resources, ExecutionContext ctx, JavaParser javaParser, Xml.Document pomXml, Xml.Document mavenWithMarkers, Path mavenProjectDirectory, List<Marker> javaProvenanceMarkers) {
-        MavenResolutionResult mavenResolution = MavenBuildFileUtil.getMavenResolution(mavenWithMarkers);
-        List<ResolvedDependency> resolvedDependencies = mavenResolution.getDependencies().get(Scope.Test);
-        List<Path> dependencies = downloadArtifacts(resolvedDependencies);
-        javaParser.setClasspath(dependencies);
+    private List<SourceFile> parseModule(Path projectDirectory, List<Resource> resources, @Nullable GitProvenance gitProvenance, Xml.Document pomXml) {
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        // Create markers for pom
+        List<Marker> javaProvenanceMarkers = javaProvenanceMarkerFactory.createJavaProvenanceMarkers(pomXml,
+                                                                                                     projectDirectory,
+                                                                                                     executionContext);
+        // Add markers to pom
+        Xml.Document mavenWithMarkers = addMarkers(pomXml, javaProvenanceMarkers);
+        // Add pom to sources
+        sourceFiles.add(mavenWithMarkers);
+
+        Path relativeModuleDir = mavenWithMarkers.getSourcePath().getParent();
 
         // --------
         // Main Java sources
-        javaParser.setSourceSet("test");
-        List<Resource> testJavaSources = getTestJavaSources(projectDirectory, resources, pomXml);
-        List<Parser.Input> testJavaSourcesInput = testJavaSources.stream().map(js -> {
-            Path jsPath = getPath(js);
-            return new Parser.Input(jsPath, () -> {
-                eventPublisher.publishEvent(new StartedScanningProjectResourceEvent(jsPath));
-                InputStream content = getInputStream(js);
-                return content;
-            });
-        }).collect(Collectors.toList());
-        List<J.CompilationUnit> testCompilationUnits = javaParser.parseInputs(testJavaSourcesInput, projectDirectory,
-                                                                              ctx);
-        // FIXME: #7 JavaParser and adding markers is required when adding java sources and should go into dedicated component
-        testCompilationUnits.forEach(cu -> cu.getMarkers().getMarkers().addAll(javaProvenanceMarkers));
-        return testCompilationUnits;
-    }
+        // download pom dependencies, provided scope contains compile scope
+        ConfiguredJavaParser mainParser = createJavaParser(mavenWithMarkers, Scope.Provided, "main");
+        List<J.CompilationUnit> mainJavaSources = parseJavaSources(projectDirectory,
+                                                                   getJavaSources(projectDirectory, resources, pomXml),
+                                                                   mainParser.javaParser(),
+                                                                   javaProvenanceMarkers);
+        JavaSourceSet mainSourceSet = mainParser.sourceSet();
+        sourceFiles.addAll(mainJavaSources);
+        // FIxME: cus already have sourceSetMarker, only provenance need to be added
+
+        //UnaryOperator<J.CompilationUnit> unaryOperator = addMarkers(mainSourceSet, javaProvenanceMarkers);
+        //sourceFiles.addAll(ListUtils.map(mainCompilationUnits, unaryOperator));
 
-    private List<J.CompilationUnit> parseMainJavaSources(Path projectDirectory, List<Resource> resources, ExecutionContext ctx, JavaParser javaParser, Xml.Document pomXml, Xml.Document mavenWithMarkers, Path mavenProjectDirectory, List<Marker> javaProvenanceMarkers) {
-        MavenResolutionResult mavenResolution = MavenBuildFileUtil.getMavenResolution(mavenWithMarkers);
-        List<ResolvedDependency> resolvedDependencies = mavenResolution.getDependencies().get(Scope.Provided);
-        List<Path> dependencies = downloadArtifacts(resolvedDependencies);
-        javaParser.setClasspath(dependencies);
+        // --------
+        // Main resources
+        // FIXME: mainSourceSetMarker and provenance marker must be added to all resources
+        sourceFiles.addAll(parseResources(projectDirectory, resources, relativeModuleDir, MAIN_RESOURCE_PATHS,
+                                          javaProvenanceMarkers, mainSourceSet, gitProvenance));
+
+        // -------
+        // Test Java sources
+        ConfiguredJavaParser testParser = createJavaParser(mavenWithMarkers, Scope.Test, "test");
+        List<J.CompilationUnit> testJavaSources = parseJavaSources(projectDirectory,
+                                                                   getTestJavaSources(projectDirectory, resources, pomXml),
+                                                                   testParser.javaParser(),
+                                                                   withMarker(javaProvenanceMarkers, mainSourceSet));
+        JavaSourceSet testSourceSet = testParser.sourceSet();
+        sourceFiles.addAll(testJavaSources);
 
         // --------
-        // Main Java sources
-        javaParser.setSourceSet("main");
-        List<Resource> mainJavaSources = getJavaSources(projectDirectory, resources, pomXml);
-        List<Parser.Input> mainJavaSourcesInput = mainJavaSources.stream().map(js -> {
+        // Test resources
+        sourceFiles.addAll(parseResources(projectDirectory, resources, relativeModuleDir, TEST_RESOURCE_PATHS,
+                                          javaProvenanceMarkers, testSourceSet, gitProvenance));
+        return sourceFiles;
+    }
+
+    /**
+     * Parse all modules concurrently on a bounded pool.
+     * <p>
+     * Parsing a module only requires its own resolved dependencies, the modules are therefore independent of each other
+     * and all of them are submitted at once. Modules parsed at the same time with the same classpath use different
+     * pooled compilers, and the resources of a module are parsed while its Java sources are parsed.
+     * The returned list has the same order as the sequential parse.
+     */
+    private List<SourceFile> parseModulesInParallel(Path projectDirectory, List<Resource> resources, @Nullable GitProvenance gitProvenance, List<Xml.Document> mavens) {
+        ExecutorService executor = Executors.newFixedThreadPool(getParsingThreads());
+        try {
+            List<CompletableFuture<List<SourceFile>>> modules = mavens.stream()
+                    .map(pomXml -> parseModuleAsync(projectDirectory, resources, gitProvenance, pomXml, executor))
+                    .toList();
+            List<SourceFile> sourceFiles = new ArrayList<>();
+            for (CompletableFuture<List<SourceFile>> module : modules) {
+                sourceFiles.addAll(module.join());
+            }
+            return sourceFiles;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ProjectParserException("Could not parse project in '%s'.".formatted(projectDirectory), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<List<SourceFile>> parseModuleAsync(Path projectDirectory, List<Resource> resources, @Nullable GitProvenance gitProvenance, Xml.Document pomXml, ExecutorService executor) {
+        List<Marker> javaProvenanceMarkers = javaProvenanceMarkerFactory.createJavaProvenanceMarkers(pomXml,
+                                                                                                     projectDirectory,
+                                                                                                     executionContext);
+        Xml.Document mavenWithMarkers = addMarkers(pomXml, javaProvenanceMarkers);
+        Path relativeModuleDir = mavenWithMarkers.getSourcePath().getParent();
+
+        CompletableFuture<ConfiguredJavaParser> mainParser = CompletableFuture.supplyAsync(
+                () -> createJavaParser(mavenWithMarkers, Scope.Provided, "main"), executor);
+        CompletableFuture<ConfiguredJavaParser> testParser = CompletableFuture.supplyAsync(
+                () -> createJavaParser(mavenWithMarkers, Scope.Test, "test"), executor);
+
+        CompletableFuture<List<J.CompilationUnit>> mainJavaSources = mainParser.thenApplyAsync(
+                main -> parseJavaSources(projectDirectory, getJavaSources(projectDirectory, resources, pomXml),
+                                         main.javaParser(), javaProvenanceMarkers), executor);
+        CompletableFuture<List<SourceFile>> mainResources = mainParser.thenApplyAsync(
+                main -> parseResources(projectDirectory, resources, relativeModuleDir, MAIN_RESOURCE_PATHS,
+                                       javaProvenanceMarkers, main.sourceSet(), gitProvenance), executor);
+        CompletableFuture<List<J.CompilationUnit>> testJavaSources = testParser.thenCombineAsync(mainParser,
+                (test, main) -> parseJavaSources(projectDirectory, getTestJavaSources(projectDirectory, resources, pomXml),
+                                                 test.javaParser(), withMarker(javaProvenanceMarkers, main.sourceSet())), executor);
+        CompletableFuture<List<SourceFile>> testResources = testParser.thenApplyAsync(
+                test -> parseResources(projectDirectory, resources, relativeModuleDir, TEST_RESOURCE_PATHS,
+                                       javaProvenanceMarkers, test.sourceSet(), gitProvenance), executor);
+
+        return CompletableFuture.allOf(mainJavaSources, mainResources, testJavaSources, testResources)
+                .thenApply(v -> {
+                    List<SourceFile> sourceFiles = new ArrayList<>();
+                    sourceFiles.add(mavenWithMarkers);
+                    sourceFiles.addAll(mainJavaSources.join());
+                    sourceFiles.addAll(mainResources.join());
+                    sourceFiles.addAll(testJavaSources.join());
+                    sourceFiles.addAll(testResources.join());
+                    return sourceFiles;
+                });
+    }
+
+    private int getParsingThreads() {
+        int parsingThreads = sbmApplicationProperties.getParsingThreads();
+        return parsingThreads > 0 ? parsingThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * A pooled {@link JavaParser} with the classpath of given {@code scope} and given {@code sourceSet}, see {@link JavaParserPool}.
+     */
+    private ConfiguredJavaParser createJavaParser(Xml.Document mavenWithMarkers, Scope scope, String sourceSet) {
+        JavaParser javaParser = createJavaParser(getClasspath(mavenWithMarkers, scope), sourceSet);
+        return new ConfiguredJavaParser(javaParser, javaParser.getSourceSet(executionContext));
+    }
+
+    /**
+     * A pooled {@link JavaParser} with given {@code classpath} and {@code sourceSet}, configured like the parsers of the scan.
+     */
+    JavaParser createJavaParser(List<Path> classpath, String sourceSet) {
+        JavaParser javaParser = JavaParserPool.getInstance().getJavaParser(classpath, sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors());
+        javaParser.setSourceSet(sourceSet);
+        return javaParser;
+    }
+
+    /**
+     * The classpath to parse the Java sources of the module with given {@code pomXml} for dependencies of given {@code scope}.
+     */
+    List<Path> getClasspath(Xml.Document pomXml, Scope scope) {
+        MavenResolutionResult mavenResolution = MavenBuildFileUtil.getMavenResolution(pomXml);
+        List<ResolvedDependency> resolvedDependencies = mavenResolution.getDependencies().get(scope);
+        return downloadArtifacts(resolvedDependencies);
+    }
+
+    private List<J.CompilationUnit> parseJavaSources(Path projectDirectory, List<Resource> javaSources, JavaParser javaParser, List<Marker> javaProvenanceMarkers) {
+        List<Parser.Input> javaSourcesInput = javaSources.stream().map(js -> {
             Path jsPath = getPath(js);
             return new Parser.Input(jsPath, () -> {
                 eventPublisher.publishEvent(new StartedScanningProjectResourceEvent(jsPath));
@@ -231,12 +307,26 @@ public class MavenProjectParser {
                 return content;
             });
         }).collect(Collectors.toList());
-        List<J.CompilationUnit> mainCompilationUnits = javaParser.parseInputs(mainJavaSourcesInput, projectDirectory, ctx);
+        List<J.CompilationUnit> compilationUnits = javaParser.parseInputs(javaSourcesInput, projectDirectory, executionContext);
         // FIXME: #7 JavaParser and adding markers is required when adding java sources and should go into dedicated component
-        mainCompilationUnits.stream().forEach(cu -> cu.getMarkers().getMarkers().addAll(javaProvenanceMarkers));
-        return mainCompilationUnits;
+        compilationUnits.forEach(cu -> cu.getMarkers().getMarkers().addAll(javaProvenanceMarkers));
+        return compilationUnits;
+    }
+
+    private List<SourceFile> parseResources(Path projectDirectory, List<Resource> resources, Path relativeModuleDir, Set<Path> resourcePaths, List<Marker> javaProvenanceMarkers, JavaSourceSet sourceSet, @Nullable GitProvenance gitProvenance) {
+        List<Resource> resourceList = resourceParser.filter(projectDirectory, resourcePaths, resources, relativeModuleDir);
+        List<Marker> resourceMarker = withMarker(javaProvenanceMarkers, sourceSet);
+        if(gitProvenance != null) {
+            resourceMarker.add(gitProvenance);
+        }
+        return resourceParser.parse(projectDirectory, resourceList, resourceMarker);
     }
 
+    private List<Marker> withMarker(List<Marker> markers, Marker marker) {
+        List<Marker> result = new ArrayList<>(markers);
+        result.add(marker);
+        return result;
+    }
 
     public static List<Resource> filterMavenPoms(List<Resource> resources) {
         return resources
@@ -274,16 +364,16 @@ public class MavenProjectParser {
 
         eventPublisher.publishEvent(new StartDownloadingDependenciesEvent(dependencies.size()));
 
-
-        List<Path> paths = dependencies
+        List<ResolvedDependency> externalDependencies = dependencies
                 .stream()
                 .filter(d -> d.getRepository() != null)
-                .peek(d -> eventPublisher.publishEvent(new StartDownloadingDependencyEvent(d.getRequested())))
-//                .parallel()
-                .map(artifactDownloader::downloadArtifact)
-                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
+        List<Path> paths = new ArrayList<>(artifactDownloader.downloadArtifacts(
+                externalDependencies,
+                d -> eventPublisher.publishEvent(new StartDownloadingDependencyEvent(d.getRequested()))
+        ).values());
+
         eventPublisher.publishEvent(new FinishedDownloadingDependencies());
 
         return paths;
@@ -341,6 +431,9 @@ public class MavenProjectParser {
         return sorted;
     }
 
+    private record ConfiguredJavaParser(JavaParser javaParser, JavaSourceSet sourceSet) {
+    }
+
     private static Path getPath(Resource r) {
         try {
             return r.getFile().toPath();
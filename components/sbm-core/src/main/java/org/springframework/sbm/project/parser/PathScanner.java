@@ -16,50 +16,167 @@
 package org.springframework.sbm.project.parser;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.ignore.IgnoreNode;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
-import org.springframework.sbm.project.resource.ResourceHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.util.PathMatcher;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PathScanner {
 
+	private static final String ANY_SUBPATH = "/**";
+
 	private final SbmApplicationProperties sbmApplicationProperties;
-	private final ResourceHelper resourceHelper;
 	private final PathMatcher pathMatcher = new OsAgnosticPathMatcher();
 
+	/**
+	 * Walk the tree under {@code projectRoot} and return all files not ignored.
+	 *
+	 * Directories matched by a {@code sbm.ignoredPathsPatterns} ending with {@code /**} are not descended into.
+	 * With {@code sbm.gitIgnoreSupportEnabled} the rules of {@code .gitignore} files are applied as well.
+	 * Symbolic links are followed, links forming a cycle and links to anything but a directory or regular file are skipped.
+	 */
 	public List<Resource> scan(Path projectRoot) {
-		String pattern = "%s/**".formatted(projectRoot.toAbsolutePath().toUri());
-		Resource[] resources = resourceHelper.loadResources(pattern);
+		Path root = projectRoot.toAbsolutePath().normalize();
+		List<Path> files = new ArrayList<>();
+		try {
+			Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new PruningFileVisitor(root, files));
+		}
+		catch (IOException e) {
+			throw new ProjectParserException(String.format("Error scanning project root '%s'", root), e);
+		}
+		return files.stream()
+				.sorted()
+				.map(p -> (Resource) new FileSystemResource(p))
+				.toList();
+	}
+
+	/**
+	 * Whether the given absolute {@code path} matches any of the {@code sbm.ignoredPathsPatterns}.
+	 */
+	public boolean isIgnored(Path projectRoot, Path path) {
+		return sbmApplicationProperties.getIgnoredPathsPatterns().stream()
+				.anyMatch(ir -> pathMatcher.match(ir, projectRoot.relativize(path).toString()));
+	}
 
-		return Arrays.stream(resources)
-				.filter(p -> this.isRelevant(projectRoot, getPath(p)))
-				.collect(Collectors.toList());
+	/**
+	 * Whether all paths below the given absolute {@code directory} are ignored by {@code sbm.ignoredPathsPatterns}.
+	 */
+	boolean isIgnoredDirectory(Path projectRoot, Path directory) {
+		String relativePath = projectRoot.relativize(directory).toString();
+		return sbmApplicationProperties.getIgnoredPathsPatterns().stream()
+				.filter(ir -> ir.endsWith(ANY_SUBPATH))
+				.map(ir -> ir.substring(0, ir.length() - ANY_SUBPATH.length()))
+				.anyMatch(ir -> pathMatcher.match(ir, relativePath));
 	}
 
-	private boolean isRelevant(Path projectRoot, Path givenResource) {
-		if (givenResource.toFile().isDirectory()) {
+	private class PruningFileVisitor extends SimpleFileVisitor<Path> {
+
+		private final Path projectRoot;
+		private final List<Path> files;
+		private final Deque<GitIgnoreRules> gitIgnoreRules = new ArrayDeque<>();
+
+		PruningFileVisitor(Path projectRoot, List<Path> files) {
+			this.projectRoot = projectRoot;
+			this.files = files;
+		}
+
+		@Override
+		public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+			if (!dir.equals(projectRoot) && (isIgnoredDirectory(projectRoot, dir) || isGitIgnored(dir, true))) {
+				return FileVisitResult.SKIP_SUBTREE;
+			}
+			if (sbmApplicationProperties.isGitIgnoreSupportEnabled()) {
+				gitIgnoreRules.push(GitIgnoreRules.read(dir));
+			}
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+			if (sbmApplicationProperties.isGitIgnoreSupportEnabled()) {
+				gitIgnoreRules.pop();
+			}
+			if (exc != null) {
+				throw exc;
+			}
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+			if (attrs.isRegularFile() && !isIgnored(projectRoot, file) && !isGitIgnored(file, false)) {
+				files.add(file);
+			}
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult visitFileFailed(Path file, IOException exc) {
+			if (exc instanceof FileSystemLoopException) {
+				log.debug("Skipping '%s' which links to one of its parent directories.".formatted(file));
+				return FileVisitResult.CONTINUE;
+			}
+			log.warn("Could not read '%s' while scanning the project: %s".formatted(file, exc.getMessage()));
+			return FileVisitResult.CONTINUE;
+		}
+
+		/**
+		 * The rules of the closest {@code .gitignore} matching the path win, like in git.
+		 */
+		private boolean isGitIgnored(Path path, boolean isDirectory) {
+			Iterator<GitIgnoreRules> rules = gitIgnoreRules.iterator();
+			while (rules.hasNext()) {
+				Boolean ignored = rules.next().checkIgnored(path, isDirectory);
+				if (ignored != null) {
+					return ignored;
+				}
+			}
 			return false;
 		}
-		return sbmApplicationProperties.getIgnoredPathsPatterns().stream()
-				.noneMatch(ir -> pathMatcher.match(ir, projectRoot.relativize(givenResource).toString()));
 	}
 
-	private Path getPath(Resource r) {
-		try {
-			return r.getFile().toPath().toAbsolutePath().normalize();
+	private record GitIgnoreRules(Path directory, IgnoreNode ignoreNode) {
+
+		static GitIgnoreRules read(Path directory) throws IOException {
+			IgnoreNode ignoreNode = new IgnoreNode();
+			Path gitIgnoreFile = directory.resolve(".gitignore");
+			if (Files.isRegularFile(gitIgnoreFile)) {
+				try (InputStream in = Files.newInputStream(gitIgnoreFile)) {
+					ignoreNode.parse(in);
+				}
+			}
+			return new GitIgnoreRules(directory, ignoreNode);
 		}
-		catch (IOException e) {
-			throw new ProjectParserException(String.format("Error retrieving path for Resource '%s'", r), e);
+
+		Boolean checkIgnored(Path path, boolean isDirectory) {
+			if (ignoreNode.getRules().isEmpty()) {
+				return null;
+			}
+			String relativePath = directory.relativize(path).toString().replace('\\', '/');
+			return ignoreNode.checkIgnored(relativePath, isDirectory);
 		}
 	}
 
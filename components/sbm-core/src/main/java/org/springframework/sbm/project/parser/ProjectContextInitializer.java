@@ -43,13 +43,14 @@ public class ProjectContextInitializer {
     private final GitSupport gitSupport;
 
     private final RewriteSourceFileWrapper rewriteSourceFileWrapper;
+    private final ProjectSnapshotCache projectSnapshotCache;
 
     public ProjectContext initProjectContext(Path projectDir, List<Resource> resources) {
         final Path absoluteProjectDir = projectDir.toAbsolutePath().normalize();
         // TODO: remove git initialization, handled by precondition check
         initializeGitRepoIfNoneExists(absoluteProjectDir);
 
-        List<SourceFile> parsedResources = mavenProjectParser.parse(absoluteProjectDir, resources);
+        List<SourceFile> parsedResources = parse(absoluteProjectDir, resources);
         List<RewriteSourceFileHolder<? extends SourceFile>> rewriteSourceFileHolders = rewriteSourceFileWrapper.wrapRewriteSourceFiles(absoluteProjectDir, parsedResources);
 
         ProjectResourceSet projectResourceSet = new ProjectResourceSet(rewriteSourceFileHolders);
@@ -60,6 +61,17 @@ public class ProjectContextInitializer {
         return projectContext;
     }
 
+    private List<SourceFile> parse(Path absoluteProjectDir, List<Resource> resources) {
+        Optional<List<SourceFile>> snapshot = projectSnapshotCache.load(absoluteProjectDir, resources);
+        if (snapshot.isPresent()) {
+            mavenProjectParser.initializeExecutionContext(resources);
+            return snapshot.get();
+        }
+        List<SourceFile> parsedResources = mavenProjectParser.parse(absoluteProjectDir, resources);
+        projectSnapshotCache.store(absoluteProjectDir, resources, parsedResources);
+        return parsedResources;
+    }
+
     public void storeGitCommitHash(Path projectDir, ProjectContext projectContext) {
         if (gitSupport.repoExists(projectDir.toFile())) {
             Optional<Commit> latestCommit = gitSupport.getLatestCommit(projectDir.toFile());
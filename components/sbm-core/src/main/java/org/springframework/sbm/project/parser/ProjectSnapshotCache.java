@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.SourceFile;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of the {@link SourceFile}s parsed for a project.
+ * <p>
+ * A snapshot is keyed by the path, size and modification time of every scanned resource and the Maven settings.
+ * Together with the snapshot the modification times of the local repository directories of all resolved dependencies
+ * are stored, a snapshot is only restored when none of these changed, e.g. because a SNAPSHOT dependency was updated.
+ * Restoring a snapshot replaces parsing the project again, which requires Maven resolution and type attribution.
+ * Snapshots are stored per project below {@code sbm.lstCacheDir} and only the latest snapshot of a project is kept.
+ */
+@Slf4j
+@Component
+public class ProjectSnapshotCache {
+
+    private static final String FORMAT_VERSION = "2";
+    private static final String SNAPSHOT_EXTENSION = ".lst";
+    private static final TypeReference<List<SourceFile>> SOURCE_FILES_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Long>> DEPENDENCY_STATE_TYPE = new TypeReference<>() {};
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final ObjectMapper objectMapper;
+    private final Path localRepository = Path.of(System.getProperty("user.home")).resolve(".m2/repository");
+    private final Path mavenSettings = Path.of(System.getProperty("user.home")).resolve(".m2/settings.xml");
+
+    public ProjectSnapshotCache(SbmApplicationProperties sbmApplicationProperties) {
+        this.sbmApplicationProperties = sbmApplicationProperties;
+        this.objectMapper = SmileMapper.builder()
+                .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .addModule(new ParameterNamesModule())
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+                .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .visibility(PropertyAccessor.CREATOR, JsonAutoDetect.Visibility.PUBLIC_ONLY)
+                .build();
+    }
+
+    /**
+     * Restore the {@code SourceFile}s of the project in {@code projectDir} when a snapshot exists for its current state.
+     */
+    public Optional<List<SourceFile>> load(Path projectDir, List<Resource> resources) {
+        if (!sbmApplicationProperties.isLstCacheEnabled()) {
+            return Optional.empty();
+        }
+        Optional<Path> snapshot = getSnapshotFile(projectDir, resources).filter(Files::isRegularFile);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(snapshot.get()));
+             JsonParser parser = objectMapper.createParser(is)) {
+            Map<String, Long> dependencyState = objectMapper.readerFor(DEPENDENCY_STATE_TYPE).readValue(parser);
+            if (!dependencyState.equals(getDependencyState(dependencyState.keySet()))) {
+                log.debug("Dependencies of snapshot '%s' changed, project will be parsed.".formatted(snapshot.get()));
+                return Optional.empty();
+            }
+            parser.nextToken();
+            List<SourceFile> sourceFiles = objectMapper.readerFor(SOURCE_FILES_TYPE).readValue(parser);
+            log.debug("Restored %d source files from snapshot '%s'.".formatted(sourceFiles.size(), snapshot.get()));
+            return Optional.of(sourceFiles);
+        } catch (Exception e) {
+            log.warn("Could not restore snapshot '%s', project will be parsed.".formatted(snapshot.get()), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store {@code sourceFiles} as snapshot of the current state of the project in {@code projectDir}.
+     */
+    public void store(Path projectDir, List<Resource> resources, List<SourceFile> sourceFiles) {
+        if (!sbmApplicationProperties.isLstCacheEnabled()) {
+            return;
+        }
+        Optional<Path> snapshot = getSnapshotFile(projectDir, resources);
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        Path snapshotFile = snapshot.get();
+        Path tempFile = null;
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            tempFile = Files.createTempFile(snapshotFile.getParent(), "snapshot", ".tmp");
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(tempFile));
+                 JsonGenerator generator = objectMapper.createGenerator(os)) {
+                objectMapper.writerFor(DEPENDENCY_STATE_TYPE).writeValue(generator, getDependencyState(getDependencyDirectories(sourceFiles)));
+                objectMapper.writerFor(SOURCE_FILES_TYPE).writeValue(generator, sourceFiles);
+            }
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteOutdatedSnapshots(snapshotFile);
+        } catch (Exception e) {
+            log.warn("Could not store snapshot '%s'.".formatted(snapshotFile), e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    Optional<Path> getSnapshotFile(Path projectDir, List<Resource> resources) {
+        Path absoluteProjectDir = projectDir.toAbsolutePath().normalize();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, FORMAT_VERSION);
+            update(digest, getFileState(mavenSettings));
+            List<Path> paths = resources.stream()
+                    .map(ProjectSnapshotCache::getPath)
+                    .sorted()
+                    .toList();
+            for (Path path : paths) {
+                update(digest, absoluteProjectDir.relativize(path).toString());
+                update(digest, getFileState(path));
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            return Optional.of(getProjectCacheDir(absoluteProjectDir).resolve(key + SNAPSHOT_EXTENSION));
+        } catch (NoSuchAlgorithmException | IOException e) {
+            log.warn("Could not calculate snapshot key for '%s'.".formatted(absoluteProjectDir), e);
+            return Optional.empty();
+        }
+    }
+
+    private String getFileState(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return "-";
+        }
+        return Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+    }
+
+    /**
+     * The directories in the local Maven repository holding the artifacts of the dependencies resolved for the
+     * build files in {@code sourceFiles}.
+     */
+    private Set<String> getDependencyDirectories(List<SourceFile> sourceFiles) {
+        return sourceFiles.stream()
+                .filter(Xml.Document.class::isInstance)
+                .flatMap(s -> s.getMarkers().findFirst(MavenResolutionResult.class).stream())
+                .flatMap(r -> r.getDependencies().values().stream())
+                .flatMap(List::stream)
+                .filter(d -> d.getRepository() != null)
+                .map(this::getDependencyDirectory)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private String getDependencyDirectory(ResolvedDependency dependency) {
+        return localRepository.resolve(dependency.getGroupId().replace('.', '/'))
+                .resolve(dependency.getArtifactId())
+                .resolve(dependency.getVersion())
+                .toString();
+    }
+
+    /**
+     * Modification time of each directory, directories change when artifacts are downloaded or updated.
+     */
+    private Map<String, Long> getDependencyState(Set<String> directories) throws IOException {
+        Map<String, Long> state = new TreeMap<>();
+        for (String directory : directories) {
+            Path path = Path.of(directory);
+            state.put(directory, Files.isDirectory(path) ? Files.getLastModifiedTime(path).toMillis() : -1L);
+        }
+        return state;
+    }
+
+    private Path getProjectCacheDir(Path absoluteProjectDir) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        update(digest, absoluteProjectDir.toString());
+        return Path.of(sbmApplicationProperties.getLstCacheDir()).resolve(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private void deleteOutdatedSnapshots(Path snapshotFile) throws IOException {
+        try (Stream<Path> snapshots = Files.list(snapshotFile.getParent())) {
+            snapshots.filter(p -> p.getFileName().toString().endsWith(SNAPSHOT_EXTENSION))
+                    .filter(p -> !p.equals(snapshotFile))
+                    .forEach(this::deleteQuietly);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete '%s'.".formatted(path), e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static Path getPath(Resource r) {
+        try {
+            return r.getFile().toPath().toAbsolutePath().normalize();
+        } catch (IOException e) {
+            throw new ProjectParserException("Error retrieving path for Resource '%s'".formatted(r), e);
+        }
+    }
+}
@@ -17,15 +17,48 @@ package org.springframework.sbm.project.resource;
 
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Arrays;
+import java.util.UUID;
 
 @Component
 public class ProjectResourceSerializer {
 
-    public void writeChanges(InternalProjectResource projectResource) {
+    /**
+     * Outcome of writing back a single resource.
+     */
+    public record WriteResult(Status status, long writtenBytes) {
+
+        public enum Status {
+            /** Resource had no changes. */
+            UNCHANGED,
+            /** Resource was written to disk. */
+            WRITTEN,
+            /** Resource had changes but its printed content is byte-identical to the file on disk. */
+            IDENTICAL,
+            /** Resource was deleted from disk. */
+            DELETED
+        }
+
+        private static final WriteResult UNCHANGED = new WriteResult(Status.UNCHANGED, 0);
+        private static final WriteResult IDENTICAL = new WriteResult(Status.IDENTICAL, 0);
+        private static final WriteResult DELETED = new WriteResult(Status.DELETED, 0);
+    }
+
+    /**
+     * Write the given resource back to disk if it has changes.
+     * <p>
+     * Content is written to a temporary file next to the target which is then moved over the target,
+     * readers never see a partially written file. Files with byte-identical content are not touched.
+     */
+    public WriteResult writeChanges(InternalProjectResource projectResource) {
 
         if (projectResource != null && projectResource.hasChanges()) {
 
@@ -36,6 +69,7 @@ public class ProjectResourceSerializer {
                     if(Files.exists(absolutePath)) {
                         Files.delete(absolutePath);
                     }
+                    return WriteResult.DELETED;
                 } catch (IOException ioe) {
                     throw new RuntimeException("Can't delete file [" + absolutePath + "]", ioe);
                 }
@@ -46,15 +80,47 @@ public class ProjectResourceSerializer {
                     throw new RuntimeException(e);
                 }
 
-                try (BufferedWriter sourceFileWriter = Files.newBufferedWriter(absolutePath)) {
-                    String newSource = projectResource.print();
-                    sourceFileWriter.write(newSource);
+                try {
+                    byte[] newSource = projectResource.print().getBytes(StandardCharsets.UTF_8);
+                    WriteResult result;
+                    if (hasSameContent(absolutePath, newSource)) {
+                        result = WriteResult.IDENTICAL;
+                    } else {
+                        writeAtomically(absolutePath, newSource);
+                        result = new WriteResult(WriteResult.Status.WRITTEN, newSource.length);
+                    }
                     projectResource.resetHasChanges();
+                    return result;
                 } catch (IOException ioe) {
                     throw new RuntimeException("Can't write back changes in [" + absolutePath + "]", ioe);
                 }
             }
 
         }
+        return WriteResult.UNCHANGED;
+    }
+
+    private boolean hasSameContent(Path absolutePath, byte[] newSource) throws IOException {
+        return Files.isRegularFile(absolutePath)
+                && Files.size(absolutePath) == newSource.length
+                && Arrays.equals(Files.readAllBytes(absolutePath), newSource);
+    }
+
+    private void writeAtomically(Path absolutePath, byte[] newSource) throws IOException {
+        // not using Files.createTempFile as it creates files readable by the owner only
+        Path tempFile = absolutePath.resolveSibling("." + absolutePath.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(tempFile, newSource, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            if (Files.exists(absolutePath) && Files.getFileStore(absolutePath).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(absolutePath));
+            }
+            try {
+                Files.move(tempFile, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
     }
 }
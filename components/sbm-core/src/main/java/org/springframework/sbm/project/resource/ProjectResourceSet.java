@@ -18,81 +18,420 @@ package org.springframework.sbm.project.resource;
 import org.openrewrite.SourceFile;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
+/**
+ * The resources of a project.
+ * <p>
+ * All access to the resources and their indexes is synchronized as lookups and modifications can happen concurrently,
+ * e.g. during parallel recipe evaluation. {@link #list()} and {@link #stream()} return a snapshot of the resources.
+ */
 // TODO: make package private
 public class ProjectResourceSet {
 
+    /**
+     * The resources, removed resources leave a {@code null} slot until the list is compacted,
+     * see {@link #compactIfNeeded()}, which keeps the positions of all other resources stable.
+     */
     private final List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = new ArrayList<>();
 
+    /**
+     * Ascending positions of resources in {@link #projectResources} by their absolute path, the first resource not deleted wins.
+     * <p>
+     * Resources notify the set owning them when they are moved, deleted or their {@code SourceFile} is replaced,
+     * see {@link #attachResources()}, and only the entries of the modified resource are updated then.
+     * Sets not owning their resources can't know about these modifications and look up resources by scanning.
+     */
+    private final Map<Path, List<Integer>> positionsByAbsolutePath = new HashMap<>();
+    private final Map<UUID, List<Integer>> positionsBySourceFileId = new HashMap<>();
+    /**
+     * Ascending positions of resources in {@link #projectResources} by the type of the resource wrapper.
+     */
+    private final Map<Class<?>, List<Integer>> positionsByWrapperType = new HashMap<>();
+    /**
+     * Number of {@code null} slots in {@link #projectResources}.
+     */
+    private int removedCount;
+    /**
+     * Counts resources being added, removed, replaced, moved or deleted.
+     */
+    private long structuralModificationCount;
+    /**
+     * Counts {@code SourceFile}s being replaced in resources, by type of the {@code SourceFile}.
+     */
+    private final Map<Class<?>, Long> modificationCountByType = new HashMap<>();
+    /**
+     * Whether this set owns its resources and gets notified about their modifications, see {@link #attachResources()}.
+     */
+    private boolean attached;
+
     public ProjectResourceSet(List<RewriteSourceFileHolder<? extends SourceFile>> projectResources) {
         this.projectResources.addAll(projectResources);
+        reindex();
     }
 
     public ProjectResourceSet() {
     }
 
-    public List<RewriteSourceFileHolder<? extends SourceFile>> list() {
-        return stream().toList();
+    public synchronized List<RewriteSourceFileHolder<? extends SourceFile>> list() {
+        return projectResources.stream()
+                .filter(r -> r != null && !r.isDeleted())
+                .toList();
     }
 
     public Stream<RewriteSourceFileHolder<? extends SourceFile>> stream() {
-        return projectResources.stream().filter(r -> r != null && !r.isDeleted());
+        return list().stream();
+    }
+
+    /**
+     * Make this set the owner of its current and future resources, modifications of the resources are counted by this set.
+     * <p>
+     * Only the set of a {@code ProjectContext} must own resources. Sets created temporarily from resources of
+     * another set, e.g. to search a subset, must not take over the notifications of the owning set.
+     */
+    public synchronized void attachResources() {
+        attached = true;
+        projectResources.stream()
+                .filter(Objects::nonNull)
+                .forEach(r -> r.attachTo(this));
+    }
+
+    /**
+     * Whether this set owns its resources, only then {@link #getModificationCount()} also reflects modifications
+     * of the resources themselves.
+     */
+    public synchronized boolean ownsResources() {
+        return attached;
     }
 
-    public ProjectResource get(int index) {
-        return list().get(index);
+    /**
+     * The {@code index}-th (not deleted) resource.
+     */
+    public synchronized ProjectResource get(int index) {
+        int remaining = index;
+        for (RewriteSourceFileHolder<? extends SourceFile> resource : projectResources) {
+            if (resource != null && !resource.isDeleted() && remaining-- == 0) {
+                return resource;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index %d out of bounds for %d resources".formatted(index, index - remaining));
     }
 
-    public void add(RewriteSourceFileHolder<? extends SourceFile> newResource) {
+    public synchronized void add(RewriteSourceFileHolder<? extends SourceFile> newResource) {
         projectResources.add(newResource);
+        structuralModificationCount++;
+        if (newResource == null) {
+            removedCount++;
+        } else {
+            index(projectResources.size() - 1, newResource);
+        }
     }
 
-    public void replace(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
-        projectResources.set(index, newResource);
+    public synchronized void replace(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
+        set(index, newResource);
+        structuralModificationCount++;
     }
 
-    public void replace(Path path, RewriteSourceFileHolder<? extends SourceFile> newResource) {
+    public synchronized void replace(Path path, RewriteSourceFileHolder<? extends SourceFile> newResource) {
         int index = indexOf(path);
-        projectResources.set(index, newResource);
+        replace(index, newResource);
     }
 
-    public int size() {
-        return projectResources.size();
+    /**
+     * Replace every (not deleted) resource with the result of {@code mapper} in a single pass.
+     * <p>
+     * Resources for which {@code mapper} returns the given instance are kept, only the index entries of replaced
+     * resources are updated.
+     */
+    public synchronized void replaceAll(UnaryOperator<RewriteSourceFileHolder<? extends SourceFile>> mapper) {
+        boolean replaced = false;
+        for (int i = 0; i < projectResources.size(); i++) {
+            RewriteSourceFileHolder<? extends SourceFile> current = projectResources.get(i);
+            if (current == null || current.isDeleted()) {
+                continue;
+            }
+            RewriteSourceFileHolder<? extends SourceFile> replacement = mapper.apply(current);
+            if (replacement != current) {
+                set(i, replacement);
+                replaced = true;
+            }
+        }
+        if (replaced) {
+            structuralModificationCount++;
+        }
     }
 
-//    /**
-//     * @deprecated use {@link ProjectContext#getFilteredResources(ProjectResourcesFilter)}
-//     * with {@link org.springframework.sbm.project.resource.filter.GenericTypeFilter}
-//     */
-//    @Deprecated(forRemoval = true)
-//    public <T> List<RewriteSourceFileHolder<T>> getProjections(Class<T> projectionClass) {
-//        return typeFilteredList(projectionClass);
-//    }
+    /**
+     * Remove the resource at given {@code absolutePath} without marking it as deleted.
+     * <p>
+     * Used when the file was already removed on disk and the resource must not be written back.
+     */
+    public synchronized void remove(Path absolutePath) {
+        int index = indexOf(absolutePath);
+        if (index != -1) {
+            removeAt(index);
+            structuralModificationCount++;
+            compactIfNeeded();
+        }
+    }
 
-    public int indexOf(Path absolutePath) {
-        return projectResources.stream()
-                .map(ProjectResource::getAbsolutePath)
-                .collect(Collectors.toList())
-                .indexOf(absolutePath);
+    /**
+     * The number of modifications made to this set and its resources, changes with every modification.
+     * <p>
+     * Allows to cache results computed from the resources and to find out if they are outdated.
+     */
+    public synchronized long getModificationCount() {
+        return structuralModificationCount + modificationCountByType.values().stream().mapToLong(Long::longValue).sum();
     }
 
-    void clearDeletedResources() {
-        Iterator<RewriteSourceFileHolder<? extends SourceFile>> iterator = this.projectResources.iterator();
-        while(iterator.hasNext()) {
-            RewriteSourceFileHolder<? extends SourceFile> current = iterator.next();
-            if(current.isDeleted()) {
-                iterator.remove();
+    /**
+     * The number of resources added, removed, replaced, moved or deleted.
+     */
+    public synchronized long getStructuralModificationCount() {
+        return structuralModificationCount;
+    }
+
+    /**
+     * The number of times a {@code SourceFile} of given {@code type} was replaced in one of the resources.
+     */
+    public synchronized long getModificationCount(Class<? extends SourceFile> type) {
+        return modificationCountByType.getOrDefault(type, 0L);
+    }
+
+    synchronized void resourceMoved(RewriteSourceFileHolder<? extends SourceFile> resource, Path previousAbsolutePath) {
+        structuralModificationCount++;
+        updateIndex(resource, previousAbsolutePath, resource.getId());
+    }
+
+    synchronized void resourceDeleted(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        // deleted resources keep their index entries, lookups skip them
+        structuralModificationCount++;
+    }
+
+    synchronized void sourceFileReplaced(RewriteSourceFileHolder<? extends SourceFile> resource, SourceFile previousSourceFile, Path previousAbsolutePath) {
+        Class<? extends SourceFile> type = resource.getType();
+        if (previousSourceFile != null && previousSourceFile.getClass() != type) {
+            modificationCountByType.merge(previousSourceFile.getClass(), 1L, Long::sum);
+        }
+        modificationCountByType.merge(type, 1L, Long::sum);
+        if (previousSourceFile != null
+                && (!previousAbsolutePath.equals(resource.getAbsolutePath()) || !previousSourceFile.getId().equals(resource.getId()))) {
+            updateIndex(resource, previousAbsolutePath, previousSourceFile.getId());
+        }
+    }
+
+    public synchronized int size() {
+        return projectResources.size() - removedCount;
+    }
+
+    public synchronized int indexOf(Path absolutePath) {
+        if (!attached) {
+            return scanFor(absolutePath, RewriteSourceFileHolder::getAbsolutePath, false);
+        }
+        return lookup(positionsByAbsolutePath, absolutePath, RewriteSourceFileHolder::getAbsolutePath, false);
+    }
+
+    /**
+     * Find the (not deleted) resource with given {@code absolutePath}.
+     */
+    public synchronized Optional<RewriteSourceFileHolder<? extends SourceFile>> findByAbsolutePath(Path absolutePath) {
+        return find(positionsByAbsolutePath, absolutePath.normalize(), RewriteSourceFileHolder::getAbsolutePath);
+    }
+
+    /**
+     * Find the (not deleted) resource wrapping the {@code SourceFile} with given {@code id}.
+     */
+    public synchronized Optional<RewriteSourceFileHolder<? extends SourceFile>> findById(UUID id) {
+        return find(positionsBySourceFileId, id, RewriteSourceFileHolder::getId);
+    }
+
+    private <K> Optional<RewriteSourceFileHolder<? extends SourceFile>> find(Map<K, List<Integer>> index, K key, Function<RewriteSourceFileHolder<? extends SourceFile>, K> keyOf) {
+        int position = attached ? lookup(index, key, keyOf, true) : scanFor(key, keyOf, true);
+        return position == -1 ? Optional.empty() : Optional.of(projectResources.get(position));
+    }
+
+    /**
+     * The first indexed position holding a resource not deleted with given {@code key}, or the first deleted one
+     * if not {@code liveOnly}.
+     * Owned resources notify about all modifications, a position not holding a resource with given {@code key}
+     * means a resource was modified bypassing {@link RewriteSourceFileHolder} and is repaired by re-indexing.
+     */
+    private <K> int lookup(Map<K, List<Integer>> index, K key, Function<RewriteSourceFileHolder<? extends SourceFile>, K> keyOf, boolean liveOnly) {
+        List<Integer> positions = index.get(key);
+        if (positions == null) {
+            return -1;
+        }
+        int firstDeleted = -1;
+        for (int position : positions) {
+            RewriteSourceFileHolder<? extends SourceFile> candidate = position < projectResources.size() ? projectResources.get(position) : null;
+            if (candidate == null || !key.equals(keyOf.apply(candidate))) {
+                reindex();
+                return scanFor(key, keyOf, liveOnly);
+            }
+            if (!candidate.isDeleted()) {
+                return position;
+            }
+            if (firstDeleted == -1) {
+                firstDeleted = position;
             }
         }
+        return liveOnly ? -1 : firstDeleted;
     }
 
-    public Stream<RewriteSourceFileHolder<? extends SourceFile>> streamIncludingDeleted() {
-        return projectResources.stream();
+    private <K> int scanFor(K key, Function<RewriteSourceFileHolder<? extends SourceFile>, K> keyOf, boolean liveOnly) {
+        for (int i = 0; i < projectResources.size(); i++) {
+            RewriteSourceFileHolder<? extends SourceFile> candidate = projectResources.get(i);
+            if (candidate != null && (!liveOnly || !candidate.isDeleted()) && key.equals(keyOf.apply(candidate))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find all (not deleted) resources whose wrapper is of given {@code type}, in the order of this set.
+     */
+    public synchronized <T> List<T> findByWrapperType(Class<T> type) {
+        List<List<Integer>> matching = positionsByWrapperType.entrySet().stream()
+                .filter(e -> type.isAssignableFrom(e.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        if (matching.isEmpty()) {
+            return List.of();
+        }
+        Stream<Integer> positions = matching.size() == 1
+                ? matching.get(0).stream()
+                : matching.stream().flatMap(List::stream).sorted();
+        return positions
+                .map(projectResources::get)
+                .filter(r -> !r.isDeleted())
+                .map(type::cast)
+                .toList();
+    }
+
+    synchronized void clearDeletedResources() {
+        for (int i = 0; i < projectResources.size(); i++) {
+            RewriteSourceFileHolder<? extends SourceFile> current = projectResources.get(i);
+            if (current != null && current.isDeleted()) {
+                removeAt(i);
+            }
+        }
+        compactIfNeeded();
+    }
+
+    private void set(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
+        RewriteSourceFileHolder<? extends SourceFile> previous = projectResources.set(index, newResource);
+        if (previous != null) {
+            unindex(index, previous.getAbsolutePath(), previous.getId(), previous.getClass());
+            removedCount++;
+        }
+        if (newResource != null) {
+            index(index, newResource);
+            removedCount--;
+        }
+    }
+
+    private void removeAt(int index) {
+        RewriteSourceFileHolder<? extends SourceFile> removed = projectResources.set(index, null);
+        unindex(index, removed.getAbsolutePath(), removed.getId(), removed.getClass());
+        removedCount++;
+    }
+
+    /**
+     * Drop the {@code null} slots of removed resources once they make up half of the list.
+     * Compacting moves resources and requires re-indexing, which is amortized over the removals.
+     */
+    private void compactIfNeeded() {
+        if (removedCount > 0 && removedCount * 2 >= projectResources.size()) {
+            projectResources.removeIf(Objects::isNull);
+            reindex();
+        }
+    }
+
+    private void index(int position, RewriteSourceFileHolder<? extends SourceFile> resource) {
+        if (attached) {
+            resource.attachTo(this);
+        }
+        addPosition(positionsByAbsolutePath, resource.getAbsolutePath(), position);
+        addPosition(positionsBySourceFileId, resource.getId(), position);
+        addPosition(positionsByWrapperType, resource.getClass(), position);
+    }
+
+    private void unindex(int position, Path absolutePath, UUID id, Class<?> wrapperType) {
+        removePosition(positionsByAbsolutePath, absolutePath, position);
+        removePosition(positionsBySourceFileId, id, position);
+        removePosition(positionsByWrapperType, wrapperType, position);
+    }
+
+    /**
+     * Move the entries of a modified {@code resource} from its previous to its current path and id.
+     */
+    private void updateIndex(RewriteSourceFileHolder<? extends SourceFile> resource, Path previousAbsolutePath, UUID previousId) {
+        int position = positionOf(resource, previousId);
+        if (position == -1) {
+            reindex();
+            return;
+        }
+        removePosition(positionsByAbsolutePath, previousAbsolutePath, position);
+        removePosition(positionsBySourceFileId, previousId, position);
+        addPosition(positionsByAbsolutePath, resource.getAbsolutePath(), position);
+        addPosition(positionsBySourceFileId, resource.getId(), position);
+    }
+
+    private int positionOf(RewriteSourceFileHolder<? extends SourceFile> resource, UUID id) {
+        for (int position : positionsBySourceFileId.getOrDefault(id, List.of())) {
+            if (projectResources.get(position) == resource) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static <K> void addPosition(Map<K, List<Integer>> index, K key, int position) {
+        List<Integer> positions = index.computeIfAbsent(key, k -> new ArrayList<>(1));
+        int insertionPoint = Collections.binarySearch(positions, position);
+        if (insertionPoint < 0) {
+            positions.add(-insertionPoint - 1, position);
+        }
+    }
+
+    private static <K> void removePosition(Map<K, List<Integer>> index, K key, int position) {
+        List<Integer> positions = index.get(key);
+        if (positions == null) {
+            return;
+        }
+        int found = Collections.binarySearch(positions, position);
+        if (found >= 0) {
+            positions.remove(found);
+            if (positions.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private void reindex() {
+        positionsByAbsolutePath.clear();
+        positionsBySourceFileId.clear();
+        positionsByWrapperType.clear();
+        removedCount = 0;
+        for (int i = 0; i < projectResources.size(); i++) {
+            RewriteSourceFileHolder<? extends SourceFile> resource = projectResources.get(i);
+            if (resource == null) {
+                removedCount++;
+            } else {
+                index(i, resource);
+            }
+        }
+    }
+
+    public synchronized Stream<RewriteSourceFileHolder<? extends SourceFile>> streamIncludingDeleted() {
+        return projectResources.stream()
+                .filter(Objects::nonNull)
+                .toList()
+                .stream();
     }
 //
 //    public Stream<ProjectResource> filteredStream(ProjectResourceFilter filter) {
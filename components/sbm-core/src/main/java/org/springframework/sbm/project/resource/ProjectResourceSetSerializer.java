@@ -16,17 +16,109 @@
 package org.springframework.sbm.project.resource;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.SourceFile;
+import org.springframework.sbm.project.resource.ProjectResourceSerializer.WriteResult;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ProjectResourceSetSerializer {
 
+    /**
+     * Below this number of changed resources the thread pool costs more than it saves.
+     */
+    private static final int PARALLEL_WRITE_THRESHOLD = 16;
+
     private final ProjectResourceSerializer resourceSerializer;
+    private final SbmApplicationProperties sbmApplicationProperties;
+
+    /**
+     * Number of files written, left untouched and deleted together with the time it took.
+     */
+    public record WriteStatistics(int written, int identical, int deleted, long writtenBytes, long durationMillis) {
+        public double megabytesPerSecond() {
+            return durationMillis == 0 ? 0 : (writtenBytes / 1024d / 1024d) / (durationMillis / 1000d);
+        }
+    }
 
-    public void writeChanges(ProjectResourceSet projectResourceSet) {
+    /**
+     * Write all changed resources back to disk.
+     * <p>
+     * Deletions are applied first, so a resource replacing a deleted one at the same path is not removed again.
+     * Changed resources are then printed and written concurrently.
+     */
+    public WriteStatistics writeChanges(ProjectResourceSet projectResourceSet) {
+        long start = System.currentTimeMillis();
+        List<RewriteSourceFileHolder<? extends SourceFile>> deleted = new ArrayList<>();
+        List<RewriteSourceFileHolder<? extends SourceFile>> changed = new ArrayList<>();
         projectResourceSet.streamIncludingDeleted()
-                .forEach(resourceSerializer::writeChanges);
+                .filter(r -> r != null && r.hasChanges())
+                .forEach(r -> (r.isDeleted() ? deleted : changed).add(r));
+
+        List<WriteResult> results = new ArrayList<>();
+        deleted.forEach(r -> results.add(resourceSerializer.writeChanges(r)));
+        results.addAll(write(changed));
         projectResourceSet.clearDeletedResources();
+
+        WriteStatistics statistics = toStatistics(results, System.currentTimeMillis() - start);
+        if (statistics.written() + statistics.identical() + statistics.deleted() > 0) {
+            log.info("Wrote %d files (%d bytes, %.2f MB/s), skipped %d unchanged and deleted %d in %d ms.".formatted(
+                    statistics.written(), statistics.writtenBytes(), statistics.megabytesPerSecond(),
+                    statistics.identical(), statistics.deleted(), statistics.durationMillis()));
+        }
+        return statistics;
+    }
+
+    private List<WriteResult> write(List<RewriteSourceFileHolder<? extends SourceFile>> changed) {
+        int threads = getWriteThreads();
+        if (changed.size() < PARALLEL_WRITE_THRESHOLD || threads == 1) {
+            return changed.stream().map(resourceSerializer::writeChanges).toList();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, changed.size()));
+        try {
+            List<CompletableFuture<WriteResult>> futures = changed.stream()
+                    .map(r -> CompletableFuture.supplyAsync(() -> resourceSerializer.writeChanges(r), executor))
+                    .toList();
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private WriteStatistics toStatistics(List<WriteResult> results, long durationMillis) {
+        int written = 0;
+        int identical = 0;
+        int deleted = 0;
+        long writtenBytes = 0;
+        for (WriteResult result : results) {
+            switch (result.status()) {
+                case WRITTEN -> written++;
+                case IDENTICAL -> identical++;
+                case DELETED -> deleted++;
+                default -> {
+                }
+            }
+            writtenBytes += result.writtenBytes();
+        }
+        return new WriteStatistics(written, identical, deleted, writtenBytes, durationMillis);
+    }
+
+    private int getWriteThreads() {
+        int writeThreads = sbmApplicationProperties.getWriteThreads();
+        return writeThreads > 0 ? writeThreads : Runtime.getRuntime().availableProcessors();
     }
 }
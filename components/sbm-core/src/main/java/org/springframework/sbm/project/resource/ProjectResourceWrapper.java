@@ -17,8 +17,20 @@ package org.springframework.sbm.project.resource;
 
 import org.openrewrite.SourceFile;
 
+import java.util.Set;
+
 public interface ProjectResourceWrapper<TO extends RewriteSourceFileHolder<? extends SourceFile>> {
     boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder);
 
+    /**
+     * File extensions (without leading dot) of resources this wrapper can handle.
+     * <p>
+     * {@link ProjectResourceWrapperRegistry} only calls {@link #shouldHandle} for resources with one of these
+     * extensions. An empty set (the default) means resources with any extension are considered.
+     */
+    default Set<String> getSupportedFileExtensions() {
+        return Set.of();
+    }
+
     TO wrapRewriteSourceFileHolder(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder);
 }
@@ -19,8 +19,13 @@ import lombok.RequiredArgsConstructor;
 import org.openrewrite.SourceFile;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -28,7 +33,44 @@ public class ProjectResourceWrapperRegistry {
 
     private final List<ProjectResourceWrapper> projectResourceWrappers;
 
+    /**
+     * Candidate wrappers by file extension, keeping the order of {@link #projectResourceWrappers}.
+     */
+    private final Map<String, List<ProjectResourceWrapper>> wrappersByFileExtension = new ConcurrentHashMap<>();
+
     public Optional<ProjectResourceWrapper> findWrapper(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
-        return projectResourceWrappers.stream().filter(w -> w.shouldHandle(rewriteSourceFileHolder)).findFirst();
+        String fileExtension = getFileExtension(rewriteSourceFileHolder);
+        return wrappersByFileExtension.computeIfAbsent(fileExtension, this::findCandidates).stream()
+                .filter(w -> w.shouldHandle(rewriteSourceFileHolder))
+                .findFirst();
+    }
+
+    /**
+     * Wrap given {@code rewriteSourceFileHolder} with the first matching {@link ProjectResourceWrapper}
+     * or return it unchanged if none matches.
+     */
+    public RewriteSourceFileHolder<? extends SourceFile> wrap(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
+        return findWrapper(rewriteSourceFileHolder)
+                .map(w -> (RewriteSourceFileHolder<? extends SourceFile>) w.wrapRewriteSourceFileHolder(rewriteSourceFileHolder))
+                .orElse(rewriteSourceFileHolder);
+    }
+
+    private List<ProjectResourceWrapper> findCandidates(String fileExtension) {
+        return projectResourceWrappers.stream()
+                .filter(w -> {
+                    Set<String> supportedFileExtensions = w.getSupportedFileExtensions();
+                    return supportedFileExtensions.isEmpty() || supportedFileExtensions.contains(fileExtension);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private String getFileExtension(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
+        Path fileName = rewriteSourceFileHolder.getAbsolutePath().getFileName();
+        if (fileName == null) {
+            return "";
+        }
+        String name = fileName.toString();
+        int dot = name.lastIndexOf('.');
+        return dot == -1 ? "" : name.substring(dot + 1);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.openrewrite.SourceFile;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records which {@link RewriteSourceFileHolder}s had their {@link SourceFile} read while a computation runs on the
+ * current thread.
+ * <p>
+ * The recorded holders are mapped to the {@link SourceFile} instance that was read. As OpenRewrite trees are
+ * immutable, a computation is known to see the same input again as long as every recorded holder still holds the
+ * identical {@link SourceFile} instance.
+ */
+public final class ResourceAccessRecorder {
+
+    private static final ThreadLocal<Accesses> CURRENT = new ThreadLocal<>();
+
+    private ResourceAccessRecorder() {
+    }
+
+    /**
+     * Runs {@code computation} and returns its result together with the source files it read.
+     * Recordings can be nested, the outer recording also contains the resources read by the inner one.
+     */
+    public static <T> Recording<T> record(Supplier<T> computation) {
+        Accesses outer = CURRENT.get();
+        Accesses accessed = new Accesses();
+        CURRENT.set(accessed);
+        try {
+            T result = computation.get();
+            return new Recording<>(result, Collections.unmodifiableMap(accessed.sourceFiles), accessed.modelModifiedInPlaceRead);
+        } finally {
+            if (outer != null) {
+                outer.add(accessed.sourceFiles, accessed.modelModifiedInPlaceRead);
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Add the source files read by a {@code recording} to the recording active on the current thread, if any.
+     * Used when a computation reuses a result which was computed (and recorded) before.
+     */
+    public static void replay(Recording<?> recording) {
+        Accesses accessed = CURRENT.get();
+        if (accessed != null) {
+            accessed.add(recording.accessedSourceFiles(), recording.modelModifiedInPlaceRead());
+        }
+    }
+
+    static void accessed(RewriteSourceFileHolder<?> holder, SourceFile sourceFile) {
+        Accesses accessed = CURRENT.get();
+        if (accessed != null) {
+            accessed.sourceFiles.putIfAbsent(holder, sourceFile);
+        }
+    }
+
+    /**
+     * A model was read which gets modified in place without its {@link SourceFile} being replaced,
+     * the recording can't tell when it becomes outdated.
+     */
+    static void modelModifiedInPlaceAccessed() {
+        Accesses accessed = CURRENT.get();
+        if (accessed != null) {
+            accessed.modelModifiedInPlaceRead = true;
+        }
+    }
+
+    private static class Accesses {
+        private final Map<RewriteSourceFileHolder<?>, SourceFile> sourceFiles = new IdentityHashMap<>();
+        private boolean modelModifiedInPlaceRead;
+
+        void add(Map<RewriteSourceFileHolder<?>, SourceFile> otherSourceFiles, boolean otherModelModifiedInPlaceRead) {
+            otherSourceFiles.forEach(sourceFiles::putIfAbsent);
+            modelModifiedInPlaceRead |= otherModelModifiedInPlaceRead;
+        }
+    }
+
+    /**
+     * @param modelModifiedInPlaceRead whether the computation read a model modified in place, e.g. a JAXB model,
+     *                                 the recording is never up-to-date then
+     */
+    public record Recording<T>(T result, Map<RewriteSourceFileHolder<?>, SourceFile> accessedSourceFiles, boolean modelModifiedInPlaceRead) {
+        /**
+         * @return true if none of the recorded resources changed or got deleted since they were read.
+         */
+        public boolean isUpToDate() {
+            return !modelModifiedInPlaceRead && accessedSourceFiles.entrySet().stream()
+                    .allMatch(e -> !e.getKey().isDeleted() && e.getKey().getSourceFile() == e.getValue());
+        }
+    }
+}
@@ -19,6 +19,7 @@ import lombok.Getter;
 import org.openrewrite.SourceFile;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 
+import java.lang.ref.SoftReference;
 import java.nio.file.Path;
 import java.util.UUID;
 
@@ -27,6 +28,19 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
     private T sourceFile;
     @Getter
     final private Path absoluteProjectDir;
+    /**
+     * Printed content of the last printed {@code SourceFile}, valid as long as {@link #sourceFile} is the same instance.
+     * Softly referenced so that cached output of large trees can be reclaimed.
+     */
+    private volatile SoftReference<PrintedSourceFile> printCache = new SoftReference<>(null);
+    /**
+     * The set containing this resource, notified about modifications.
+     */
+    private ProjectResourceSet resourceSet;
+    /**
+     * Incremented whenever {@link #sourceFile} is replaced or moved.
+     */
+    private long modificationCount;
 
     /**
      * @param absoluteProjectDir the absolute path to project root
@@ -41,10 +55,21 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
     }
 
     public String print() {
+        ResourceAccessRecorder.accessed(this, sourceFile);
+        return print(sourceFile);
+    }
+
+    private String print(T sourceFileToPrint) {
+        PrintedSourceFile cached = printCache.get();
+        if (cached != null && cached.sourceFile() == sourceFileToPrint) {
+            return cached.content();
+        }
         try {
-            return sourceFile.printAll();
+            String content = sourceFileToPrint.printAll();
+            printCache = new SoftReference<>(new PrintedSourceFile(sourceFileToPrint, content));
+            return content;
         } catch (Exception e) {
-            throw new RuntimeException("Exception while printing '%s'".formatted(sourceFile.getSourcePath()), e);
+            throw new RuntimeException("Exception while printing '%s'".formatted(sourceFileToPrint.getSourcePath()), e);
         }
     }
 
@@ -63,7 +88,12 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
 
     @Override
     public Path getAbsolutePath() {
-        return LinuxWindowsPathUnifier.unify(absoluteProjectDir.resolve(getSourcePath()).normalize().toAbsolutePath());
+        return getAbsolutePath(sourceFile);
+    }
+
+    private Path getAbsolutePath(SourceFile sourceFile) {
+        Path sourcePath = LinuxWindowsPathUnifier.unify(sourceFile.getSourcePath());
+        return LinuxWindowsPathUnifier.unify(absoluteProjectDir.resolve(sourcePath).normalize().toAbsolutePath());
     }
 
     /**
@@ -90,11 +120,25 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
         if (absoluteProjectDir.resolve(newPath).toFile().isDirectory()) {
             newPath = newPath.resolve(this.getAbsolutePath().getFileName());
         }
+        Path previousAbsolutePath = getAbsolutePath();
         sourceFile = sourceFile.withSourcePath(newPath);
+        modificationCount++;
         this.markChanged();
+        if (resourceSet != null) {
+            resourceSet.resourceMoved(this, previousAbsolutePath);
+        }
+    }
+
+    @Override
+    public void delete() {
+        super.delete();
+        if (resourceSet != null) {
+            resourceSet.resourceDeleted(this);
+        }
     }
 
     public T getSourceFile() {
+        ResourceAccessRecorder.accessed(this, sourceFile);
         return sourceFile;
     }
 
@@ -103,14 +147,49 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
      * <p>
      * If {@code fixedSourceFile.print()} differs from current file content,
      * source file is marked as changed.
+     * Printing is skipped when the same instance is passed or when the resource is already marked as changed,
+     * otherwise the printed output is kept to be reused by {@link #print()}.
      *
      * @param fixedSourceFile the new source file
      */
     public void replaceWith(T fixedSourceFile) {
-        if (sourceFile != null && !sourceFile.printAll().equals(fixedSourceFile.printAll())) {
-            markChanged();
+        if (sourceFile == fixedSourceFile) {
+            return;
+        }
+        if (sourceFile != null && !isChanged) {
+            String currentContent = print(sourceFile);
+            String newContent = print(fixedSourceFile);
+            if (!currentContent.equals(newContent)) {
+                markChanged();
+            }
         }
+        T previousSourceFile = sourceFile;
         sourceFile = fixedSourceFile;
+        modificationCount++;
+        if (resourceSet != null) {
+            Path previousAbsolutePath = previousSourceFile == null ? null : getAbsolutePath(previousSourceFile);
+            resourceSet.sourceFileReplaced(this, previousSourceFile, previousAbsolutePath);
+        }
+    }
+
+    /**
+     * The number of times the {@code SourceFile} of this resource was replaced or moved, allows to find out cheaply
+     * if state derived from the {@code SourceFile} is outdated.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * To be called by subclasses whenever they give access to a model which is modified in place, without
+     * replacing the {@code SourceFile}. Cached results computed from such a model can't be verified and are not reused.
+     */
+    protected void modelModifiedInPlaceAccessed() {
+        ResourceAccessRecorder.modelModifiedInPlaceAccessed();
+    }
+
+    void attachTo(ProjectResourceSet resourceSet) {
+        this.resourceSet = resourceSet;
     }
 
     public void markChanged() {
@@ -119,11 +198,11 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
 
     // FIXME: questionable convenience method
     public UUID getId() {
-        return this.getSourceFile().getId();
+        return sourceFile.getId();
     }
 
     public Class<? extends SourceFile> getType() {
-        return getSourceFile().getClass();
+        return sourceFile.getClass();
     }
 
     @Override
@@ -131,4 +210,6 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
         return getAbsolutePath().toString();
     }
 
+    private record PrintedSourceFile(SourceFile sourceFile, String content) {
+    }
 }
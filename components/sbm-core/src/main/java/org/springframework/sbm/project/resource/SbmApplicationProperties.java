@@ -20,6 +20,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,10 +31,23 @@ import java.util.stream.Collectors;
 @ConfigurationProperties(prefix = "sbm")
 public class SbmApplicationProperties {
     private boolean gitSupportEnabled;
+    private boolean gitIgnoreSupportEnabled;
     private boolean muleTriggerMeshTransformEnabled;
     private String defaultBasePackage;
     private boolean writeInMavenLocal;
+    private boolean mavenOffline;
+    private boolean mavenDaemonEnabled;
+    private String mavenDaemonExecutable = "mvnd";
     private boolean  javaParserLoggingCompilationWarningsAndErrors;
+    private boolean parallelParsingEnabled;
+    private int parsingThreads;
+    private int writeThreads;
+    private boolean parallelRecipeEvaluationEnabled;
+    private int recipeEvaluationThreads;
+    private boolean recipeApplicabilityCacheEnabled;
+    private boolean lstCacheEnabled;
+    private boolean incrementalRescanEnabled;
+    private String lstCacheDir = Path.of(System.getProperty("user.home"), ".sbm", "lst-cache").toString();
     private List<String> ignoredPathsPatterns = new ArrayList<>();
 
     public void setIgnoredPathsPatterns(List<String> patterns) {
@@ -19,7 +19,6 @@ import org.springframework.sbm.project.resource.ProjectResourceSet;
 import lombok.Getter;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class GenericTypeListFilter<T> implements ProjectResourceFinder<List<T>> {
 
@@ -32,9 +31,6 @@ public class GenericTypeListFilter<T> implements ProjectResourceFinder<List<T>>
 
     @Override
     public List<T> apply(ProjectResourceSet projectResourceSet) {
-        return projectResourceSet.stream()
-                .filter(pr -> type.isAssignableFrom(pr.getClass()))
-                .map(type::cast)
-                .collect(Collectors.toList());
+        return projectResourceSet.findByWrapperType(type);
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.xml.jaxb;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Process wide cache of {@link JAXBContext}s.
+ *
+ * Creating a {@code JAXBContext} is expensive, especially for large schemas like the Mule ones, while the context
+ * itself is thread-safe. A context is therefore created once per set of bound classes and shared.
+ * {@link Unmarshaller}s are not thread-safe and get pooled per thread.
+ * Input is read from a {@link Reader} through StAX, so no intermediate byte copy of the document is required.
+ */
+public final class SharedJaxbContext {
+
+    private static final Map<Set<Class<?>>, SharedJaxbContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(XMLInputFactory::newFactory);
+
+    private final JAXBContext jaxbContext;
+
+    private final ThreadLocal<Unmarshaller> unmarshallers;
+
+    private SharedJaxbContext(JAXBContext jaxbContext) {
+        this.jaxbContext = jaxbContext;
+        this.unmarshallers = ThreadLocal.withInitial(() -> {
+            try {
+                return jaxbContext.createUnmarshaller();
+            } catch (JAXBException e) {
+                throw new JaxbProcessingException("Could not create Unmarshaller.", e);
+            }
+        });
+    }
+
+    /**
+     * Returns the shared context for the given classes, creating it on first access.
+     */
+    public static SharedJaxbContext forClasses(Class<?>... classesToBeBound) {
+        Set<Class<?>> key = Set.copyOf(new LinkedHashSet<>(Arrays.asList(classesToBeBound)));
+        return CONTEXTS.computeIfAbsent(key, k -> {
+            try {
+                return new SharedJaxbContext(JAXBContext.newInstance(classesToBeBound));
+            } catch (JAXBException e) {
+                throw new JaxbProcessingException("Could not create JAXBContext for " + k + ".", e);
+            }
+        });
+    }
+
+    public JAXBContext getJaxbContext() {
+        return jaxbContext;
+    }
+
+    /**
+     * Marshallers are cheap to create compared to the context and are not shared.
+     */
+    public Marshaller createMarshaller() {
+        try {
+            return jaxbContext.createMarshaller();
+        } catch (JAXBException e) {
+            throw new JaxbProcessingException("Could not create Marshaller.", e);
+        }
+    }
+
+    /**
+     * Unmarshals the document read from {@code reader} and unwraps a {@link JAXBElement} root.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T unmarshal(Reader reader) {
+        try {
+            Object result = unmarshaller().unmarshal(reader);
+            if (result instanceof JAXBElement) {
+                return ((JAXBElement<T>) result).getValue();
+            }
+            return (T) result;
+        } catch (JAXBException e) {
+            throw new JaxbProcessingException("Could not unmarshal XML.", e);
+        }
+    }
+
+    public <T> T unmarshal(String xml) {
+        return unmarshal(new StringReader(xml));
+    }
+
+    /**
+     * Unmarshals the document as {@code declaredType}.
+     * The {@code readerDecorator} allows to wrap the {@link XMLStreamReader}, e.g. to drop namespaces.
+     */
+    public <T> T unmarshal(Reader reader, Class<T> declaredType, UnaryOperator<XMLStreamReader> readerDecorator) {
+        XMLStreamReader xmlStreamReader = null;
+        try {
+            xmlStreamReader = XML_INPUT_FACTORY.get().createXMLStreamReader(reader);
+            return unmarshaller().unmarshal(readerDecorator.apply(xmlStreamReader), declaredType).getValue();
+        } catch (JAXBException | XMLStreamException e) {
+            throw new JaxbProcessingException("Could not unmarshal XML as " + declaredType.getName() + ".", e);
+        } finally {
+            closeQuietly(xmlStreamReader);
+        }
+    }
+
+    public <T> T unmarshal(String xml, Class<T> declaredType, UnaryOperator<XMLStreamReader> readerDecorator) {
+        return unmarshal(new StringReader(xml), declaredType, readerDecorator);
+    }
+
+    private Unmarshaller unmarshaller() {
+        return unmarshallers.get();
+    }
+
+    private static void closeQuietly(XMLStreamReader xmlStreamReader) {
+        if (xmlStreamReader != null) {
+            try {
+                xmlStreamReader.close();
+            } catch (XMLStreamException e) {
+                // nothing to do
+            }
+        }
+    }
+}
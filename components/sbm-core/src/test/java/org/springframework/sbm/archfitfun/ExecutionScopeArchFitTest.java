@@ -25,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
@@ -104,6 +105,7 @@ import static org.springframework.sbm.archfitfun.ExecutionScopeArchFitTest.Scope
                     ResourceHelper.class,
                     PreconditionVerifier.class,
                     ProjectContextInitializer.class,
+                    ProjectSnapshotCache.class,
                     ProjectContextFactory.class,
                     ProjectResourceWrapperRegistry.class,
                     ProjectResourceSetHolder.class,
@@ -121,6 +123,7 @@ import static org.springframework.sbm.archfitfun.ExecutionScopeArchFitTest.Scope
                     MavenSettingsInitializer.class,
                     RewriteMigrationResultMerger.class,
                     RewriteMavenArtifactDownloader.class,
+                    ConcurrentArtifactDownloader.class,
                     JavaProvenanceMarkerFactory.class,
                     MavenConfigHandler.class,
                     RewriteSourceFileWrapper.class,
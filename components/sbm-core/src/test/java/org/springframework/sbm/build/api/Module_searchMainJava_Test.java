@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.SourceFile;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.api.JavaSource;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.project.resource.TestProjectContext;
@@ -88,6 +89,25 @@ public class Module_searchMainJava_Test {
             }, "");
         }
 
+        @Test
+        @DisplayName("lookups on provided ProjectResourceSet only find classes from src/main/java")
+        void lookupsOnlyFindClassesFromMain() {
+            ProjectContext context = builder
+                    .withJavaSource("src/main/java", "public class SomeClass{}")
+                    .withJavaSource("src/test/java", "public class SomeClassTest{}")
+                    .build();
+            Path mainClass = context.getProjectRootDirectory().resolve("src/main/java/SomeClass.java");
+            Path testClass = context.getProjectRootDirectory().resolve("src/test/java/SomeClassTest.java");
+
+            verifySearchMain(context, projectResourceSet -> {
+                RewriteSourceFileHolder<? extends SourceFile> found = projectResourceSet.findByAbsolutePath(mainClass).get();
+                assertThat(projectResourceSet.findById(found.getId())).containsSame(found);
+                assertThat(projectResourceSet.findByAbsolutePath(testClass)).isEmpty();
+                assertThat(projectResourceSet.findByWrapperType(JavaSource.class)).containsExactly((JavaSource) found);
+                assertThat(projectResourceSet.indexOf(mainClass)).isEqualTo(0);
+            }, "");
+        }
+
         @Test
         @DisplayName("with classes in src/main/java and src/test/java provides ProjectResourceSet with classes from src/main/java")
         void withClassesInTestAndMain_providesClassesFromMain() {
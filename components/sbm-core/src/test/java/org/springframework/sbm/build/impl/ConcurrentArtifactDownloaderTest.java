@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.maven.utilities.MavenArtifactDownloader;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConcurrentArtifactDownloaderTest {
+
+    private static ResolvedDependency dependency;
+
+    private final MavenArtifactDownloader mavenArtifactDownloader = mock(MavenArtifactDownloader.class);
+    private final ConcurrentArtifactDownloader sut = new ConcurrentArtifactDownloader(mavenArtifactDownloader);
+
+    @BeforeAll
+    static void beforeAll() {
+        @Language("xml")
+        String pom =
+                """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.acme</groupId>
+                    <artifactId>dummy</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>javax.validation</groupId>
+                            <artifactId>validation-api</artifactId>
+                            <version>2.0.1.Final</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """;
+        List<Xml.Document> poms = new RewriteMavenParser(new MavenSettingsInitializer(), new RewriteExecutionContext()).parse(pom);
+        dependency = poms.get(0).getMarkers().findFirst(MavenResolutionResult.class).get().getDependencies().get(Scope.Compile).get(0);
+    }
+
+    @AfterEach
+    void afterEach() {
+        sut.destroy();
+    }
+
+    @Test
+    void downloadedArtifactsAreCached() {
+        Path path = Path.of("validation-api-2.0.1.Final.jar");
+        when(mavenArtifactDownloader.downloadArtifact(any())).thenReturn(path);
+
+        assertThat(sut.downloadArtifacts(List.of(dependency))).containsEntry(dependency, path);
+        assertThat(sut.downloadArtifacts(List.of(dependency))).containsEntry(dependency, path);
+
+        verify(mavenArtifactDownloader, times(1)).downloadArtifact(any());
+    }
+
+    @Test
+    void clearedArtifactsAreDownloadedAgain() {
+        when(mavenArtifactDownloader.downloadArtifact(any())).thenReturn(Path.of("validation-api-2.0.1.Final.jar"));
+
+        sut.downloadArtifacts(List.of(dependency));
+        sut.clear();
+        sut.downloadArtifacts(List.of(dependency));
+
+        verify(mavenArtifactDownloader, times(2)).downloadArtifact(any());
+    }
+
+    @Test
+    void failedDownloadsAreNotCached() {
+        Path path = Path.of("validation-api-2.0.1.Final.jar");
+        when(mavenArtifactDownloader.downloadArtifact(any()))
+                .thenThrow(new IllegalStateException("Repository not reachable"))
+                .thenReturn(path);
+
+        assertThat(sut.downloadArtifacts(List.of(dependency))).isEmpty();
+        assertThat(sut.downloadArtifacts(List.of(dependency))).containsEntry(dependency, path);
+
+        verify(mavenArtifactDownloader, times(2)).downloadArtifact(any());
+    }
+
+    @Test
+    void instancesDoNotShareCachedArtifacts() {
+        when(mavenArtifactDownloader.downloadArtifact(any())).thenReturn(Path.of("validation-api-2.0.1.Final.jar"));
+        ConcurrentArtifactDownloader other = new ConcurrentArtifactDownloader(mavenArtifactDownloader);
+        try {
+            sut.downloadArtifacts(List.of(dependency));
+            other.downloadArtifacts(List.of(dependency));
+        } finally {
+            other.destroy();
+        }
+
+        verify(mavenArtifactDownloader, times(2)).downloadArtifact(any());
+    }
+
+    @Test
+    void downloadsStillWorkAfterDestroy() {
+        Path path = Path.of("validation-api-2.0.1.Final.jar");
+        when(mavenArtifactDownloader.downloadArtifact(any())).thenReturn(path);
+        sut.downloadArtifacts(List.of(dependency));
+
+        sut.destroy();
+        sut.clear();
+
+        assertThat(sut.downloadArtifacts(List.of(dependency))).containsEntry(dependency, path);
+    }
+}
@@ -21,7 +21,9 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class AddDependenciesTest {
@@ -36,12 +38,18 @@ class AddDependenciesTest {
 
         BuildFile buildFile = mock(BuildFile.class);
         when(buildFile.isRootBuildFile()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<BuildFile> modifications = invocation.getArgument(0);
+            modifications.accept(buildFile);
+            return null;
+        }).when(buildFile).batch(any());
 
         ProjectContext context = mock(ProjectContext.class);
         when(context.getBuildFile()).thenReturn(buildFile);
 
         sut.apply(context);
 
+        verify(buildFile).batch(any());
         verify(buildFile).addDependencies(dependencies);
     }
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.context;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectFactsTest {
+
+    private static final String ANNOTATED_CLASS =
+            "import java.util.List;\n" +
+            "@Deprecated\n" +
+            "public class AnnotatedClass {\n" +
+            "    @SuppressWarnings(\"unused\")\n" +
+            "    private List<String> values;\n" +
+            "}";
+
+    @Test
+    void answersFromIndexedJavaSources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATED_CLASS)
+                .build();
+
+        ProjectFacts sut = context.getProjectFacts();
+
+        assertThat(sut.hasImportStartingWith("java.util")).isTrue();
+        assertThat(sut.hasImportStartingWith("java.util.List")).isTrue();
+        assertThat(sut.hasImportStartingWith("java.util.Map")).isFalse();
+        assertThat(sut.hasAnyTypeReference(List.of("java.util.Map", "java.util.List"))).isTrue();
+        assertThat(sut.hasTypeAnnotation("java.lang.Deprecated")).isTrue();
+        assertThat(sut.hasTypeAnnotation("java.lang.SuppressWarnings")).isFalse();
+        assertThat(sut.hasMemberAnnotation("java.lang.SuppressWarnings")).isTrue();
+        assertThat(sut.hasMemberAnnotation("java.lang.Deprecated")).isFalse();
+    }
+
+    @Test
+    void matchesMetaAnnotationsAndFallsBackToFindAnnotationsForPatterns() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATED_CLASS)
+                .build();
+
+        ProjectFacts sut = context.getProjectFacts();
+
+        assertThat(sut.hasAnnotation("@java.lang.Deprecated")).isTrue();
+        // java.lang.Deprecated is annotated with @Documented
+        assertThat(sut.hasAnnotation("java.lang.annotation.Documented")).isTrue();
+        assertThat(sut.hasAnnotation("java.lang.Override")).isFalse();
+        assertThat(sut.hasAnnotation("@java.lang.SuppressWarnings(\"unused\")")).isTrue();
+        assertThat(sut.hasAnnotation("@java.lang.SuppressWarnings(\"all\")")).isFalse();
+    }
+
+    @Test
+    void reindexesReplacedSourceFiles() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATED_CLASS)
+                .build();
+        ProjectFacts sut = context.getProjectFacts();
+        assertThat(sut.hasTypeAnnotation("java.lang.Deprecated")).isTrue();
+
+        J.CompilationUnit replacement = JavaParser.fromJavaVersion().build()
+                .parse("import java.util.Map; public class AnnotatedClass { private Map<String, String> values; }")
+                .get(0);
+        JavaSource javaSource = context.getProjectJavaSources().list().get(0);
+        ((RewriteSourceFileHolder<J.CompilationUnit>) javaSource).replaceWith(replacement);
+
+        assertThat(sut.hasTypeAnnotation("java.lang.Deprecated")).isFalse();
+        assertThat(sut.hasImportStartingWith("java.util.List")).isFalse();
+        assertThat(sut.hasImportStartingWith("java.util.Map")).isTrue();
+    }
+
+    @Test
+    void recordsReadsOfAllJavaSourcesWhenAnsweredFromSyncedIndex() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATED_CLASS, "public class Other {}")
+                .build();
+        ProjectFacts sut = context.getProjectFacts();
+        sut.refresh();
+
+        ResourceAccessRecorder.Recording<Boolean> recording = ResourceAccessRecorder.record(() -> sut.hasTypeAnnotation("java.lang.Deprecated"));
+
+        assertThat(recording.result()).isTrue();
+        assertThat(recording.accessedSourceFiles()).hasSize(2);
+        J.CompilationUnit replacement = JavaParser.fromJavaVersion().build().parse("public class Other { int i; }").get(0);
+        ((RewriteSourceFileHolder<J.CompilationUnit>) context.getProjectJavaSources().list().get(1)).replaceWith(replacement);
+        assertThat(recording.isUpToDate()).isFalse();
+    }
+
+    @Test
+    void returnsJavaSourcesInResourceOrderAfterModifications() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(
+                        "import java.util.List; public class A { List<String> a; }",
+                        "import java.util.List; public class B { List<String> b; }",
+                        "import java.util.List; public class C { List<String> c; }")
+                .build();
+        ProjectFacts sut = context.getProjectFacts();
+
+        assertThat(sut.findJavaSourcesReferencingAnyType(Set.of("java.util.List")))
+                .extracting(js -> js.getTypes().get(0).getSimpleName())
+                .containsExactly("A", "B", "C");
+
+        context.getProjectJavaSources().list().get(0).delete();
+
+        assertThat(sut.findJavaSourcesReferencingAnyType(Set.of("java.util.List")))
+                .extracting(js -> js.getTypes().get(0).getSimpleName())
+                .containsExactly("B", "C");
+    }
+}
@@ -167,4 +167,28 @@ public class GitSupportTest {
     private static String unifyPath(Path tmpDir) {
         return LinuxWindowsPathUnifier.unifyPath(tmpDir);
     }
+
+    @Test
+    void getChangedFilesSince_shouldContainCommittedUncommittedUntrackedAndDeletedFiles(@TempDir Path tmpDir) throws Exception {
+        try (Git git = GitSupport.initGit(tmpDir.toFile())) {
+            GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+            java.nio.file.Files.writeString(tmpDir.resolve("unchanged.txt"), "unchanged");
+            java.nio.file.Files.writeString(tmpDir.resolve("deleted.txt"), "deleted");
+            java.nio.file.Files.writeString(tmpDir.resolve("committed.txt"), "v1");
+            gitSupport.add(tmpDir.toFile(), "unchanged.txt", "deleted.txt", "committed.txt");
+            String revision = gitSupport.commit(tmpDir.toFile(), "initial").getHash();
+
+            java.nio.file.Files.writeString(tmpDir.resolve("committed.txt"), "v2");
+            gitSupport.add(tmpDir.toFile(), "committed.txt");
+            gitSupport.commit(tmpDir.toFile(), "second");
+            java.nio.file.Files.delete(tmpDir.resolve("deleted.txt"));
+            java.nio.file.Files.writeString(tmpDir.resolve("untracked.txt"), "untracked");
+
+            assertThat(gitSupport.getChangedFilesSince(tmpDir.toFile(), revision)).containsExactlyInAnyOrder(
+                    tmpDir.resolve("committed.txt").toAbsolutePath().normalize(),
+                    tmpDir.resolve("deleted.txt").toAbsolutePath().normalize(),
+                    tmpDir.resolve("untracked.txt").toAbsolutePath().normalize()
+            );
+        }
+    }
 }
@@ -92,4 +92,19 @@ class ActionTest {
         Mockito.verify(publisher).publishEvent(any(ActionStartedEvent.class));
         Mockito.verify(publisher).publishEvent(any(ActionFailedEvent.class));
     }
+
+    @Test
+    void applyWithStatusEventPublishesFailureForErrors() {
+        TestActionImpl action = new TestActionImpl(publisher) {
+            @Override
+            public void apply(ProjectContext context) {
+                throw new StackOverflowError();
+            }
+        };
+
+        assertThrows(StackOverflowError.class, () -> action.applyWithStatusEvent(projectContext));
+
+        Mockito.verify(publisher).publishEvent(any(ActionStartedEvent.class));
+        Mockito.verify(publisher).publishEvent(any(ActionFailedEvent.class));
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConditionMemoTest {
+
+    private static final AtomicInteger EVALUATIONS = new AtomicInteger();
+
+    private final ProjectContext context = mock(ProjectContext.class);
+
+    static class CountingCondition implements Condition {
+        private final String value;
+
+        CountingCondition(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getDescription() {
+            return value;
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            EVALUATIONS.incrementAndGet();
+            return !value.startsWith("not");
+        }
+    }
+
+    static class ConditionWithObjectParameter extends CountingCondition {
+        private final Object parameter = new Object();
+
+        ConditionWithObjectParameter() {
+            super("object");
+        }
+    }
+
+    @Test
+    void equalConditionsAreEvaluatedOnce() {
+        EVALUATIONS.set(0);
+        ConditionMemo sut = new ConditionMemo();
+
+        sut.withMemo(() -> {
+            assertThat(ConditionMemo.evaluate(new CountingCondition("a"), context)).isTrue();
+            assertThat(ConditionMemo.evaluate(new CountingCondition("a"), context)).isTrue();
+            assertThat(ConditionMemo.evaluate(new CountingCondition("not-a"), context)).isFalse();
+            assertThat(ConditionMemo.evaluate(new CountingCondition("a").or(new CountingCondition("b")), context)).isTrue();
+            assertThat(ConditionMemo.evaluate(new CountingCondition("a").or(new CountingCondition("b")), context)).isTrue();
+            return null;
+        });
+
+        // "a", "not-a" and the combined condition, the latter evaluating "a" without memo
+        assertThat(EVALUATIONS.get()).isEqualTo(3);
+        assertThat(sut.size()).isEqualTo(3);
+    }
+
+    @Test
+    void conditionsWithNotComparableParametersAreNotMemoized() {
+        EVALUATIONS.set(0);
+        ConditionMemo sut = new ConditionMemo();
+
+        sut.withMemo(() -> {
+            ConditionMemo.evaluate(new ConditionWithObjectParameter(), context);
+            ConditionMemo.evaluate(new ConditionWithObjectParameter(), context);
+            return null;
+        });
+
+        assertThat(EVALUATIONS.get()).isEqualTo(2);
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    void withoutMemoConditionsAreAlwaysEvaluated() {
+        EVALUATIONS.set(0);
+
+        ConditionMemo.evaluate(new CountingCondition("a"), context);
+        ConditionMemo.evaluate(new CountingCondition("a"), context);
+
+        assertThat(EVALUATIONS.get()).isEqualTo(2);
+    }
+
+    @Test
+    void parallelEvaluationKeepsOrderAndSharesMemo() {
+        EVALUATIONS.set(0);
+        Action action = mock(Action.class);
+        when(action.isApplicable(any(ProjectContext.class))).thenReturn(true);
+        List<Recipe> recipes = IntStream.range(0, 20)
+                .mapToObj(i -> new Recipe("recipe-" + i, List.of(action), new CountingCondition(i % 2 == 0 ? "shared" : "not-shared"), 0))
+                .collect(Collectors.toCollection(ArrayList::new));
+        Recipes sut = new Recipes(recipes);
+
+        List<Recipe> sequential = sut.getApplicable(context);
+        int sequentialEvaluations = EVALUATIONS.getAndSet(0);
+        List<Recipe> parallel = sut.getApplicable(context, 4);
+
+        assertThat(parallel).containsExactlyElementsOf(sequential).hasSize(10);
+        assertThat(sequentialEvaluations).isEqualTo(2);
+        assertThat(EVALUATIONS.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeApplicabilityCacheTest {
+
+    private static final Map<String, AtomicInteger> EVALUATIONS = new ConcurrentHashMap<>();
+
+    static class ReadingJavaSources implements Condition {
+        @Override
+        public String getDescription() {
+            return "java";
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            EVALUATIONS.computeIfAbsent("java", k -> new AtomicInteger()).incrementAndGet();
+            return context.getProjectJavaSources().list().stream().anyMatch(js -> js.print().contains("class A"));
+        }
+    }
+
+    static class ReadingBuildFile implements Condition {
+        @Override
+        public String getDescription() {
+            return "build file";
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            EVALUATIONS.computeIfAbsent("build file", k -> new AtomicInteger()).incrementAndGet();
+            return context.getBuildFile().print().contains("<project");
+        }
+    }
+
+    static class ReadingModelModifiedInPlace implements Condition {
+        @Override
+        public String getDescription() {
+            return "in place";
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            EVALUATIONS.computeIfAbsent("in place", k -> new AtomicInteger()).incrementAndGet();
+            PlainText text = new PlainTextParser().parse("text").get(0);
+            return new ModelModifiedInPlace(context.getProjectRootDirectory(), text).readModel();
+        }
+    }
+
+    static class ModelModifiedInPlace extends RewriteSourceFileHolder<PlainText> {
+        ModelModifiedInPlace(Path absoluteProjectDir, PlainText sourceFile) {
+            super(absoluteProjectDir, sourceFile);
+        }
+
+        boolean readModel() {
+            modelModifiedInPlaceAccessed();
+            return true;
+        }
+    }
+
+    @Test
+    void onlyRecipesReadingChangedResourceTypesAreEvaluatedAgain() {
+        EVALUATIONS.clear();
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources("class A {}")
+                .build();
+        Action action = mock(Action.class);
+        when(action.isApplicable(any(ProjectContext.class))).thenReturn(true);
+        Recipes recipes = new Recipes(new ArrayList<>(List.of(
+                new Recipe("java-recipe", List.of(action), new ReadingJavaSources(), 0),
+                new Recipe("build-file-recipe", List.of(action), new ReadingBuildFile(), 0))));
+        RecipeApplicabilityCache sut = new RecipeApplicabilityCache();
+
+        assertThat(sut.getApplicable(recipes, context, 1)).extracting(Recipe::getName).containsExactly("java-recipe", "build-file-recipe");
+        assertThat(sut.getApplicable(recipes, context, 1)).hasSize(2);
+        assertThat(EVALUATIONS.get("java").get()).isEqualTo(1);
+        assertThat(EVALUATIONS.get("build file").get()).isEqualTo(1);
+
+        J.CompilationUnit replacement = JavaParser.fromJavaVersion().build().parse("class B {}").get(0);
+        ((OpenRewriteJavaSource) context.getProjectJavaSources().list().get(0)).replaceWith(replacement);
+
+        assertThat(sut.getApplicable(recipes, context, 1)).extracting(Recipe::getName).containsExactly("build-file-recipe");
+        assertThat(EVALUATIONS.get("java").get()).isEqualTo(2);
+        assertThat(EVALUATIONS.get("build file").get()).isEqualTo(1);
+
+        context.getProjectJavaSources().list().get(0).moveTo(Path.of("src/main/java/B.java"));
+
+        assertThat(sut.getApplicable(recipes, context, 1)).hasSize(1);
+        assertThat(EVALUATIONS.get("java").get()).isEqualTo(3);
+        assertThat(EVALUATIONS.get("build file").get()).isEqualTo(2);
+    }
+
+    @Test
+    void searchingModulesKeepsModificationsCountedByTheProjectContext() {
+        EVALUATIONS.clear();
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources("class A {}")
+                .build();
+        Recipes recipes = new Recipes(new ArrayList<>(List.of(
+                new Recipe("java-recipe", List.of(applicableAction()), new ReadingJavaSources(), 0))));
+        RecipeApplicabilityCache sut = new RecipeApplicabilityCache();
+        assertThat(sut.getApplicable(recipes, context, 1)).hasSize(1);
+
+        context.getApplicationModules().getRootModule().search(ProjectResourceSet::list);
+        J.CompilationUnit replacement = JavaParser.fromJavaVersion().build().parse("class B {}").get(0);
+        ((OpenRewriteJavaSource) context.getProjectJavaSources().list().get(0)).replaceWith(replacement);
+
+        assertThat(sut.getApplicable(recipes, context, 1)).isEmpty();
+        assertThat(EVALUATIONS.get("java").get()).isEqualTo(2);
+    }
+
+    @Test
+    void recipesReadingModelsModifiedInPlaceAreAlwaysEvaluated() {
+        EVALUATIONS.clear();
+        ProjectContext context = TestProjectContext.buildProjectContext().build();
+        Recipes recipes = new Recipes(new ArrayList<>(List.of(
+                new Recipe("in-place-recipe", List.of(applicableAction()), new ReadingModelModifiedInPlace(), 0))));
+        RecipeApplicabilityCache sut = new RecipeApplicabilityCache();
+
+        assertThat(sut.getApplicable(recipes, context, 1)).hasSize(1);
+        assertThat(sut.getApplicable(recipes, context, 1)).hasSize(1);
+        assertThat(EVALUATIONS.get("in place").get()).isEqualTo(2);
+    }
+
+    private static Action applicableAction() {
+        Action action = mock(Action.class);
+        when(action.isApplicable(any(ProjectContext.class))).thenReturn(true);
+        return action;
+    }
+}
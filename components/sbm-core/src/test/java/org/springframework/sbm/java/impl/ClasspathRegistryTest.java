@@ -22,7 +22,9 @@ import org.openrewrite.maven.tree.MavenResolutionResult;
 import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.maven.tree.Scope;
 import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
 
@@ -117,8 +119,13 @@ public class ClasspathRegistryTest {
                 .stream()
                 .collect(Collectors.toSet());
 
-        ClasspathRegistry registry = ClasspathRegistry.initialize(resolvedDependencies);
-        assertThat(registry.getCurrentDependencies()).hasSize(1);
-        assertThat(registry.getInitialDependencies()).hasSize(1);
+        ConcurrentArtifactDownloader artifactDownloader = new ConcurrentArtifactDownloader(new RewriteMavenArtifactDownloader());
+        try {
+            ClasspathRegistry registry = ClasspathRegistry.initialize(resolvedDependencies, artifactDownloader);
+            assertThat(registry.getCurrentDependencies()).hasSize(1);
+            assertThat(registry.getInitialDependencies()).hasSize(1);
+        } finally {
+            artifactDownloader.destroy();
+        }
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.springframework.sbm.build.api.DependenciesChangedEvent;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DependenciesChangedEventHandlerTest {
+
+    private final ExecutionContext executionContext = new InMemoryExecutionContext();
+
+    @Test
+    void dependencyChangesDuringAnActionAreCoalesced() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources("import com.example.Missing; class A { Missing missing; }", "class B {}")
+                .build();
+        ProjectContextHolder projectContextHolder = new ProjectContextHolder();
+        projectContextHolder.setProjectContext(context);
+        JavaParser javaParser = mock(JavaParser.class);
+        when(javaParser.parseInputs(any(), any(), any())).thenReturn(List.of());
+        DependenciesChangedEventHandler sut = new DependenciesChangedEventHandler(projectContextHolder, javaParser, executionContext);
+
+        sut.onActionStarted(new ActionStartedEvent("add dependencies"));
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        verify(javaParser, never()).parseInputs(any(), any(), any());
+
+        sut.onActionFinished(new ActionFinishedEvent("add dependencies"));
+        verify(javaParser, times(1)).parseInputs(argThat(inputs -> ((List<?>) inputs).size() == 1), any(), any());
+    }
+
+    @Test
+    void sourcesWithoutUnresolvedTypesAreNotReparsed() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources("class A {}", "class B { A a; }")
+                .build();
+        ProjectContextHolder projectContextHolder = new ProjectContextHolder();
+        projectContextHolder.setProjectContext(context);
+        JavaParser javaParser = mock(JavaParser.class);
+        DependenciesChangedEventHandler sut = new DependenciesChangedEventHandler(projectContextHolder, javaParser, executionContext);
+
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+
+        verifyNoInteractions(javaParser);
+    }
+
+    @Test
+    void artifactTypesAreReadFromJars(@TempDir Path tempDir) throws IOException {
+        Path jar = tempDir.resolve("some.jar");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (String entry : List.of("META-INF/MANIFEST.MF", "module-info.class", "com/example/Foo.class", "com/example/Foo$Bar.class", "com/example/package-info.class")) {
+                zip.putNextEntry(new ZipEntry(entry));
+                zip.closeEntry();
+            }
+        }
+
+        assertThat(new ArtifactTypes().getTypes(jar)).containsExactlyInAnyOrder("com.example.Foo", "com.example.Foo$Bar");
+    }
+}
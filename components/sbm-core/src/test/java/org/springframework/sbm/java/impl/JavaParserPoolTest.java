@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaParserPoolTest {
+
+    private final JavaParserPool sut = JavaParserPool.getInstance();
+
+    @AfterEach
+    void clear() {
+        sut.clear();
+    }
+
+    @Test
+    void sameClasspathInAnyOrderSharesCompiler() {
+        Path a = Path.of("a.jar").toAbsolutePath();
+        Path b = Path.of("b.jar").toAbsolutePath();
+
+        sut.getJavaParser(List.of(a, b));
+        sut.getJavaParser(List.of(b, a));
+        assertThat(sut.size()).isEqualTo(1);
+
+        sut.getJavaParser(List.of(a));
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void pooledParserCanBeReused() {
+        JavaParser parser = sut.getJavaParser(List.of());
+
+        List<J.CompilationUnit> first = parser.parse("class A {}");
+        List<J.CompilationUnit> second = parser.parse("class B { A a; }");
+
+        assertThat(first.get(0).getClasses().get(0).getSimpleName()).isEqualTo("A");
+        assertThat(second.get(0).getClasses().get(0).getSimpleName()).isEqualTo("B");
+    }
+
+    @Test
+    void typesOfPreviousParseAreNotReused() {
+        JavaParser parser = sut.getJavaParser(List.of());
+        parser.parse("package p; public class A { void before() {} }");
+
+        List<J.CompilationUnit> compilationUnits = parser.parse("package p; public class A { void after() {} }");
+
+        JavaType.FullyQualified type = compilationUnits.get(0).getClasses().get(0).getType();
+        assertThat(type.getMethods()).extracting(JavaType.Method::getName).containsExactly("after");
+    }
+
+    @Test
+    void classpathOfPooledParserCanBeChanged() {
+        JavaParser parser = sut.getJavaParser(List.of());
+        JavaParser other = sut.getJavaParser(List.of());
+
+        parser.setClasspath(List.of(Path.of("a.jar").toAbsolutePath()));
+
+        assertThat(sut.size()).isEqualTo(2);
+        assertThat(parser.parse("class A {}")).hasSize(1);
+        assertThat(other.parse("class B {}")).hasSize(1);
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void typeCacheIsSharedBetweenParsesOfSameClasspath() {
+        J.CompilationUnit a = sut.getJavaParser(List.of()).parse("class A { String s; }").get(0);
+        J.CompilationUnit b = sut.getJavaParser(List.of()).parse("class B { String t; }").get(0);
+
+        assertThat(fieldType(b)).isSameAs(fieldType(a));
+    }
+
+    private JavaType fieldType(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getClasses().get(0).getType().getMembers().get(0).getType();
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.sbm.GitHubIssue;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.java.api.Method;
 import org.springframework.sbm.java.api.Type;
 import org.springframework.sbm.project.resource.TestProjectContext;
 import org.springframework.sbm.testhelper.common.utils.TestDiff;
@@ -363,6 +364,37 @@ class OpenRewriteTypeTest {
         );
     }
 
+    @Test
+    void testAddMethods() {
+        List<String> templates = List.of(
+                "public List<String> first() {\n" +
+                "return new ArrayList<>();\n" +
+                "}\n",
+                "public Set<String> second() {\n" +
+                "return new HashSet<>();\n" +
+                "}\n");
+
+        Set<String> requiredImports = Set.of("java.util.List",
+                "java.util.ArrayList",
+                "java.util.Set",
+                "java.util.HashSet");
+
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java/Config.java", "public class Config {}")
+                .build();
+
+        Type type = context.getProjectJavaSources().list().get(0).getTypes().get(0);
+        type.addMethods(templates, requiredImports);
+
+        Type modifiedType = context.getProjectJavaSources().list().get(0).getTypes().get(0);
+        assertThat(modifiedType.getMethods()).extracting(Method::getName).containsExactly("first", "second");
+        assertThat(context.getProjectJavaSources().list().get(0).print())
+                .contains("import java.util.ArrayList;")
+                .contains("import java.util.HashSet;")
+                .contains("import java.util.List;")
+                .contains("import java.util.Set;");
+    }
+
     @Test
     void testRemoveSomeImplements() {
         final String sourceCode =
@@ -17,6 +17,8 @@ package org.springframework.sbm.java.impl;
 
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.java.api.JavaSourceAndType;
 import org.springframework.sbm.java.api.ProjectJavaSources;
@@ -118,4 +120,31 @@ class ProjectJavaSourcesImplTest {
                 javaSource.findTypesImplementing("a.b.c.K"));
 
     }
+
+    @Test
+    void lookupsReflectReplacedSourceFiles() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", """
+                package com.example;
+                
+                public class TheClass {}
+                """).build();
+        ProjectJavaSources projectJavaSources = context.getProjectJavaSources();
+        assertThat(projectJavaSources.findJavaSourceDeclaringType("com.example.TheClass")).isPresent();
+        assertThat(projectJavaSources.findTypesImplementing("java.io.Serializable")).isEmpty();
+
+        J.CompilationUnit replacement = JavaParser.fromJavaVersion().build().parse("""
+                package com.example;
+                
+                public class OtherClass implements java.io.Serializable {}
+                """).get(0);
+        OpenRewriteJavaSource javaSource = (OpenRewriteJavaSource) projectJavaSources.list().get(0);
+        javaSource.replaceWith(replacement);
+
+        assertThat(projectJavaSources.findJavaSourceDeclaringType("com.example.TheClass")).isEmpty();
+        assertThat(projectJavaSources.findJavaSourceDeclaringType("com.example.OtherClass").get()).isSameAs(javaSource);
+        List<JavaSourceAndType> typesImplementing = projectJavaSources.findTypesImplementing("java.io.Serializable");
+        assertThat(typesImplementing).hasSize(1);
+        assertThat(typesImplementing.get(0).getType().getFullyQualifiedName()).isEqualTo("com.example.OtherClass");
+    }
 }
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.maven.tree.MavenResolutionResult;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.sbm.GitHubIssue;
 import org.springframework.sbm.build.api.BuildFile;
@@ -28,6 +29,7 @@ import org.springframework.sbm.build.api.DependenciesChangedEvent;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.api.Plugin;
 import org.springframework.sbm.build.util.PomBuilder;
+import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
 import org.springframework.sbm.build.impl.OpenRewriteMavenPlugin;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
@@ -47,6 +49,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
@@ -2714,4 +2717,130 @@ public class OpenRewriteMavenBuildFileTest {
         ProjectContext projectContext = TestProjectContext.buildProjectContext().withMavenRootBuildFileSource(pomXml).build();
         assertThat(projectContext.getApplicationModules().getRootModule().getBuildFile()).isNotNull();
     }
+
+    @Test
+    void batchedModificationsRefreshModelAndPublishEventOnce() {
+        String pomXml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>example</artifactId>
+                    <version>0.1.0-SNAPSHOT</version>
+                </project>
+                """;
+
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        BuildFile sut = TestProjectContext.buildProjectContext(eventPublisher)
+                .withMavenRootBuildFileSource(pomXml)
+                .build()
+                .getBuildFile();
+
+        Dependency dependency = Dependency.builder()
+                .groupId("org.apiguardian")
+                .artifactId("apiguardian-api")
+                .version("1.1.0")
+                .build();
+
+        sut.batch(buildFile -> {
+            buildFile.setProperty("foo", "bar");
+            buildFile.setProperty("baz", "qux");
+            buildFile.addDependencies(List.of(dependency));
+            // model is refreshed when the batch completes
+            assertThat(buildFile.getProperty("foo")).isNull();
+        });
+
+        assertThat(sut.getProperty("foo")).isEqualTo("bar");
+        assertThat(sut.getProperty("baz")).isEqualTo("qux");
+        assertThat(sut.getDeclaredDependencies()).contains(dependency);
+        ArgumentCaptor<DependenciesChangedEvent> argumentCaptor = ArgumentCaptor.forClass(DependenciesChangedEvent.class);
+        assertEventPublished(eventPublisher, argumentCaptor, DependenciesChangedEvent.class, 1);
+    }
+
+    @Test
+    void failedBatchStillRefreshesModelAndPublishesEvent() {
+        String pomXml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>example</artifactId>
+                    <version>0.1.0-SNAPSHOT</version>
+                </project>
+                """;
+
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        BuildFile sut = TestProjectContext.buildProjectContext(eventPublisher)
+                .withMavenRootBuildFileSource(pomXml)
+                .build()
+                .getBuildFile();
+
+        Dependency dependency = Dependency.builder()
+                .groupId("org.apiguardian")
+                .artifactId("apiguardian-api")
+                .version("1.1.0")
+                .build();
+
+        assertThatThrownBy(() -> sut.batch(buildFile -> {
+            buildFile.setProperty("foo", "bar");
+            buildFile.addDependencies(List.of(dependency));
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(sut.getProperty("foo")).isEqualTo("bar");
+        assertThat(sut.getDeclaredDependencies()).contains(dependency);
+        ArgumentCaptor<DependenciesChangedEvent> argumentCaptor = ArgumentCaptor.forClass(DependenciesChangedEvent.class);
+        assertEventPublished(eventPublisher, argumentCaptor, DependenciesChangedEvent.class, 1);
+
+        // no modifications remain pending for the next batch
+        sut.batch(buildFile -> buildFile.setProperty("baz", "qux"));
+        assertEventPublished(eventPublisher, ArgumentCaptor.forClass(DependenciesChangedEvent.class), DependenciesChangedEvent.class, 1);
+    }
+
+    @Test
+    void refreshOnlyResolvesChangedBuildFilesTheirDependentsAndAggregators() {
+        String parentPom = PomBuilder
+                .buildPom("com.example:parent:1.0")
+                .withModules("module1", "module2", "module3")
+                .build();
+        String module1Pom = PomBuilder
+                .buildPom("com.example:parent:1.0", "module1")
+                .unscopedDependencies("com.example:module2:${project.version}")
+                .build();
+        String module2Pom = PomBuilder
+                .buildPom("com.example:parent:1.0", "module2")
+                .build();
+        String module3Pom = PomBuilder
+                .buildPom("com.example:parent:1.0", "module3")
+                .build();
+
+        ProjectContext context = TestProjectContext
+                .buildProjectContext()
+                .withMavenRootBuildFileSource(parentPom)
+                .withMavenBuildFileSource("module1", module1Pom)
+                .withMavenBuildFileSource("module2", module2Pom)
+                .withMavenBuildFileSource("module3", module3Pom)
+                .build();
+
+        OpenRewriteMavenBuildFile parent = (OpenRewriteMavenBuildFile) context.getApplicationModules().getRootModule().getBuildFile();
+        OpenRewriteMavenBuildFile module1 = (OpenRewriteMavenBuildFile) context.getApplicationModules().getModule("module1").getBuildFile();
+        OpenRewriteMavenBuildFile module2 = (OpenRewriteMavenBuildFile) context.getApplicationModules().getModule("module2").getBuildFile();
+        OpenRewriteMavenBuildFile module3 = (OpenRewriteMavenBuildFile) context.getApplicationModules().getModule("module3").getBuildFile();
+        MavenResolutionResult parentModel = parent.getPom();
+        MavenResolutionResult module1Model = module1.getPom();
+        MavenResolutionResult module3Model = module3.getPom();
+
+        module2.setProperty("foo", "bar");
+
+        assertThat(module2.getProperty("foo")).isEqualTo("bar");
+        assertThat(module1.getPom()).isNotSameAs(module1Model);
+        assertThat(parent.getPom()).isNotSameAs(parentModel);
+        assertThat(parent.getPom().getModules())
+                .filteredOn(m -> m.getPom().getArtifactId().equals("module2"))
+                .singleElement()
+                .satisfies(m -> assertThat(m.getPom().getProperties()).containsEntry("foo", "bar"));
+        assertThat(module3.getPom()).isSameAs(module3Model);
+    }
 }
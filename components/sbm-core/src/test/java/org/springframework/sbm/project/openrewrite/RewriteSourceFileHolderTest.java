@@ -75,6 +75,31 @@ class RewriteSourceFileHolderTest {
         assertThat(sut.getSourceFile()).isSameAs(newSourceFile);
     }
 
+    @Test
+    void replaceWithSameInstanceShouldNotMarkAsChanged() {
+        sut.replaceWith(sut.getSourceFile());
+
+        assertThat(sut.hasChanges()).isFalse();
+    }
+
+    @Test
+    void printShouldReflectReplacedSourceFile() {
+        assertThat(sut.print()).isEqualTo(SOURCE_CODE);
+        J.CompilationUnit newSourceFile = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.foo.bar; class Bar{}")
+                .build()
+                .getProjectJavaSources()
+                .list()
+                .get(0)
+                .getResource()
+                .getSourceFile();
+
+        sut.replaceWith(newSourceFile);
+
+        assertThat(sut.print()).isEqualTo("package com.foo.bar; class Bar{}");
+        assertThat(sut.print()).isSameAs(sut.print());
+    }
+
     @Test
     void testSourcePath() {
         Path sourcePath = sut.getSourcePath();
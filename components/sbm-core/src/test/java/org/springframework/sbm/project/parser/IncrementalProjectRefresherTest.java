@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.marker.Markers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
+import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.RewriteMavenParser;
+import org.springframework.sbm.build.migration.MavenPomCacheProvider;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextFactory;
+import org.springframework.sbm.engine.context.ProjectRootPathResolver;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.engine.precondition.PreconditionVerifier;
+import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
+import org.springframework.sbm.java.impl.RewriteJavaParser;
+import org.springframework.sbm.java.refactoring.JavaRefactoringFactoryImpl;
+import org.springframework.sbm.java.util.BasePackageCalculator;
+import org.springframework.sbm.project.RewriteSourceFileWrapper;
+import org.springframework.sbm.project.resource.*;
+import org.springframework.sbm.properties.parser.RewritePropertiesParser;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.sbm.scopes.ScopeConfiguration;
+import org.springframework.sbm.xml.parser.RewriteXmlParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = {
+        IncrementalProjectRefresher.class,
+        ProjectContextInitializer.class,
+        ProjectSnapshotCache.class,
+        RewriteMavenArtifactDownloader.class,
+        ConcurrentArtifactDownloader.class,
+        JavaProvenanceMarkerFactory.class,
+        BasePackageCalculator.class,
+        ProjectRootPathResolver.class,
+        PreconditionVerifier.class,
+        ProjectContextFactory.class,
+        MavenPomCacheProvider.class,
+        SbmApplicationProperties.class,
+        RewriteMigrationResultMerger.class,
+        PathScanner.class,
+        RewriteJavaParser.class,
+        RewritePlainTextParser.class,
+        RewriteYamlParser.class,
+        RewriteJsonParser.class,
+        ResourceParser.class,
+        RewritePropertiesParser.class,
+        MavenProjectParser.class,
+        RewriteMavenParser.class,
+        MavenSettingsInitializer.class,
+        RewriteXmlParser.class,
+        ResourceHelper.class,
+        ResourceLoader.class,
+        GitSupport.class,
+        ProjectResourceSetHolder.class,
+        JavaRefactoringFactoryImpl.class,
+        ProjectResourceWrapperRegistry.class,
+        RewriteSourceFileWrapper.class,
+        MavenConfigHandler.class,
+        ScopeConfiguration.class,
+        ScanScope.class,
+        ExecutionScope.class
+}, properties = {"sbm.gitSupportEnabled=false", "sbm.incrementalRescanEnabled=true"})
+class IncrementalProjectRefresherTest {
+
+    private static final String POM = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                     xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>com.example</groupId>
+                <artifactId>example</artifactId>
+                <version>1.0.0</version>
+            </project>
+            """;
+
+    @TempDir
+    Path projectRoot;
+
+    @Autowired
+    private IncrementalProjectRefresher sut;
+
+    @Autowired
+    private ProjectContextInitializer projectContextInitializer;
+
+    @Autowired
+    private PathScanner pathScanner;
+
+    @Test
+    void refreshedResourcesEqualFullScan() throws Exception {
+        write("pom.xml", POM);
+        write("src/main/java/com/example/A.java", "package com.example; public class A {}");
+        write("src/main/java/com/example/B.java", "package com.example; public class B { A a; }");
+        write("src/main/resources/application.properties", "a=b");
+        commitAll();
+        ProjectContext context = scan();
+
+        write("src/main/java/com/example/A.java", "package com.example; public class A { void m() {} }");
+        write("src/main/java/com/example/C.java", "package com.example; public class C {}");
+        write("src/main/resources/application.properties", "a=c");
+        write("README.md", "# Example");
+        write(".github/workflows/build.yml", "on: push");
+        write("scripts/Tool.java", "public class Tool {}");
+
+        assertThat(sut.refresh(context)).isTrue();
+
+        Map<Path, String> refreshed = printAll(context);
+        assertThat(refreshed).isEqualTo(printAll(scan()));
+        assertThat(refreshed).doesNotContainKeys(Path.of("README.md"), Path.of(".github/workflows/build.yml"), Path.of("scripts/Tool.java"));
+        assertThat(refreshed).containsEntry(Path.of("src/main/java/com/example/C.java"), "package com.example; public class C {}");
+    }
+
+    @Test
+    void changesOutsideSourceAndResourceFoldersLeaveResourcesUntouched() throws Exception {
+        write("pom.xml", POM);
+        write("src/main/java/com/example/A.java", "package com.example; public class A {}");
+        commitAll();
+        ProjectContext context = scan();
+        long modificationCount = context.getProjectResources().getModificationCount();
+
+        write("README.md", "# Example");
+        write("scripts/Tool.java", "public class Tool {}");
+
+        assertThat(sut.refresh(context)).isTrue();
+
+        assertThat(context.getProjectResources().getModificationCount()).isEqualTo(modificationCount);
+        assertThat(printAll(context)).isEqualTo(printAll(scan()));
+    }
+
+    @Test
+    void addedResourcesGetMarkersOfTheirModuleAndSourceSet() throws Exception {
+        write("pom.xml", POM);
+        write("src/main/java/com/example/A.java", "package com.example; public class A {}");
+        write("src/test/java/com/example/ATest.java", "package com.example; public class ATest {}");
+        commitAll();
+        ProjectContext context = scan();
+        Markers mainMarkers = getMarkers(context, "src/main/java/com/example/A.java");
+        Markers testMarkers = getMarkers(context, "src/test/java/com/example/ATest.java");
+
+        write("src/main/java/com/example/B.java", "package com.example; public class B {}");
+        write("src/test/java/com/example/BTest.java", "package com.example; public class BTest {}");
+        write("src/main/resources/application.properties", "a=b");
+
+        assertThat(sut.refresh(context)).isTrue();
+
+        assertThat(getMarkerIds(getMarkers(context, "src/main/java/com/example/B.java"))).isEqualTo(getMarkerIds(mainMarkers));
+        assertThat(getMarkerIds(getMarkers(context, "src/test/java/com/example/BTest.java"))).isEqualTo(getMarkerIds(testMarkers));
+        Markers resourceMarkers = getMarkers(context, "src/main/resources/application.properties");
+        assertThat(resourceMarkers.findFirst(JavaSourceSet.class)).map(JavaSourceSet::getId)
+                .isEqualTo(mainMarkers.findFirst(JavaSourceSet.class).map(JavaSourceSet::getId));
+        assertThat(resourceMarkers.findFirst(JavaProject.class)).map(JavaProject::getId)
+                .isEqualTo(mainMarkers.findFirst(JavaProject.class).map(JavaProject::getId));
+    }
+
+    private Markers getMarkers(ProjectContext context, String path) {
+        return context.getProjectResources().findByAbsolutePath(projectRoot.resolve(path)).orElseThrow().getSourceFile().getMarkers();
+    }
+
+    private Set<UUID> getMarkerIds(Markers markers) {
+        return markers.getMarkers().stream().map(Marker::getId).collect(Collectors.toSet());
+    }
+
+    private ProjectContext scan() {
+        return projectContextInitializer.initProjectContext(projectRoot, pathScanner.scan(projectRoot));
+    }
+
+    private Map<Path, String> printAll(ProjectContext context) {
+        Map<Path, String> printed = new TreeMap<>();
+        context.getProjectResources().stream().forEach(r -> printed.put(r.getSourcePath(), r.print()));
+        return printed;
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectRoot.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private void commitAll() throws Exception {
+        try (Git git = GitSupport.initGit(projectRoot.toFile())) {
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("initial").call();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
+import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.RewriteMavenParser;
+import org.springframework.sbm.build.migration.MavenPomCacheProvider;
+import org.springframework.sbm.java.impl.RewriteJavaParser;
+import org.springframework.sbm.project.resource.ResourceHelper;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.properties.parser.RewritePropertiesParser;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.sbm.scopes.ScopeConfiguration;
+import org.springframework.sbm.xml.parser.RewriteXmlParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = {
+        MavenProjectParser.class,
+        RewriteMavenParser.class,
+        MavenSettingsInitializer.class,
+        RewriteMavenArtifactDownloader.class,
+        ConcurrentArtifactDownloader.class,
+        JavaProvenanceMarkerFactory.class,
+        MavenPomCacheProvider.class,
+        SbmApplicationProperties.class,
+        PathScanner.class,
+        RewriteJavaParser.class,
+        RewritePlainTextParser.class,
+        RewriteYamlParser.class,
+        RewriteJsonParser.class,
+        ResourceParser.class,
+        RewritePropertiesParser.class,
+        RewriteXmlParser.class,
+        ResourceHelper.class,
+        ResourceLoader.class,
+        MavenConfigHandler.class,
+        ScopeConfiguration.class,
+        ScanScope.class,
+        ExecutionScope.class
+}, properties = {"sbm.gitSupportEnabled=false", "sbm.parsingThreads=4"})
+class MavenProjectParserParallelParsingTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Autowired
+    private MavenProjectParser sut;
+
+    @Autowired
+    private PathScanner pathScanner;
+
+    @Autowired
+    private SbmApplicationProperties sbmApplicationProperties;
+
+    @AfterEach
+    void afterEach() {
+        sbmApplicationProperties.setParallelParsingEnabled(false);
+    }
+
+    @Test
+    void parallelParsingOfModulesEqualsSequentialParsing() throws IOException {
+        write("pom.xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>parent</artifactId>
+                    <version>1.0.0</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>module-a</module>
+                        <module>module-b</module>
+                        <module>module-c</module>
+                    </modules>
+                </project>
+                """);
+        for (String module : List.of("a", "b", "c")) {
+            write("module-" + module + "/pom.xml", """
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                             xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                        <modelVersion>4.0.0</modelVersion>
+                        <parent>
+                            <groupId>com.example</groupId>
+                            <artifactId>parent</artifactId>
+                            <version>1.0.0</version>
+                        </parent>
+                        <artifactId>module-%s</artifactId>
+                    </project>
+                    """.formatted(module));
+            String pkg = "com.example." + module;
+            String dir = "module-" + module + "/src/%s/java/com/example/" + module + "/";
+            write(dir.formatted("main") + "A.java", "package %s; public class A {}".formatted(pkg));
+            write(dir.formatted("main") + "B.java", "package %s; public class B { A a; }".formatted(pkg));
+            write(dir.formatted("test") + "BTest.java", "package %s; public class BTest { B b; }".formatted(pkg));
+            write("module-" + module + "/src/main/resources/application.properties", "module=" + module);
+            write("module-" + module + "/src/test/resources/application.yml", "module: " + module);
+        }
+
+        List<SourceFile> sequential = parse(false);
+        List<SourceFile> parallel = parse(true);
+
+        assertThat(sourcePaths(parallel))
+                .contains(Path.of("module-c/src/test/java/com/example/c/BTest.java"), Path.of("module-c/src/test/resources/application.yml"))
+                .isEqualTo(sourcePaths(sequential));
+        assertThat(parallel).extracting(SourceFile::printAll).isEqualTo(sequential.stream().map(SourceFile::printAll).toList());
+        assertThat(parallel).extracting(this::describeMarkers).isEqualTo(sequential.stream().map(this::describeMarkers).toList());
+        assertThat(parallel).extracting(this::describeTypes).isEqualTo(sequential.stream().map(this::describeTypes).toList());
+    }
+
+    private List<SourceFile> parse(boolean parallel) {
+        sbmApplicationProperties.setParallelParsingEnabled(parallel);
+        return sut.parse(projectRoot, pathScanner.scan(projectRoot));
+    }
+
+    private List<Path> sourcePaths(List<SourceFile> sourceFiles) {
+        return sourceFiles.stream().map(SourceFile::getSourcePath).toList();
+    }
+
+    /**
+     * Marker ids differ between parses, the markers are described by their type and content.
+     */
+    private List<String> describeMarkers(SourceFile sourceFile) {
+        return sourceFile.getMarkers().getMarkers().stream()
+                .map(this::describeMarker)
+                .toList();
+    }
+
+    private String describeMarker(Marker marker) {
+        String description = marker.getClass().getSimpleName();
+        if (marker instanceof JavaSourceSet sourceSet) {
+            description += ":" + sourceSet.getName() + ":" + sourceSet.getClasspath().stream()
+                    .map(JavaType.FullyQualified::getFullyQualifiedName)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        } else if (marker instanceof JavaProject javaProject) {
+            description += ":" + javaProject.getProjectName();
+        } else if (marker instanceof MavenResolutionResult mavenResolutionResult) {
+            description += ":" + mavenResolutionResult.getPom().getGav();
+        }
+        return description;
+    }
+
+    private List<String> describeTypes(SourceFile sourceFile) {
+        if (sourceFile instanceof J.CompilationUnit cu) {
+            return cu.getClasses().stream()
+                    .flatMap(c -> c.getBody().getStatements().stream())
+                    .filter(J.VariableDeclarations.class::isInstance)
+                    .map(J.VariableDeclarations.class::cast)
+                    .map(v -> String.valueOf(v.getType()))
+                    .toList();
+        }
+        return List.of();
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectRoot.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -16,11 +16,14 @@
 package org.springframework.sbm.project.parser;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.core.io.DefaultResourceLoader;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
-import org.springframework.sbm.project.resource.ResourceHelper;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -44,7 +47,7 @@ class PathScannerTest {
 
         SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
         sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/foo.bar"));
-        PathScanner sut = new PathScanner(sbmApplicationProperties, new ResourceHelper(new DefaultResourceLoader()));
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
         List<Resource> resources = sut.scan(Path.of(TESTCODE_DIR).toAbsolutePath().normalize());
         assertThat(resources).hasSize(3);
     }
@@ -54,10 +57,70 @@ class PathScannerTest {
 
         SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
         sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/*.xslt", "**/*.wsdl"));
-        PathScanner sut = new PathScanner(sbmApplicationProperties, new ResourceHelper(new DefaultResourceLoader()));
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
         List<Resource> resources = sut.scan(Path.of(TESTCODE_DIR).toAbsolutePath().normalize());
 
         assertThat(resources).hasSize(1);
     }
 
-}
\ No newline at end of file
+    @Test
+    void doesNotDescendIntoIgnoredDirectories(@TempDir Path projectRoot) throws IOException {
+        write(projectRoot.resolve("pom.xml"));
+        write(projectRoot.resolve("src/main/java/A.java"));
+        write(projectRoot.resolve("node_modules/lib/index.js"));
+        Path target = projectRoot.resolve("target");
+        write(target.resolve("classes/A.class"));
+
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/node_modules/**", "**/target/**"));
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
+
+        assertThat(sut.isIgnoredDirectory(projectRoot, target)).isTrue();
+        assertThat(sut.isIgnoredDirectory(projectRoot, projectRoot.resolve("src"))).isFalse();
+        assertThat(sut.scan(projectRoot)).extracting(r -> r.getFile().toPath())
+                .containsExactly(projectRoot.resolve("pom.xml"), projectRoot.resolve("src/main/java/A.java"));
+    }
+
+    @Test
+    void honorsGitIgnoreFilesWhenEnabled(@TempDir Path projectRoot) throws IOException {
+        Files.writeString(projectRoot.resolve(".gitignore"), "generated/\n*.log\n");
+        Files.createDirectories(projectRoot.resolve("module"));
+        Files.writeString(projectRoot.resolve("module/.gitignore"), "!keep.log\n");
+        write(projectRoot.resolve("pom.xml"));
+        write(projectRoot.resolve("generated/Gen.java"));
+        write(projectRoot.resolve("debug.log"));
+        write(projectRoot.resolve("module/keep.log"));
+
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/.gitignore"));
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
+        assertThat(sut.scan(projectRoot)).hasSize(4);
+
+        sbmApplicationProperties.setGitIgnoreSupportEnabled(true);
+        assertThat(sut.scan(projectRoot)).extracting(r -> r.getFile().toPath())
+                .containsExactly(projectRoot.resolve("module/keep.log"), projectRoot.resolve("pom.xml"));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void followsLinksToDirectoriesAndSkipsCycles(@TempDir Path tempDir) throws IOException {
+        Path projectRoot = Files.createDirectories(tempDir.resolve("project"));
+        Path shared = tempDir.resolve("shared");
+        write(projectRoot.resolve("pom.xml"));
+        write(shared.resolve("src/main/java/A.java"));
+        Files.createSymbolicLink(projectRoot.resolve("linked"), shared);
+        Files.createSymbolicLink(projectRoot.resolve("cycle"), projectRoot);
+        Files.createSymbolicLink(projectRoot.resolve("broken"), tempDir.resolve("missing"));
+
+        PathScanner sut = new PathScanner(new SbmApplicationProperties());
+
+        assertThat(sut.scan(projectRoot)).extracting(r -> r.getFile().toPath())
+                .containsExactly(projectRoot.resolve("linked/src/main/java/A.java"), projectRoot.resolve("pom.xml"));
+    }
+
+    private void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "");
+    }
+
+}
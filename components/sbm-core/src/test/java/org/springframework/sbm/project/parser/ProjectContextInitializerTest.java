@@ -34,6 +34,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.build.migration.MavenPomCacheProvider;
@@ -67,7 +68,9 @@ import static org.springframework.sbm.project.parser.ResourceVerifierTestHelper.
 
 @SpringBootTest(classes = {
         ProjectContextInitializer.class,
+        ProjectSnapshotCache.class,
         RewriteMavenArtifactDownloader.class,
+        ConcurrentArtifactDownloader.class,
         JavaProvenanceMarkerFactory.class,
         BasePackageCalculator.class,
         BasePackageCalculator.class,
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.sbm.build.impl.ConcurrentArtifactDownloader;
+import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.RewriteMavenParser;
+import org.springframework.sbm.build.migration.MavenPomCacheProvider;
+import org.springframework.sbm.java.impl.RewriteJavaParser;
+import org.springframework.sbm.project.resource.ResourceHelper;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.properties.parser.RewritePropertiesParser;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.sbm.scopes.ScopeConfiguration;
+import org.springframework.sbm.xml.parser.RewriteXmlParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trip of a parsed multi-module Maven project through the {@link ProjectSnapshotCache}.
+ */
+@SpringBootTest(classes = {
+        MavenProjectParser.class,
+        ProjectSnapshotCache.class,
+        RewriteMavenParser.class,
+        MavenSettingsInitializer.class,
+        RewriteMavenArtifactDownloader.class,
+        ConcurrentArtifactDownloader.class,
+        JavaProvenanceMarkerFactory.class,
+        MavenPomCacheProvider.class,
+        SbmApplicationProperties.class,
+        PathScanner.class,
+        RewriteJavaParser.class,
+        RewritePlainTextParser.class,
+        RewriteYamlParser.class,
+        RewriteJsonParser.class,
+        ResourceParser.class,
+        RewritePropertiesParser.class,
+        RewriteXmlParser.class,
+        ResourceHelper.class,
+        ResourceLoader.class,
+        MavenConfigHandler.class,
+        ScopeConfiguration.class,
+        ScanScope.class,
+        ExecutionScope.class
+}, properties = {"sbm.gitSupportEnabled=false", "sbm.lstCacheEnabled=true"})
+class ProjectSnapshotCacheRoundTripTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @TempDir
+    Path cacheDir;
+
+    @Autowired
+    private MavenProjectParser mavenProjectParser;
+
+    @Autowired
+    private PathScanner pathScanner;
+
+    @Autowired
+    private SbmApplicationProperties sbmApplicationProperties;
+
+    @Autowired
+    private ProjectSnapshotCache sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sbmApplicationProperties.setLstCacheDir(cacheDir.toString());
+    }
+
+    @Test
+    void restoresParsedMultiModuleProject() throws IOException {
+        write("pom.xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>parent</artifactId>
+                    <version>1.0.0</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>module-a</module>
+                        <module>module-b</module>
+                    </modules>
+                </project>
+                """);
+        for (String module : List.of("a", "b")) {
+            write("module-" + module + "/pom.xml", """
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                             xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                        <modelVersion>4.0.0</modelVersion>
+                        <parent>
+                            <groupId>com.example</groupId>
+                            <artifactId>parent</artifactId>
+                            <version>1.0.0</version>
+                        </parent>
+                        <artifactId>module-%s</artifactId>
+                    </project>
+                    """.formatted(module));
+            String dir = "module-" + module + "/src/%s/java/com/example/" + module + "/";
+            write(dir.formatted("main") + "A.java", "package com.example.%s; public class A {}".formatted(module));
+            write(dir.formatted("main") + "B.java", "package com.example.%s; public class B { A a; }".formatted(module));
+            write(dir.formatted("test") + "BTest.java", "package com.example.%s; public class BTest { B b; }".formatted(module));
+            write("module-" + module + "/src/main/resources/application.properties", "module=" + module);
+        }
+        List<Resource> resources = pathScanner.scan(projectRoot);
+        List<SourceFile> parsed = mavenProjectParser.parse(projectRoot, resources);
+
+        sut.store(projectRoot, resources, parsed);
+        Optional<List<SourceFile>> restored = sut.load(projectRoot, resources);
+
+        assertThat(restored).isPresent();
+        List<SourceFile> sourceFiles = restored.get();
+        assertThat(sourceFiles).extracting(SourceFile::getSourcePath)
+                .contains(Path.of("pom.xml"), Path.of("module-b/src/test/java/com/example/b/BTest.java"))
+                .isEqualTo(parsed.stream().map(SourceFile::getSourcePath).toList());
+        assertThat(sourceFiles).extracting(SourceFile::printAll).isEqualTo(parsed.stream().map(SourceFile::printAll).toList());
+        assertThat(sourceFiles).extracting(this::describeMarkers).isEqualTo(parsed.stream().map(this::describeMarkers).toList());
+        assertThat(sourceFiles).extracting(this::describeTypes).isEqualTo(parsed.stream().map(this::describeTypes).toList());
+
+        MavenResolutionResult rootPom = sourceFiles.stream()
+                .filter(s -> s.getSourcePath().equals(Path.of("pom.xml")))
+                .map(Xml.Document.class::cast)
+                .findFirst()
+                .flatMap(d -> d.getMarkers().findFirst(MavenResolutionResult.class))
+                .orElseThrow();
+        assertThat(rootPom.getModules()).extracting(m -> m.getPom().getArtifactId()).containsExactlyInAnyOrder("module-a", "module-b");
+        assertThat(rootPom.getModules()).allSatisfy(m -> assertThat(m.getParent().getPom().getGav()).isEqualTo(rootPom.getPom().getGav()));
+    }
+
+    /**
+     * Marker ids are kept by the snapshot but the markers do not implement {@code equals},
+     * they are described by their type and content.
+     */
+    private List<String> describeMarkers(SourceFile sourceFile) {
+        return sourceFile.getMarkers().getMarkers().stream()
+                .map(this::describeMarker)
+                .toList();
+    }
+
+    private String describeMarker(Marker marker) {
+        String description = marker.getClass().getSimpleName() + ":" + marker.getId();
+        if (marker instanceof JavaSourceSet sourceSet) {
+            description += ":" + sourceSet.getName() + ":" + sourceSet.getClasspath().stream()
+                    .map(JavaType.FullyQualified::getFullyQualifiedName)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        } else if (marker instanceof JavaProject javaProject) {
+            description += ":" + javaProject.getProjectName();
+        } else if (marker instanceof MavenResolutionResult mavenResolutionResult) {
+            description += ":" + mavenResolutionResult.getPom().getGav();
+        }
+        return description;
+    }
+
+    private List<String> describeTypes(SourceFile sourceFile) {
+        if (sourceFile instanceof J.CompilationUnit cu) {
+            return cu.getClasses().stream()
+                    .flatMap(c -> c.getBody().getStatements().stream())
+                    .filter(J.VariableDeclarations.class::isInstance)
+                    .map(J.VariableDeclarations.class::cast)
+                    .map(v -> String.valueOf(v.getType()))
+                    .toList();
+        }
+        return List.of();
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectRoot.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
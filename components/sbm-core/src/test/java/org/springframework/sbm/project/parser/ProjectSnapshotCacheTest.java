@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectSnapshotCacheTest {
+
+    @TempDir
+    Path projectDir;
+
+    @TempDir
+    Path cacheDir;
+
+    private ProjectSnapshotCache sut;
+
+    @BeforeEach
+    void beforeEach() {
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setLstCacheEnabled(true);
+        sbmApplicationProperties.setLstCacheDir(cacheDir.toString());
+        sut = new ProjectSnapshotCache(sbmApplicationProperties);
+    }
+
+    @Test
+    void restoresStoredSourceFiles() throws IOException {
+        Path javaFile = write("src/main/java/com/example/A.java", "package com.example; public class A { String s; }");
+        List<Resource> resources = List.of(new FileSystemResource(javaFile));
+        List<SourceFile> sourceFiles = parse(javaFile);
+
+        sut.store(projectDir, resources, sourceFiles);
+        Optional<List<SourceFile>> restored = sut.load(projectDir, resources);
+
+        assertThat(restored).isPresent();
+        assertThat(restored.get()).hasSize(1);
+        J.CompilationUnit compilationUnit = (J.CompilationUnit) restored.get().get(0);
+        assertThat(compilationUnit.printAll()).isEqualTo(sourceFiles.get(0).printAll());
+        assertThat(compilationUnit.getSourcePath()).isEqualTo(sourceFiles.get(0).getSourcePath());
+        assertThat(compilationUnit.getClasses().get(0).getType().getFullyQualifiedName()).isEqualTo("com.example.A");
+    }
+
+    @Test
+    void changedFileMissesCache() throws IOException {
+        Path javaFile = write("src/main/java/com/example/A.java", "package com.example; public class A { String s; }");
+        List<Resource> resources = List.of(new FileSystemResource(javaFile));
+        sut.store(projectDir, resources, parse(javaFile));
+
+        // same size, only the modification time tells the change
+        FileTime lastModified = Files.getLastModifiedTime(javaFile);
+        write("src/main/java/com/example/A.java", "package com.example; public class A { String t; }");
+        Files.setLastModifiedTime(javaFile, FileTime.fromMillis(lastModified.toMillis() + 2000));
+
+        assertThat(sut.load(projectDir, resources)).isEmpty();
+    }
+
+    @Test
+    void addedResourceMissesCache() throws IOException {
+        Path javaFile = write("src/main/java/com/example/A.java", "package com.example; public class A {}");
+        sut.store(projectDir, List.of(new FileSystemResource(javaFile)), parse(javaFile));
+
+        Path addedFile = write("src/main/resources/application.properties", "a=b");
+
+        assertThat(sut.load(projectDir, List.of(new FileSystemResource(javaFile), new FileSystemResource(addedFile)))).isEmpty();
+    }
+
+    private List<SourceFile> parse(Path javaFile) {
+        return new ArrayList<>(JavaParser.fromJavaVersion().build().parse(List.of(javaFile), projectDir, new InMemoryExecutionContext()));
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.springframework.sbm.project.resource.ProjectResourceSetSerializer.WriteStatistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectResourceSetSerializerTest {
+
+    @TempDir
+    Path projectDir;
+
+    private final ProjectResourceSetSerializer sut = new ProjectResourceSetSerializer(new ProjectResourceSerializer(), new SbmApplicationProperties());
+
+    @Test
+    void writesChangedSkipsIdenticalAndDeletes() throws IOException {
+        Files.writeString(projectDir.resolve("identical.txt"), "same");
+        Files.writeString(projectDir.resolve("changed.txt"), "old");
+        Files.writeString(projectDir.resolve("deleted.txt"), "gone");
+        RewriteSourceFileHolder<PlainText> identical = changedHolder("identical.txt", "same");
+        RewriteSourceFileHolder<PlainText> changed = changedHolder("changed.txt", "new");
+        RewriteSourceFileHolder<PlainText> deleted = changedHolder("deleted.txt", "gone");
+        RewriteSourceFileHolder<PlainText> untouched = holder("untouched.txt", "not written");
+        deleted.delete();
+        ProjectResourceSet projectResourceSet = new ProjectResourceSet(new ArrayList<>(List.of(identical, changed, deleted, untouched)));
+
+        WriteStatistics statistics = sut.writeChanges(projectResourceSet);
+
+        assertThat(statistics.written()).isEqualTo(1);
+        assertThat(statistics.identical()).isEqualTo(1);
+        assertThat(statistics.deleted()).isEqualTo(1);
+        assertThat(statistics.writtenBytes()).isEqualTo(3);
+        assertThat(Files.readString(projectDir.resolve("changed.txt"))).isEqualTo("new");
+        assertThat(projectDir.resolve("deleted.txt")).doesNotExist();
+        assertThat(projectDir.resolve("untouched.txt")).doesNotExist();
+        assertThat(identical.hasChanges()).isFalse();
+        assertThat(changed.hasChanges()).isFalse();
+        assertThat(projectResourceSet.size()).isEqualTo(3);
+        try (var files = Files.list(projectDir)) {
+            assertThat(files.map(p -> p.getFileName().toString())).containsExactlyInAnyOrder("identical.txt", "changed.txt");
+        }
+    }
+
+    @Test
+    void writesManyResourcesConcurrently() throws IOException {
+        List<RewriteSourceFileHolder<? extends SourceFile>> resources = IntStream.range(0, 100)
+                .mapToObj(i -> (RewriteSourceFileHolder<? extends SourceFile>) changedHolder("dir" + (i % 7) + "/file" + i + ".txt", "content " + i))
+                .toList();
+
+        WriteStatistics statistics = sut.writeChanges(new ProjectResourceSet(resources));
+
+        assertThat(statistics.written()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(Files.readString(projectDir.resolve("dir" + (i % 7) + "/file" + i + ".txt"))).isEqualTo("content " + i);
+        }
+    }
+
+    private RewriteSourceFileHolder<PlainText> changedHolder(String path, String content) {
+        RewriteSourceFileHolder<PlainText> holder = holder(path, content);
+        holder.markChanged();
+        return holder;
+    }
+
+    private RewriteSourceFileHolder<PlainText> holder(String path, String content) {
+        PlainText plainText = new PlainTextParser().parse(content).get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(projectDir, plainText);
+    }
+}
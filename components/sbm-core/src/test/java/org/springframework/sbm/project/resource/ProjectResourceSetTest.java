@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectResourceSetTest {
+
+    private static final Path PROJECT_DIR = TestProjectContext.getDefaultProjectRoot();
+
+    @Test
+    void findByAbsolutePathAndId() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt");
+        RewriteSourceFileHolder<PlainText> b = holder("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a, b));
+
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.txt"))).containsSame(b);
+        assertThat(sut.findById(a.getId())).containsSame(a);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("c.txt"))).isEmpty();
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("b.txt"))).isEqualTo(1);
+    }
+
+    @Test
+    void indexesFollowAddReplaceAndDelete() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a)));
+
+        RewriteSourceFileHolder<PlainText> b = holder("b.txt");
+        sut.add(b);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.txt"))).containsSame(b);
+
+        RewriteSourceFileHolder<PlainText> replacement = holder("a.txt");
+        sut.replace(PROJECT_DIR.resolve("a.txt"), replacement);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).containsSame(replacement);
+        assertThat(sut.findById(a.getId())).isEmpty();
+
+        b.delete();
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.txt"))).isEmpty();
+        sut.clearDeletedResources();
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("a.txt"))).isEqualTo(0);
+    }
+
+    @Test
+    void findByAbsolutePathAfterMove() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a));
+
+        a.moveTo(Path.of("moved/a.txt"));
+
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).isEmpty();
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("moved/a.txt"))).containsSame(a);
+    }
+
+    @Test
+    void findByWrapperType() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt");
+        RewriteSourceFileHolder<PlainText> b = holder("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a, b));
+        b.delete();
+
+        List<RewriteSourceFileHolder> found = sut.findByWrapperType(RewriteSourceFileHolder.class);
+
+        assertThat(found).containsExactly(a);
+        assertThat(sut.findByWrapperType(StringProjectResource.class)).isEmpty();
+    }
+
+    @Test
+    void replaceAll() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt");
+        RewriteSourceFileHolder<PlainText> b = holder("b.txt");
+        RewriteSourceFileHolder<PlainText> c = holder("c.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b, c)));
+        c.delete();
+        RewriteSourceFileHolder<PlainText> replacement = holder("b.txt");
+
+        sut.replaceAll(r -> r == b ? replacement : r);
+
+        assertThat(sut.list()).containsExactly(a, replacement);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.txt"))).containsSame(replacement);
+        assertThat(sut.findById(b.getId())).isEmpty();
+        assertThat(sut.streamIncludingDeleted()).contains(c);
+    }
+
+    @Test
+    void ownedResourcesUpdateIndexesWhenModified() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt");
+        RewriteSourceFileHolder<PlainText> b = holder("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b)));
+        sut.attachResources();
+
+        a.moveTo(Path.of("moved/a.txt"));
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).isEmpty();
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("moved/a.txt"))).containsSame(a);
+
+        PlainText renamed = new PlainTextParser().parse("renamed").get(0).withSourcePath(Path.of("c.txt"));
+        UUID previousId = b.getId();
+        b.replaceWith(renamed);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("c.txt"))).containsSame(b);
+        assertThat(sut.findById(renamed.getId())).containsSame(b);
+        assertThat(sut.findById(previousId)).isEmpty();
+
+        RewriteSourceFileHolder<PlainText> sameLocation = holder("c.txt");
+        sut.add(sameLocation);
+        b.delete();
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("c.txt"))).containsSame(sameLocation);
+        assertThat(sut.getStructuralModificationCount()).isEqualTo(3);
+    }
+
+    @Test
+    void replaceAndRemoveKeepWrapperTypeIndexAndOrder() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt");
+        RewriteSourceFileHolder<PlainText> b = holder("b.txt");
+        RewriteSourceFileHolder<PlainText> c = holder("c.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b, c)));
+        sut.attachResources();
+        StringProjectResource replacement = new StringProjectResource(PROJECT_DIR, PROJECT_DIR.resolve("b.txt"), "replacement", new InMemoryExecutionContext());
+
+        sut.replace(PROJECT_DIR.resolve("b.txt"), replacement);
+
+        assertThat(sut.findByWrapperType(StringProjectResource.class)).containsExactly(replacement);
+        assertThat(sut.findByWrapperType(RewriteSourceFileHolder.class)).containsExactly(a, replacement, c);
+
+        sut.remove(PROJECT_DIR.resolve("a.txt"));
+
+        assertThat(sut.size()).isEqualTo(2);
+        assertThat(sut.get(0)).isSameAs(replacement);
+        assertThat(sut.get(1)).isSameAs(c);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).isEmpty();
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("c.txt"))).containsSame(c);
+        assertThat(sut.findById(c.getId())).containsSame(c);
+        assertThat(sut.findByWrapperType(RewriteSourceFileHolder.class)).containsExactly(replacement, c);
+
+        c.delete();
+        sut.clearDeletedResources();
+
+        assertThat(sut.list()).containsExactly(replacement);
+        assertThat(sut.streamIncludingDeleted()).containsExactly(replacement);
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("b.txt"))).isEqualTo(0);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.txt"))).containsSame(replacement);
+    }
+
+    private RewriteSourceFileHolder<PlainText> holder(String path) {
+        PlainText plainText = new PlainTextParser().parse("content of " + path).get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(PROJECT_DIR, plainText);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectResourceWrapperRegistryTest {
+
+    private static final Path PROJECT_DIR = TestProjectContext.getDefaultProjectRoot();
+
+    @Test
+    void onlyWrappersSupportingTheFileExtensionAreAsked() {
+        RecordingWrapper xmlWrapper = new RecordingWrapper(Set.of("xml"));
+        RecordingWrapper anyWrapper = new RecordingWrapper(Set.of());
+        ProjectResourceWrapperRegistry sut = new ProjectResourceWrapperRegistry(List.of(xmlWrapper, anyWrapper));
+
+        sut.findWrapper(holder("a.txt"));
+        sut.findWrapper(holder("b.xml"));
+        sut.findWrapper(holder("README"));
+
+        assertThat(xmlWrapper.asked).containsExactly("b.xml");
+        assertThat(anyWrapper.asked).containsExactly("a.txt", "b.xml", "README");
+    }
+
+    @Test
+    void firstMatchingWrapperInRegistrationOrderWins() {
+        RecordingWrapper anyWrapper = new RecordingWrapper(Set.of(), true);
+        RecordingWrapper xmlWrapper = new RecordingWrapper(Set.of("xml"), true);
+        ProjectResourceWrapperRegistry sut = new ProjectResourceWrapperRegistry(List.of(anyWrapper, xmlWrapper));
+
+        assertThat(sut.findWrapper(holder("b.xml"))).containsSame(anyWrapper);
+        assertThat(xmlWrapper.asked).isEmpty();
+    }
+
+    private RewriteSourceFileHolder<PlainText> holder(String path) {
+        PlainText plainText = new PlainTextParser().parse("content of " + path).get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(PROJECT_DIR, plainText);
+    }
+
+    private static class RecordingWrapper implements ProjectResourceWrapper<RewriteSourceFileHolder<? extends SourceFile>> {
+        private final Set<String> supportedFileExtensions;
+        private final boolean handles;
+        private final List<String> asked = new ArrayList<>();
+
+        RecordingWrapper(Set<String> supportedFileExtensions) {
+            this(supportedFileExtensions, false);
+        }
+
+        RecordingWrapper(Set<String> supportedFileExtensions, boolean handles) {
+            this.supportedFileExtensions = supportedFileExtensions;
+            this.handles = handles;
+        }
+
+        @Override
+        public Set<String> getSupportedFileExtensions() {
+            return supportedFileExtensions;
+        }
+
+        @Override
+        public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
+            asked.add(rewriteSourceFileHolder.getSourcePath().toString());
+            return handles;
+        }
+
+        @Override
+        public RewriteSourceFileHolder<? extends SourceFile> wrapRewriteSourceFileHolder(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
+            return rewriteSourceFileHolder;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceAccessRecorderTest {
+
+    private static final Path PROJECT_DIR = TestProjectContext.getDefaultProjectRoot();
+
+    @Test
+    void recordsReadSourceFilesAndDetectsChanges() {
+        RewriteSourceFileHolder<PlainText> read = holder("a.txt", "a");
+        RewriteSourceFileHolder<PlainText> notRead = holder("b.txt", "b");
+
+        ResourceAccessRecorder.Recording<String> recording = ResourceAccessRecorder.record(read::print);
+
+        assertThat(recording.result()).isEqualTo("a");
+        assertThat(recording.accessedSourceFiles()).containsOnlyKeys(read);
+        assertThat(recording.isUpToDate()).isTrue();
+
+        notRead.replaceWith(notRead.getSourceFile().withText("changed"));
+        assertThat(recording.isUpToDate()).isTrue();
+
+        read.replaceWith(read.getSourceFile().withText("changed"));
+        assertThat(recording.isUpToDate()).isFalse();
+    }
+
+    @Test
+    void nestedRecordingsPropagateToOuterRecording() {
+        RewriteSourceFileHolder<PlainText> a = holder("a.txt", "a");
+        RewriteSourceFileHolder<PlainText> b = holder("b.txt", "b");
+
+        ResourceAccessRecorder.Recording<String> outer = ResourceAccessRecorder.record(() -> {
+            ResourceAccessRecorder.Recording<String> inner = ResourceAccessRecorder.record(b::print);
+            assertThat(inner.accessedSourceFiles()).containsOnlyKeys(b);
+            return a.print() + inner.result();
+        });
+
+        assertThat(outer.accessedSourceFiles()).containsOnlyKeys(a, b);
+        a.delete();
+        assertThat(outer.isUpToDate()).isFalse();
+    }
+
+    private static RewriteSourceFileHolder<PlainText> holder(String path, String content) {
+        PlainText plainText = new PlainTextParser().parse(content).get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(PROJECT_DIR, plainText);
+    }
+}
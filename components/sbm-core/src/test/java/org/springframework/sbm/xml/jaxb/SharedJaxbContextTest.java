@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.xml.jaxb;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.util.StreamReaderDelegate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedJaxbContextTest {
+
+    @XmlRootElement(name = "person")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    static class Person {
+        @XmlElement
+        String name;
+    }
+
+    @XmlRootElement(name = "address")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    static class Address {
+        @XmlElement
+        String city;
+    }
+
+    @Test
+    void contextIsCreatedOncePerSetOfClasses() {
+        SharedJaxbContext first = SharedJaxbContext.forClasses(Person.class, Address.class);
+        SharedJaxbContext second = SharedJaxbContext.forClasses(Address.class, Person.class);
+
+        assertThat(first).isSameAs(second);
+        assertThat(SharedJaxbContext.forClasses(Person.class)).isNotSameAs(first);
+    }
+
+    @Test
+    void unmarshalFromString() {
+        Person person = SharedJaxbContext.forClasses(Person.class).unmarshal("<person><name>Jane</name></person>");
+
+        assertThat(person.name).isEqualTo("Jane");
+    }
+
+    @Test
+    void unmarshalWithDecoratedReader() {
+        Person person = SharedJaxbContext.forClasses(Person.class)
+                .unmarshal("<foo><name>Jane</name></foo>", Person.class, StreamReaderDelegate::new);
+
+        assertThat(person.name).isEqualTo("Jane");
+    }
+
+    @Test
+    void unmarshalConcurrently() {
+        SharedJaxbContext context = SharedJaxbContext.forClasses(Person.class);
+        List<CompletableFuture<String>> futures = IntStream.range(0, 50)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> context.<Person>unmarshal("<person><name>" + i + "</name></person>").name))
+                .collect(Collectors.toList());
+
+        List<String> names = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        assertThat(names).containsExactlyElementsOf(IntStream.range(0, 50).mapToObj(String::valueOf).collect(Collectors.toList()));
+    }
+
+    @Test
+    void invalidXmlThrowsJaxbProcessingException() {
+        assertThatThrownBy(() -> SharedJaxbContext.forClasses(Person.class).unmarshal("<person>"))
+                .isInstanceOf(JaxbProcessingException.class);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Long-lived pool of {@link Asciidoctor} instances used to render the upgrade reports.
+ * <p>
+ * Creating an {@link Asciidoctor} boots a JRuby runtime which takes seconds and hundreds of MB of heap.
+ * Instances are therefore created once, borrowed exclusively for a single conversion and returned to the pool
+ * afterwards, which makes concurrent rendering thread-safe. All instances are shut down when the application context
+ * is closed.
+ */
+@Slf4j
+@Component
+public class AsciidoctorEngine implements DisposableBean {
+
+    private static final String DEFAULT_BACKEND = "spring-html";
+    private static final int POOL_SIZE = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+
+    private final BlockingQueue<Asciidoctor> idle = new LinkedBlockingQueue<>();
+    private final List<Asciidoctor> all = new ArrayList<>();
+    private boolean shutdown = false;
+
+    /**
+     * Creates the first {@link Asciidoctor} instance and renders a trivial document to load the backends,
+     * so that the first report is rendered without paying the JRuby boot time.
+     */
+    public void warmUp() {
+        String html = renderHtml("= Warm-up");
+        log.debug("Asciidoctor warmed up, rendered %d chars".formatted(html.length()));
+    }
+
+    public String renderHtml(String asciidoc) {
+        return renderHtml(asciidoc, DEFAULT_BACKEND);
+    }
+
+    public String renderHtml(String asciidoc, String backend) {
+        return withAsciidoctor(asciidoctor -> asciidoctor.convert(asciidoc,
+                                                                  Options.builder()
+                                                                          .toFile(true)
+                                                                          .backend(backend)
+                                                                          .headerFooter(true)
+                                                                          .safe(SafeMode.UNSAFE)
+                                                                          .build()));
+    }
+
+    public void writeHtml(String asciidoc, Path outputDir, String filename) {
+        withAsciidoctor(asciidoctor -> asciidoctor.convert(asciidoc,
+                                                           Options.builder()
+                                                                   .mkDirs(true)
+                                                                   .toDir(outputDir.toFile())
+                                                                   .toFile(new File(filename))
+                                                                   .backend(DEFAULT_BACKEND)
+                                                                   .headerFooter(true)
+                                                                   .safe(SafeMode.UNSAFE)
+                                                                   .build()));
+    }
+
+    private <T> T withAsciidoctor(Function<Asciidoctor, T> conversion) {
+        Asciidoctor asciidoctor = borrow();
+        try {
+            return conversion.apply(asciidoctor);
+        } finally {
+            idle.offer(asciidoctor);
+        }
+    }
+
+    private Asciidoctor borrow() {
+        Asciidoctor asciidoctor = idle.poll();
+        if (asciidoctor != null) {
+            return asciidoctor;
+        }
+        synchronized (all) {
+            if (shutdown) {
+                throw new IllegalStateException("AsciidoctorEngine was shut down.");
+            }
+            if (all.size() < POOL_SIZE) {
+                Asciidoctor created = Asciidoctor.Factory.create();
+                all.add(created);
+                return created;
+            }
+        }
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an Asciidoctor instance.", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (all) {
+            shutdown = true;
+            all.forEach(Asciidoctor::shutdown);
+            all.clear();
+            idle.clear();
+        }
+    }
+}
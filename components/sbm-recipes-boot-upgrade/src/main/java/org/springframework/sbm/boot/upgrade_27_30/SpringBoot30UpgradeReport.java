@@ -20,6 +20,7 @@ import freemarker.template.Configuration;
 import org.openrewrite.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.sbm.boot.asciidoctor.Section;
+import org.springframework.sbm.boot.upgrade.common.AsciidoctorEngine;
 import org.springframework.sbm.boot.upgrade.common.UpgradeReportUtil;
 import org.springframework.sbm.boot.upgrade_24_25.report.Boot_24_25_Introduction;
 import org.springframework.sbm.engine.context.ProjectContext;
@@ -47,6 +48,10 @@ public class SpringBoot30UpgradeReport extends AbstractAction {
     @JsonIgnore
     private ExecutionContext executionContext;
 
+    @Autowired
+    @JsonIgnore
+    private AsciidoctorEngine asciidoctorEngine;
+
     @Override
     public void apply(ProjectContext projectContext) {
         final List<Section> sections = upgradeSectionBuilders.stream()
@@ -59,7 +64,7 @@ public class SpringBoot30UpgradeReport extends AbstractAction {
         params.put("introductionSection", introductionSection);
         params.put("changeSections", sections);
         String markdown = UpgradeReportUtil.renderMarkdown(params, configuration);
-        String html = UpgradeReportUtil.renderHtml(markdown);
+        String html = asciidoctorEngine.renderHtml(markdown);
         Path htmlPath = projectContext.getProjectRootDirectory().resolve(Path.of("SPRING_BOOT_3_UPGRADE_REPORT.html"));
         projectContext.getProjectResources().add(new StringProjectResource(projectContext.getProjectRootDirectory(), htmlPath, html,
                                                                            executionContext));
@@ -32,10 +32,10 @@ public class Boot_27_30_UpgradeReplaceJohnzonDependencies extends AbstractAction
         context.getApplicationModules()
                 .stream()
                 .map(Module::getBuildFile)
-                .forEach(bf -> {
-                    bf.removeDependenciesMatchingRegex(JOHNZON_DEPENDENCY_PATTERN);
-                    bf.addDependency(Dependency.fromCoordinates(JOHNZON_DEPENDENCY));
-                });
+                .forEach(bf -> bf.batch(b -> {
+                    b.removeDependenciesMatchingRegex(JOHNZON_DEPENDENCY_PATTERN);
+                    b.addDependency(Dependency.fromCoordinates(JOHNZON_DEPENDENCY));
+                }));
     }
 
     @Override
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade_27_30.report;
+
+import org.openrewrite.SourceFile;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder.Recording;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Memoizes the rendered {@link SpringBootUpgradeReportSection}s of a {@link SpringBootUpgradeReportAction}.
+ * <p>
+ * Every section is rendered while recording the resources its helper reads. A cached section is reused as long as
+ * all these resources still hold the same {@link SourceFile}. Adding, removing or moving resources can change the
+ * result of any finder and thus invalidates all sections, as does a different {@link ProjectResourceSet}.
+ */
+class SectionRenderCache {
+
+    private ProjectResourceSet resourceSet;
+    private List<RewriteSourceFileHolder<? extends SourceFile>> resources = List.of();
+    private List<Path> resourcePaths = List.of();
+    private final Map<SpringBootUpgradeReportSection, Recording<Optional<String>>> renderedSections = new IdentityHashMap<>();
+
+    /**
+     * @return the rendered section or empty if the section should not be rendered for the given {@code context}.
+     */
+    synchronized Optional<String> render(SpringBootUpgradeReportSection section, ProjectContext context) {
+        Recording<Optional<String>> recording = renderedSections.get(section);
+        if (recording == null || !recording.isUpToDate()) {
+            recording = ResourceAccessRecorder.record(() -> section.shouldRender(context) ? Optional.of(section.render(context)) : Optional.<String>empty());
+            renderedSections.put(section, recording);
+        }
+        return recording.result();
+    }
+
+    /**
+     * Drops all rendered sections if the set of resources in {@code context} differs from the last call.
+     */
+    synchronized void invalidateIfResourcesChanged(ProjectContext context) {
+        ProjectResourceSet currentResourceSet = context.getProjectResources();
+        List<RewriteSourceFileHolder<? extends SourceFile>> currentResources = currentResourceSet.stream().toList();
+        List<Path> currentPaths = currentResources.stream().map(RewriteSourceFileHolder::getAbsolutePath).toList();
+        if (currentResourceSet != resourceSet || !sameInstances(currentResources, resources) || !currentPaths.equals(resourcePaths)) {
+            renderedSections.clear();
+        }
+        resourceSet = currentResourceSet;
+        resources = currentResources;
+        resourcePaths = currentPaths;
+    }
+
+    private static boolean sameInstances(List<?> a, List<?> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
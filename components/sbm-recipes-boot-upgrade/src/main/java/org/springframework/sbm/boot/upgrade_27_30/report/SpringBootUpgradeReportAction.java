@@ -90,6 +90,9 @@ public class SpringBootUpgradeReportAction implements Action {
     @Valid
     List<SpringBootUpgradeReportSection> sections;
 
+    @JsonIgnore
+    private SectionRenderCache sectionRenderCache;
+
     @JsonIgnore
     @Autowired
     private DataProvider dataProvider = new DataProvider() {
@@ -117,14 +120,13 @@ public class SpringBootUpgradeReportAction implements Action {
 
     @Override
     public void apply(ProjectContext context) {
-
+        if (sectionRenderCache == null) {
+            sectionRenderCache = new SectionRenderCache();
+        }
+        sectionRenderCache.invalidateIfResourcesChanged(context);
 
         List<String> renderedSections = new ArrayList<>();
-        sections.stream()
-                .filter(s -> s.shouldRender(context))
-                .forEach(section -> {
-            renderedSections.add(section.render(context));
-        });
+        sections.forEach(section -> sectionRenderCache.render(section, context).ifPresent(renderedSections::add));
 
         Map<String, Object> data = dataProvider.getData(context, sections);
         String renderedHeader = renderTemplate("header", header, data);
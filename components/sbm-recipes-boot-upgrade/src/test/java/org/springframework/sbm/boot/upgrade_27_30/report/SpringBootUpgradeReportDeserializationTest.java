@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.sbm.boot.upgrade.common.AsciidoctorEngine;
 import org.springframework.sbm.boot.upgrade_27_30.report.helper.BannerSupportHelper;
 import org.springframework.sbm.boot.upgrade_27_30.report.helper.ConditionOnlyHelper;
 import org.springframework.sbm.boot.upgrade_27_30.report.yaml.SpringBootUpgradeReportSectionHelperDeserializer;
@@ -54,6 +55,7 @@ import static org.mockito.Mockito.mock;
         ProjectContextHolder.class,
         SpringBootUpgradeReportFreemarkerSupport.class,
         SpringBootUpgradeReportFileSystemRenderer.class,
+        AsciidoctorEngine.class,
         SpringBootUpgradeReportActionDeserializer.class,
         ActionDeserializerRegistry.class
 })
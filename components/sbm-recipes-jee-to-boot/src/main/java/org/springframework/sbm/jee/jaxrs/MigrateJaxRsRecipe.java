@@ -26,7 +26,7 @@ import org.springframework.sbm.engine.recipe.OpenRewriteDeclarativeRecipeAdapter
 import org.springframework.sbm.engine.recipe.Recipe;
 import org.springframework.sbm.engine.recipe.RewriteRecipeLoader;
 import org.springframework.sbm.java.JavaRecipeAction;
-import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.java.impl.JavaParserPool;
 import org.springframework.sbm.java.migration.actions.ReplaceTypeAction;
 import org.springframework.sbm.java.migration.conditions.HasAnnotation;
 import org.springframework.sbm.java.migration.conditions.HasImportStartingWith;
@@ -46,7 +46,7 @@ import java.util.function.Supplier;
 public class MigrateJaxRsRecipe {
 
 
-    private final Supplier<JavaParser> javaParserSupplier = () -> JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+    private final Supplier<JavaParser> javaParserSupplier = () -> JavaParserPool.getInstance().getCurrentJavaParser();
 
     @Bean
     public Recipe jaxRs(RewriteRecipeLoader rewriteRecipeLoader) {
@@ -18,6 +18,7 @@ package org.springframework.sbm.jee.jaxws;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.openrewrite.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.build.impl.OpenRewriteMavenPlugin;
 import org.springframework.sbm.build.impl.OpenRewriteMavenPlugin.OpenRewriteMavenPluginExecution;
@@ -103,7 +104,11 @@ public class GenerateWebServices extends AbstractAction {
     }
 
     private void addMavenPluginForJavaSourceGeneration(Module module, List<WebServiceDescriptor> descriptors) {
-        module.getBuildFile().setProperty(PROPERTY_KEY_JAVA_GEN_FOLDER, PROPERTY_VALUE_JAVA_GEN_FOLDER);
+        module.getBuildFile().batch(buildFile -> addMavenPluginForJavaSourceGeneration(buildFile, descriptors));
+    }
+
+    private void addMavenPluginForJavaSourceGeneration(BuildFile buildFile, List<WebServiceDescriptor> descriptors) {
+        buildFile.setProperty(PROPERTY_KEY_JAVA_GEN_FOLDER, PROPERTY_VALUE_JAVA_GEN_FOLDER);
 
         List<OpenRewriteMavenPluginExecution> generateExecs = descriptors.stream().map(d -> OpenRewriteMavenPluginExecution.builder()
                 .goal("generate")
@@ -116,7 +121,7 @@ public class GenerateWebServices extends AbstractAction {
                 .build()
         ).collect(Collectors.toList());
 
-        module.getBuildFile().addPlugin(
+        buildFile.addPlugin(
                 OpenRewriteMavenPlugin.builder()
                         .groupId("org.jvnet.jaxb2.maven2")
                         .artifactId("maven-jaxb2-plugin")
@@ -125,7 +130,7 @@ public class GenerateWebServices extends AbstractAction {
                         .build()
         );
 
-        module.getBuildFile().addPlugin(
+        buildFile.addPlugin(
                 OpenRewriteMavenPlugin.builder()
                         .groupId("org.codehaus.mojo")
                         .artifactId("build-helper-maven-plugin")
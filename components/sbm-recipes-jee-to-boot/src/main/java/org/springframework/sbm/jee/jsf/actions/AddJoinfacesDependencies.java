@@ -16,6 +16,7 @@
 package org.springframework.sbm.jee.jsf.actions;
 
 import org.springframework.sbm.build.MultiModuleApplicationNotSupportedException;
+import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.engine.recipe.AbstractAction;
@@ -47,8 +48,10 @@ public class AddJoinfacesDependencies extends AbstractAction {
             return;
         }
 
-        addJoinfacesDependencyManagement(module);
-        addJoinfacesDependencies(jsfImplementation, module);
+        module.getBuildFile().batch(buildFile -> {
+            addJoinfacesDependencyManagement(buildFile);
+            addJoinfacesDependencies(jsfImplementation, buildFile);
+        });
     }
 
     @Override
@@ -59,25 +62,25 @@ public class AddJoinfacesDependencies extends AbstractAction {
         return false;
     }
 
-    private void addJoinfacesDependencies(JsfImplementation jsfImplementation, Module module) {
+    private void addJoinfacesDependencies(JsfImplementation jsfImplementation, BuildFile buildFile) {
         if (jsfImplementation.equals(JsfImplementation.APACHE_MYFACES)) {
-            addMyFacesDependencies(module);
+            addMyFacesDependencies(buildFile);
         } else if (jsfImplementation.equals(JsfImplementation.MOJARRA)) {
-            addMojarraDependencies(module);
+            addMojarraDependencies(buildFile);
         }
     }
 
-    private void addMojarraDependencies(Module context) {
+    private void addMojarraDependencies(BuildFile buildFile) {
         Dependency joinfacesStarter = Dependency.builder()
                 .groupId("org.joinfaces")
                 .artifactId("jsf-spring-boot-starter")
                 .version("4.4.10")
                 .build();
 
-        context.getBuildFile().addDependencies(List.of(joinfacesStarter));
+        buildFile.addDependencies(List.of(joinfacesStarter));
     }
 
-    private void addMyFacesDependencies(Module context) {
+    private void addMyFacesDependencies(BuildFile buildFile) {
         Dependency joinfacesStarter = Dependency.builder()
                 .groupId("org.joinfaces")
                 .artifactId("jsf-spring-boot-starter")
@@ -95,10 +98,10 @@ public class AddJoinfacesDependencies extends AbstractAction {
                 .version("4.4.10")
                 .build();
 
-        context.getBuildFile().addDependencies(List.of(joinfacesStarter, myfacesStarter));
+        buildFile.addDependencies(List.of(joinfacesStarter, myfacesStarter));
     }
 
-    private void addJoinfacesDependencyManagement(Module context) {
+    private void addJoinfacesDependencyManagement(BuildFile buildFile) {
         Dependency joinfacesDependencyManagement = Dependency.builder()
                 .groupId("org.joinfaces")
                 .artifactId("joinfaces-dependencies")
@@ -106,7 +109,7 @@ public class AddJoinfacesDependencies extends AbstractAction {
                 .type("pom")
                 .scope("import")
                 .build();
-        context.getBuildFile().addToDependencyManagement(joinfacesDependencyManagement);
+        buildFile.addToDependencyManagement(joinfacesDependencyManagement);
     }
 
     private JsfImplementation getJsfImplementationInUse(Module module) {
@@ -122,27 +122,18 @@ public class JavaDSLAction2 extends AbstractAction {
         }
 
         logEvent("Adding " + topLevelElements.size() + " methods");
+        List<String> methodTemplates = new ArrayList<>();
+        Set<String> requiredImports = new HashSet<>();
         topLevelElements.forEach(topLevelElement -> {
-            flowConfigurationSource.getType().addMethod(
-                    topLevelElement.renderDslSnippet(),
-                    topLevelElement.getRequiredImports()
-            );
-
+            methodTemplates.add(topLevelElement.renderDslSnippet());
             if (topLevelElement.hasGeneratedDependentFlows()) {
-                topLevelElement
-                        .generatedDependentFlows()
-                        .forEach(methodContents -> flowConfigurationSource
-                                .getType()
-                                .addMethod(
-                                        methodContents,
-                                        topLevelElement.getRequiredImports()
-                                )
-                        );
-
+                methodTemplates.addAll(topLevelElement.generatedDependentFlows());
             }
-
-            createExternalClasses(context, topLevelElement);
+            requiredImports.addAll(topLevelElement.getRequiredImports());
         });
+        flowConfigurationSource.getType().addMethods(methodTemplates, requiredImports);
+
+        topLevelElements.forEach(topLevelElement -> createExternalClasses(context, topLevelElement));
     }
 
     private void addGenericRequiredDependencies(Set<Dependency> dependencies) {
@@ -30,6 +30,7 @@ import org.springframework.stereotype.Component;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -37,6 +38,11 @@ public class MuleXmlProjectResourceRegistrar implements ProjectResourceWrapper<M
 
     private final ExecutionContext executionContext;
 
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("xml");
+    }
+
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         return isMuleXmlResource(rewriteSourceFileHolder);
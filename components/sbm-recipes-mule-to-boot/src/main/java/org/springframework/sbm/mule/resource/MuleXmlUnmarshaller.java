@@ -16,30 +16,29 @@
 package org.springframework.sbm.mule.resource;
 
 import org.mulesoft.schema.mule.core.MuleType;
+import org.springframework.sbm.xml.jaxb.SharedJaxbContext;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBElement;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.Reader;
+import java.io.StringReader;
 
 public class MuleXmlUnmarshaller {
+
+    private static SharedJaxbContext jaxbContext() {
+        return SharedJaxbContext.forClasses(
+                org.mulesoft.schema.mule.core.ObjectFactory.class,
+                org.mulesoft.schema.mule.amqp.ObjectFactory.class,
+                org.mulesoft.schema.mule.http.ObjectFactory.class,
+                org.mulesoft.schema.mule.ee.wmq.ObjectFactory.class,
+                org.mulesoft.schema.mule.ee.dw.ObjectFactory.class,
+                org.mulesoft.schema.mule.scripting.ObjectFactory.class
+        );
+    }
+
     public MuleType unmarshal(String xml) {
-        try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(
-                    org.mulesoft.schema.mule.core.ObjectFactory.class,
-                    org.mulesoft.schema.mule.amqp.ObjectFactory.class,
-                    org.mulesoft.schema.mule.http.ObjectFactory.class,
-                    org.mulesoft.schema.mule.ee.wmq.ObjectFactory.class,
-                    org.mulesoft.schema.mule.ee.dw.ObjectFactory.class,
-                    org.mulesoft.schema.mule.scripting.ObjectFactory.class
-            );
-            Unmarshaller jc = jaxbContext.createUnmarshaller();
-            JAXBElement<MuleType> unmarshal = (JAXBElement<MuleType>) jc.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-            return unmarshal.getValue();
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        return unmarshal(new StringReader(xml));
+    }
+
+    public MuleType unmarshal(Reader xml) {
+        return jaxbContext().unmarshal(xml);
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.actions.maven;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.Maven;
+import org.apache.maven.execution.*;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Settings;
+import org.apache.maven.settings.building.DefaultSettingsBuildingRequest;
+import org.apache.maven.settings.building.SettingsBuilder;
+import org.apache.maven.settings.building.SettingsBuildingException;
+import org.apache.maven.settings.building.SettingsBuildingRequest;
+import org.codehaus.plexus.*;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Runs Maven builds in the current JVM.
+ * <p>
+ * The plexus container is created with the first build and kept until {@link #dispose()}, later builds reuse its
+ * components, the cached plugin realms and the loaded compiler.
+ * The build output is logged, the modules built, errors and the build result are passed to the output consumer
+ * in Maven's console format.
+ */
+@Slf4j
+class EmbeddedMaven {
+
+    private static final Path USER_SETTINGS = Path.of(System.getProperty("user.home")).resolve(".m2").resolve("settings.xml");
+
+    private PlexusContainer container;
+
+    /**
+     * Run the build described by {@code request}.
+     *
+     * @throws RuntimeException if the build failed
+     */
+    public synchronized void execute(MavenExecutionRequest request, Consumer<String> outputConsumer) {
+        try {
+            PlexusContainer plexusContainer = getContainer();
+            populate(plexusContainer, request);
+            request.setExecutionListener(new AbstractExecutionListener() {
+                @Override
+                public void projectStarted(ExecutionEvent event) {
+                    MavenProject project = event.getProject();
+                    outputConsumer.accept("[INFO] Building " + project.getName() + " " + project.getVersion());
+                }
+            });
+            MavenExecutionResult result = plexusContainer.lookup(Maven.class).execute(request);
+            if (result.hasExceptions()) {
+                result.getExceptions().forEach(e -> outputConsumer.accept("[ERROR] " + e.getMessage()));
+                outputConsumer.accept("[INFO] BUILD FAILURE");
+                Throwable cause = result.getExceptions().get(0);
+                throw new RuntimeException("Maven build 'mvn " + String.join(" ", request.getGoals()) + "' failed: " + cause.getMessage(), cause);
+            }
+            outputConsumer.accept("[INFO] BUILD SUCCESS");
+        } catch (ComponentLookupException | SettingsBuildingException | MavenExecutionRequestPopulationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public synchronized void dispose() {
+        if (container != null) {
+            container.dispose();
+            container = null;
+        }
+    }
+
+    /**
+     * Apply the user settings and Maven's defaults, offline and batch mode of the request take precedence.
+     */
+    private void populate(PlexusContainer plexusContainer, MavenExecutionRequest request) throws ComponentLookupException, SettingsBuildingException, MavenExecutionRequestPopulationException {
+        SettingsBuildingRequest settingsRequest = new DefaultSettingsBuildingRequest()
+                .setUserSettingsFile(USER_SETTINGS.toFile())
+                .setSystemProperties(request.getSystemProperties())
+                .setUserProperties(request.getUserProperties());
+        Settings settings = plexusContainer.lookup(SettingsBuilder.class).build(settingsRequest).getEffectiveSettings();
+        boolean offline = request.isOffline() || settings.isOffline();
+        boolean interactive = request.isInteractiveMode();
+        MavenExecutionRequestPopulator populator = plexusContainer.lookup(MavenExecutionRequestPopulator.class);
+        populator.populateFromSettings(request, settings);
+        request.setOffline(offline);
+        request.setInteractiveMode(interactive);
+        populator.populateDefaults(request);
+    }
+
+    private PlexusContainer getContainer() {
+        if (container == null) {
+            try {
+                ClassWorld classWorld = new ClassWorld();
+                ClassRealm classRealm = new ClassRealm(classWorld, "maven", PlexusContainer.class.getClassLoader());
+                classRealm.setParentRealm(new ClassRealm(classWorld, "maven-parent", Thread.currentThread().getContextClassLoader()));
+                ContainerConfiguration configuration = new DefaultContainerConfiguration()
+                        .setClassWorld(classWorld)
+                        .setRealm(classRealm)
+                        .setAutoWiring(true)
+                        .setJSR250Lifecycle(true)
+                        .setClassPathScanning(PlexusConstants.SCANNING_INDEX);
+                log.debug("Starting embedded Maven.");
+                container = new DefaultPlexusContainer(configuration);
+            } catch (PlexusContainerException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return container;
+    }
+}
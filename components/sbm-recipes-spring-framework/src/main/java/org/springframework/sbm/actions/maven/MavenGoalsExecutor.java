@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.actions.maven;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.shared.invoker.DefaultInvocationRequest;
+import org.apache.maven.shared.invoker.DefaultInvoker;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.apache.maven.shared.invoker.InvocationResult;
+import org.apache.maven.shared.invoker.Invoker;
+import org.apache.maven.shared.invoker.MavenInvocationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Runs Maven goals for a project and streams the build output to a consumer.
+ *
+ * The goals are run by an {@link EmbeddedMaven} in this JVM which keeps the plexus container, plugin realms and
+ * compiler between builds, so only the first build pays the start-up.
+ * With {@code sbm.mavenDaemonEnabled} the goals are run by the Maven Daemon (mvnd) instead, falling back to the
+ * embedded Maven when the daemon executable can't be found.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MavenGoalsExecutor implements DisposableBean {
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final EmbeddedMaven embeddedMaven = new EmbeddedMaven();
+    private Optional<Invoker> mavenDaemonInvoker;
+
+    public synchronized void execute(Path executionDir, List<String> goals, Consumer<String> outputConsumer) {
+        Optional<Invoker> invoker = getMavenDaemonInvoker();
+        if (invoker.isPresent()) {
+            executeWithInvoker(invoker.get(), executionDir, goals, outputConsumer);
+        } else {
+            embeddedMaven.execute(createExecutionRequest(executionDir, goals), outputConsumer);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        embeddedMaven.dispose();
+    }
+
+    MavenExecutionRequest createExecutionRequest(Path executionDir, List<String> goals) {
+        Properties systemProperties = new Properties();
+        systemProperties.putAll(System.getProperties());
+        System.getenv().forEach((name, value) -> systemProperties.setProperty("env." + name, value));
+        MavenExecutionRequest request = new DefaultMavenExecutionRequest()
+                .setBaseDirectory(executionDir.toFile())
+                .setPom(executionDir.resolve("pom.xml").toFile())
+                .setGoals(goals)
+                .setInteractiveMode(false)
+                .setOffline(sbmApplicationProperties.isMavenOffline())
+                .setSystemProperties(systemProperties)
+                .setUserProperties(new Properties())
+                .setStartTime(new Date());
+        request.setMultiModuleProjectDirectory(executionDir.toFile());
+        return request;
+    }
+
+    private void executeWithInvoker(Invoker invoker, Path executionDir, List<String> goals, Consumer<String> outputConsumer) {
+        InvocationRequest request = new DefaultInvocationRequest();
+        request.setPomFile(executionDir.resolve("pom.xml").toFile());
+        request.setGoals(goals);
+        request.setBatchMode(true);
+        request.setOffline(sbmApplicationProperties.isMavenOffline());
+        request.setOutputHandler(outputConsumer::accept);
+        request.setErrorHandler(outputConsumer::accept);
+        try {
+            InvocationResult invocationResult = invoker.execute(request);
+            int exitCode = invocationResult.getExitCode();
+            if (invocationResult.getExecutionException() != null || exitCode != 0) {
+                throw new RuntimeException("Maven build 'mvn " + String.join(" ", goals) + "' failed with exitCode: " + exitCode, invocationResult.getExecutionException());
+            }
+        } catch (MavenInvocationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Optional<Invoker> getMavenDaemonInvoker() {
+        if (mavenDaemonInvoker == null) {
+            mavenDaemonInvoker = Optional.empty();
+            if (sbmApplicationProperties.isMavenDaemonEnabled()) {
+                String executable = sbmApplicationProperties.getMavenDaemonExecutable();
+                Optional<File> mavenDaemon = resolveExecutable(executable, System.getenv("PATH"));
+                if (mavenDaemon.isPresent()) {
+                    log.debug("Running Maven goals with Maven Daemon '%s'.".formatted(mavenDaemon.get()));
+                    Invoker invoker = new DefaultInvoker();
+                    invoker.setMavenExecutable(mavenDaemon.get());
+                    mavenDaemonInvoker = Optional.of(invoker);
+                } else {
+                    log.warn("Maven Daemon '%s' not found, running Maven goals with embedded Maven.".formatted(executable));
+                }
+            }
+        }
+        return mavenDaemonInvoker;
+    }
+
+    /**
+     * Resolve {@code executable} as path or by name in the directories of the given {@code path} variable.
+     */
+    static Optional<File> resolveExecutable(String executable, String path) {
+        Path executablePath = Path.of(executable);
+        if (executablePath.getParent() != null || executablePath.isAbsolute()) {
+            return Optional.of(executablePath.toFile()).filter(File::canExecute);
+        }
+        if (path == null) {
+            return Optional.empty();
+        }
+        return Pattern.compile(Pattern.quote(File.pathSeparator)).splitAsStream(path)
+                .filter(dir -> !dir.isBlank())
+                .flatMap(dir -> List.of(executable, executable + ".cmd", executable + ".exe").stream().map(name -> Path.of(dir, name)))
+                .filter(Files::isRegularFile)
+                .map(Path::toFile)
+                .filter(File::canExecute)
+                .findFirst();
+    }
+}
@@ -15,46 +15,57 @@
  */
 package org.springframework.sbm.actions.maven;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.sbm.engine.recipe.AbstractAction;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.maven.shared.invoker.*;
-import org.apache.maven.shared.utils.cli.CommandLineException;
+import lombok.extern.slf4j.Slf4j;
 
-import java.io.File;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Getter
 @Setter
 public class RunMavenGoalsAction extends AbstractAction {
 
+    private static final List<String> DEFAULT_GOALS = List.of("clean", "compile");
+
     private List<String> goals;
 
+    @Autowired
+    @JsonIgnore
+    private MavenGoalsExecutor mavenGoalsExecutor;
+
     @Override
     public void apply(ProjectContext context) {
         Path projectRootDirectory = context.getProjectRootDirectory();
-        executeMavenGoals(projectRootDirectory, "clean", "compile");
+        List<String> goalsToRun = goals == null || goals.isEmpty() ? DEFAULT_GOALS : goals;
+        executeMavenGoals(projectRootDirectory, goalsToRun.toArray(String[]::new));
     }
 
     protected void executeMavenGoals(Path executionDir, String... goals) {
-        try {
-            Invoker invoker = new DefaultInvoker();
-            InvocationRequest request = new DefaultInvocationRequest();
-            File pomXml = executionDir.resolve("pom.xml").toFile();
-            request.setPomFile(pomXml);
-            request.setGoals(List.of(goals));
-            InvocationResult invocationResult = invoker.execute(request);
-            CommandLineException executionException = invocationResult.getExecutionException();
-            int exitCode = invocationResult.getExitCode();
-            if (executionException != null  || exitCode == 1) {
-                throw new RuntimeException("Maven build 'mvn " + Arrays.asList(goals).stream().collect(Collectors.joining(" ")) + "' failed with exitCode: " + exitCode);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        if (mavenGoalsExecutor == null) {
+            throw new IllegalStateException("No MavenGoalsExecutor was injected into " + getClass().getSimpleName() + ", it must be autowired by the application context.");
         }
+        mavenGoalsExecutor.execute(executionDir, List.of(goals), this::onOutputLine);
+    }
+
+    private void onOutputLine(String line) {
+        log.debug(line);
+        if (getEventPublisher() != null && isProgressRelevant(line)) {
+            logEvent(line.replaceFirst("^\\[\\w+]\\s*", ""));
+        }
+    }
+
+    /**
+     * Only the modules built, problems and the build result are shown as progress.
+     */
+    private static boolean isProgressRelevant(String line) {
+        return line.startsWith("[ERROR]")
+                || line.startsWith("[INFO] Building ")
+                || line.startsWith("[INFO] BUILD ");
     }
 }
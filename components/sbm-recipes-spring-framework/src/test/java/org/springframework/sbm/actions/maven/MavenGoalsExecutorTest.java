@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.actions.maven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MavenGoalsExecutorTest {
+
+    @Test
+    void resolvesExecutableByNameFromPath(@TempDir Path tempDir) throws IOException {
+        Path emptyDir = Files.createDirectories(tempDir.resolve("empty"));
+        Path binDir = Files.createDirectories(tempDir.resolve("bin"));
+        Path mvnd = Files.createFile(binDir.resolve("mvnd"));
+        mvnd.toFile().setExecutable(true);
+        String path = emptyDir + File.pathSeparator + binDir;
+
+        assertThat(MavenGoalsExecutor.resolveExecutable("mvnd", path)).contains(mvnd.toFile());
+        assertThat(MavenGoalsExecutor.resolveExecutable(mvnd.toString(), null)).contains(mvnd.toFile());
+        assertThat(MavenGoalsExecutor.resolveExecutable("mvnd", emptyDir.toString())).isEmpty();
+        assertThat(MavenGoalsExecutor.resolveExecutable("mvnd", null)).isEmpty();
+    }
+
+    @Test
+    void createsOfflineRequestWhenConfigured(@TempDir Path tempDir) {
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        MavenGoalsExecutor sut = new MavenGoalsExecutor(sbmApplicationProperties);
+
+        assertThat(sut.createExecutionRequest(tempDir, List.of("clean")).isOffline()).isFalse();
+
+        sbmApplicationProperties.setMavenOffline(true);
+        assertThat(sut.createExecutionRequest(tempDir, List.of("clean")).isOffline()).isTrue();
+        assertThat(sut.createExecutionRequest(tempDir, List.of("clean")).getPom()).isEqualTo(tempDir.resolve("pom.xml").toFile());
+        assertThat(sut.createExecutionRequest(tempDir, List.of("clean")).isInteractiveMode()).isFalse();
+    }
+
+    @Test
+    void runsGoalsWithEmbeddedMaven(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.acme</groupId>
+                    <artifactId>dummy</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <packaging>pom</packaging>
+                    <name>dummy</name>
+                </project>
+                """);
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setMavenOffline(true);
+        MavenGoalsExecutor sut = new MavenGoalsExecutor(sbmApplicationProperties);
+        List<String> output = new ArrayList<>();
+        try {
+            sut.execute(tempDir, List.of("validate"), output::add);
+            sut.execute(tempDir, List.of("validate"), output::add);
+        } finally {
+            sut.destroy();
+        }
+
+        assertThat(output).containsExactly(
+                "[INFO] Building dummy 0.0.1-SNAPSHOT",
+                "[INFO] BUILD SUCCESS",
+                "[INFO] Building dummy 0.0.1-SNAPSHOT",
+                "[INFO] BUILD SUCCESS"
+        );
+    }
+
+    @Test
+    void failsWhenEmbeddedBuildFails(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <groupId>com.acme</groupId>
+                </project>
+                """);
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setMavenOffline(true);
+        MavenGoalsExecutor sut = new MavenGoalsExecutor(sbmApplicationProperties);
+        List<String> output = new ArrayList<>();
+        try {
+            assertThatThrownBy(() -> sut.execute(tempDir, List.of("validate"), output::add))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageStartingWith("Maven build 'mvn validate' failed");
+        } finally {
+            sut.destroy();
+        }
+
+        assertThat(output).anyMatch(line -> line.startsWith("[ERROR] "));
+        assertThat(output).last().isEqualTo("[INFO] BUILD FAILURE");
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void failsWithExitCodeOfMavenDaemon(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+        Path mvnd = Files.writeString(tempDir.resolve("mvnd"), """
+                #!/bin/sh
+                echo "[INFO] Building dummy 0.0.1-SNAPSHOT"
+                echo "[ERROR] Compilation failure"
+                exit 3
+                """);
+        mvnd.toFile().setExecutable(true);
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setMavenDaemonEnabled(true);
+        sbmApplicationProperties.setMavenDaemonExecutable(mvnd.toString());
+        MavenGoalsExecutor sut = new MavenGoalsExecutor(sbmApplicationProperties);
+        List<String> output = new ArrayList<>();
+
+        assertThatThrownBy(() -> sut.execute(tempDir, List.of("clean", "compile"), output::add))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Maven build 'mvn clean compile' failed with exitCode: 3");
+        assertThat(output).containsExactly("[INFO] Building dummy 0.0.1-SNAPSHOT", "[ERROR] Compilation failure");
+    }
+}
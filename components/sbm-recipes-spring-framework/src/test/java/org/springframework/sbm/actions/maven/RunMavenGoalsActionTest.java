@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.actions.maven;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.sbm.engine.events.ActionLogEvent;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RunMavenGoalsActionTest {
+
+    @Test
+    void publishesBuiltModulesErrorsAndBuildResultAsProgress() {
+        MavenGoalsExecutor mavenGoalsExecutor = mock(MavenGoalsExecutor.class);
+        doAnswer(invocation -> {
+            Consumer<String> outputConsumer = invocation.getArgument(2);
+            outputConsumer.accept("[INFO] Scanning for projects...");
+            outputConsumer.accept("[INFO] Building dummy 0.0.1-SNAPSHOT");
+            outputConsumer.accept("[INFO] --- maven-compiler-plugin:3.11.0:compile (default-compile) @ dummy ---");
+            outputConsumer.accept("[ERROR] Compilation failure");
+            outputConsumer.accept("[INFO] BUILD FAILURE");
+            return null;
+        }).when(mavenGoalsExecutor).execute(any(), any(), any());
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        RunMavenGoalsAction sut = new RunMavenGoalsAction();
+        sut.setMavenGoalsExecutor(mavenGoalsExecutor);
+        sut.setEventPublisher(eventPublisher);
+
+        sut.executeMavenGoals(Path.of("project"), "clean", "compile");
+
+        verify(mavenGoalsExecutor).execute(eq(Path.of("project")), eq(List.of("clean", "compile")), any());
+        ArgumentCaptor<ActionLogEvent> events = ArgumentCaptor.forClass(ActionLogEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(ActionLogEvent::getMesssage)
+                .containsExactly("Building dummy 0.0.1-SNAPSHOT", "Compilation failure", "BUILD FAILURE");
+    }
+
+    @Test
+    void failsWithoutMavenGoalsExecutor() {
+        RunMavenGoalsAction sut = new RunMavenGoalsAction();
+
+        assertThatThrownBy(() -> sut.executeMavenGoals(Path.of("project"), "clean"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
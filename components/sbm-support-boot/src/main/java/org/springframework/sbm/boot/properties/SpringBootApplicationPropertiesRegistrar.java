@@ -21,14 +21,15 @@ import org.openrewrite.SourceFile;
 import org.openrewrite.properties.tree.Properties;
 import org.springframework.sbm.boot.properties.api.SpringBootApplicationProperties;
 import org.springframework.sbm.boot.properties.api.SpringProfile;
-import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
 import org.springframework.sbm.project.resource.ProjectResourceWrapper;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 import org.springframework.stereotype.Component;
-import org.springframework.util.PathMatcher;
 
 import java.nio.file.Path;
+import java.util.Set;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
@@ -36,15 +37,22 @@ public class SpringBootApplicationPropertiesRegistrar implements ProjectResource
 
     private static final String PATTERN = "/**/src/main/resources/application*.properties";
     public static final String PATTERN1 = "/**/src/main/resources/config/application*.properties";
-    private PathMatcher pathMatcher = new OsAgnosticPathMatcher();
+    /**
+     * {@link #PATTERN} and {@link #PATTERN1} compiled once, matched against the unified path.
+     */
+    private static final Pattern COMPILED_PATTERN = Pattern.compile("^/(.*/)?src/main/resources/(config/)?application[^/]*\\.properties$");
     private final SpringApplicationPropertiesPathMatcher springApplicationPropertiesPathMatcher;
     private final ExecutionContext executionContext;
 
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("properties");
+    }
+
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         boolean assignableFrom = Properties.File.class.isAssignableFrom(rewriteSourceFileHolder.getSourceFile().getClass());
-        boolean match = pathMatcher.match(PATTERN, rewriteSourceFileHolder.getAbsolutePath().toString()) || pathMatcher.match(PATTERN1, rewriteSourceFileHolder.getAbsolutePath().toString());
-        return match && assignableFrom;
+        return assignableFrom && COMPILED_PATTERN.matcher(LinuxWindowsPathUnifier.transformToLinuxPath(rewriteSourceFileHolder.getAbsolutePath().toString())).matches();
     }
 
     @Override
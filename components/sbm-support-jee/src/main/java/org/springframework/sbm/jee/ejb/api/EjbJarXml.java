@@ -17,22 +17,19 @@ package org.springframework.sbm.jee.ejb.api;
 
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.xml.jaxb.SharedJaxbContext;
 import org.xml.sax.InputSource;
 
 import javax.xml.bind.*;
 import javax.xml.namespace.QName;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.util.StreamReaderDelegate;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
-import java.io.ByteArrayInputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.String;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -46,15 +43,16 @@ public class EjbJarXml extends RewriteSourceFileHolder<Xml.Document> {
     }
 
     public EjbJarType getEjbJarXml() {
+        modelModifiedInPlaceAccessed();
         return wrapped;
     }
 
     @Override
     public String print() {
+        modelModifiedInPlaceAccessed();
         try {
             JAXBElement<EjbJarType> element = new JAXBElement<>(new QName("", "ejb-jar"), EjbJarType.class, wrapped);
-            JAXBContext jaxbContext = JAXBContext.newInstance(EjbJarType.class);
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+            Marshaller jaxbMarshaller = SharedJaxbContext.forClasses(EjbJarType.class).createMarshaller();
 //            jaxbMarshaller.setProperty("jaxb.formatted.output", true);
 //            jaxbMarshaller.setProperty("jaxb.schemaLocation", "http://xmlns.jcp.org/xml/ns/javaee http://xmlns.jcp.org/xml/ns/javaee/web-app_3_1.xsd");
 //            jaxbMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MyNamespacePrefixMapper());
@@ -78,15 +76,8 @@ public class EjbJarXml extends RewriteSourceFileHolder<Xml.Document> {
          * Namespace information will be removed to allow unmarshalling all versions into the same JAXB model classes.
          */
         public EjbJarType unmarshal(String xml) {
-            try {
-                XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-                EjbJarXml.EjbJarXmlUnmarshaller.XMLReaderWithoutNamespace xr = new EjbJarXml.EjbJarXmlUnmarshaller.XMLReaderWithoutNamespace(xsr);
-                JAXBContext jaxbContext = JAXBContext.newInstance(EjbJarType.class);
-                Unmarshaller jc = jaxbContext.createUnmarshaller();
-                return jc.unmarshal(xr, EjbJarType.class).getValue();
-            } catch (JAXBException | XMLStreamException e) {
-                throw new RuntimeException(e);
-            }
+            return SharedJaxbContext.forClasses(EjbJarType.class)
+                    .unmarshal(xml, EjbJarType.class, XMLReaderWithoutNamespace::new);
         }
 
         class XMLReaderWithoutNamespace extends StreamReaderDelegate {
@@ -119,10 +110,12 @@ public class EjbJarXml extends RewriteSourceFileHolder<Xml.Document> {
     }
 
     public void removeSessionBean(SessionBeanType sbt) {
+        modelModifiedInPlaceAccessed();
         wrapped.getEnterpriseBeans().getSessionOrEntityOrMessageDriven().remove(sbt);
     }
 
     public void removeSessionBeans(List<SessionBeanType> sessionBeansToRemove) {
+        modelModifiedInPlaceAccessed();
         wrapped.getEnterpriseBeans().getSessionOrEntityOrMessageDriven().removeAll(sessionBeansToRemove);
     }
 }
@@ -22,6 +22,8 @@ import org.openrewrite.SourceFile;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class JeeEjbJarXmlProjectResourceRegistrar implements ProjectResourceWrapper<EjbJarXml> {
 
@@ -49,6 +51,11 @@ public class JeeEjbJarXmlProjectResourceRegistrar implements ProjectResourceWrap
 //        projectResources.replace(ejbJarXml.getAbsolutePath(), ejbJarXml);
 //    }
 
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("xml");
+    }
+
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         return rewriteSourceFileHolder.getSourcePath().getFileName().toString().equals(EJB_JAR_XML) &&
@@ -19,17 +19,13 @@ import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import lombok.Getter;
 import org.openrewrite.xml.tree.Xml;
 
-import javax.xml.bind.JAXBContext;
+import org.springframework.sbm.xml.jaxb.SharedJaxbContext;
+
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.util.StreamReaderDelegate;
-import java.io.ByteArrayInputStream;
 import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 
 public class PersistenceXml extends RewriteSourceFileHolder<Xml.Document> {
@@ -45,6 +41,7 @@ public class PersistenceXml extends RewriteSourceFileHolder<Xml.Document> {
     }
 
     public Persistence getPersistence() {
+        modelModifiedInPlaceAccessed();
         return persistence;
     }
 
@@ -55,9 +52,9 @@ public class PersistenceXml extends RewriteSourceFileHolder<Xml.Document> {
 
     @Override
     public String print() {
+        modelModifiedInPlaceAccessed();
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(Persistence.class);
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+            Marshaller jaxbMarshaller = SharedJaxbContext.forClasses(Persistence.class).createMarshaller();
             StringWriter sw = new StringWriter();
             jaxbMarshaller.marshal(persistence, sw);
             return sw.toString();
@@ -79,15 +76,8 @@ public class PersistenceXml extends RewriteSourceFileHolder<Xml.Document> {
          * the same JAXB model classes.
          */
         public Persistence unmarshal(String xml) {
-            try {
-                XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-                PersistenceXmlUnmarshaller.XMLReaderWithoutNamespace xr = new PersistenceXmlUnmarshaller.XMLReaderWithoutNamespace(xsr);
-                JAXBContext jaxbContext = JAXBContext.newInstance(Persistence.class);
-                Unmarshaller jc = jaxbContext.createUnmarshaller();
-                return jc.unmarshal(xr, Persistence.class).getValue();
-            } catch (JAXBException | XMLStreamException e) {
-                throw new RuntimeException(e);
-            }
+            return SharedJaxbContext.forClasses(Persistence.class)
+                    .unmarshal(xml, Persistence.class, XMLReaderWithoutNamespace::new);
         }
 
         class XMLReaderWithoutNamespace extends StreamReaderDelegate {
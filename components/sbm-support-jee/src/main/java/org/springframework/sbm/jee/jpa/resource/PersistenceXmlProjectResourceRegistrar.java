@@ -26,6 +26,7 @@ import org.openrewrite.xml.tree.Xml;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -33,6 +34,11 @@ public class PersistenceXmlProjectResourceRegistrar implements ProjectResourceWr
 
     public static final String PERSISTENCE_XML_PATH = "META-INF/persistence.xml";
 
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("xml");
+    }
+
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         if (isXmlDocument(rewriteSourceFileHolder)) {
@@ -22,13 +22,11 @@ import org.openrewrite.SourceFile;
 import org.openrewrite.xml.search.FindTags;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.sbm.xml.jaxb.JaxbProcessingException;
+import org.springframework.sbm.xml.jaxb.SharedJaxbContext;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBElement;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 public class JeeWebXmlProjectResourceRegistrar implements ProjectResourceWrapper<RewriteSourceFileHolder<Xml.Document>> {
@@ -41,11 +39,8 @@ public class JeeWebXmlProjectResourceRegistrar implements ProjectResourceWrapper
 
     private WebAppType parseXml(String xml) {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(WebAppType.class);
-            Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-            JAXBElement element = (JAXBElement) jaxbUnmarshaller.unmarshal(new ByteArrayInputStream(xml.getBytes()));
-            return (WebAppType) element.getValue();
-        } catch (JAXBException e) {
+            return SharedJaxbContext.forClasses(WebAppType.class).unmarshal(xml);
+        } catch (JaxbProcessingException e) {
             throw new RuntimeException("Given xml could not be parsed as web.xml.", e);
         }
     }
@@ -63,6 +58,11 @@ public class JeeWebXmlProjectResourceRegistrar implements ProjectResourceWrapper
 //                });
 //    }
 
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("xml");
+    }
+
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         return (
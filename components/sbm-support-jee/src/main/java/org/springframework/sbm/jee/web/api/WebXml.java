@@ -21,6 +21,7 @@ import org.springframework.sbm.project.web.api.ServletMappingType;
 import org.springframework.sbm.project.web.api.ServletType;
 import org.springframework.sbm.project.web.api.UrlPatternType;
 import org.springframework.sbm.project.web.api.WebAppType;
+import org.springframework.sbm.xml.jaxb.SharedJaxbContext;
 import org.openrewrite.xml.tree.Xml;
 import org.w3c.dom.Document;
 import org.xml.sax.Attributes;
@@ -36,15 +37,11 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.util.StreamReaderDelegate;
 import javax.xml.transform.sax.SAXSource;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -95,10 +92,10 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
 
     @Override
     public String print() {
+        modelModifiedInPlaceAccessed();
         try {
             JAXBElement<WebAppType> element = new JAXBElement<>(new QName("", "web-app"), WebAppType.class, webApp);
-            JAXBContext jaxbContext = JAXBContext.newInstance(WebAppType.class);
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+            Marshaller jaxbMarshaller = SharedJaxbContext.forClasses(WebAppType.class).createMarshaller();
             jaxbMarshaller.setProperty("jaxb.formatted.output", true);
             jaxbMarshaller.setProperty("jaxb.schemaLocation", "http://xmlns.jcp.org/xml/ns/javaee http://xmlns.jcp.org/xml/ns/javaee/web-app_3_1.xsd");
             jaxbMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MyNamespacePrefixMapper());
@@ -112,6 +109,7 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
 
 
     public void deleteServletDefinition(String servletName) {
+        modelModifiedInPlaceAccessed();
         List<JAXBElement<?>> elementsToRemove = new ArrayList<>();
         List<JAXBElement<?>> jaxbElements = webApp.getModuleNameOrDescriptionAndDisplayName();
         for(JAXBElement e : jaxbElements) {
@@ -137,6 +135,7 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
     }
 
     List<ServletDefinition> getServletDefinitions() {
+        modelModifiedInPlaceAccessed();
         final Map<String, ServletDefinition> servlets = new HashMap<>();
 
         for(JAXBElement<?> e : webApp.getModuleNameOrDescriptionAndDisplayName()) {
@@ -176,6 +175,7 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
     }
 
     public String getVersion() {
+        modelModifiedInPlaceAccessed();
         return webApp.getVersion();
     }
 
@@ -257,7 +257,6 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
          * Namespace information will be removed to allow unmarshalling all versions into the same JAXB model classes.
          */
         public WebAppType unmarshal(String xml) {
-            try {
                 /*
                 JAXBContext jc = JAXBContext.newInstance( WebAppType.class );
                 Unmarshaller u = jc.createUnmarshaller();
@@ -291,17 +290,8 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
                 */
 
 
-                XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-                WebXml.WebXmlUnmarshaller.XMLReaderWithoutNamespace xr = new WebXml.WebXmlUnmarshaller.XMLReaderWithoutNamespace(xsr);
-                JAXBContext jaxbContext = JAXBContext.newInstance(WebAppType.class);
-                Unmarshaller jc = jaxbContext.createUnmarshaller();
-                WebAppType value = jc.unmarshal(xr, WebAppType.class).getValue();
-                return value;
-            } catch (JAXBException e) {
-                throw new RuntimeException(e);
-            }  catch (XMLStreamException e) {
-                throw new RuntimeException(e);
-            }
+            return SharedJaxbContext.forClasses(WebAppType.class)
+                    .unmarshal(xml, WebAppType.class, WebXml.WebXmlUnmarshaller.XMLReaderWithoutNamespace::new);
         }
 
         public static class XMLReaderWithoutNamespace extends StreamReaderDelegate {
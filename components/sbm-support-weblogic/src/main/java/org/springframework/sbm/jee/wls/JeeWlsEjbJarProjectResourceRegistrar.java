@@ -20,11 +20,18 @@ import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.openrewrite.SourceFile;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class JeeWlsEjbJarProjectResourceRegistrar implements ProjectResourceWrapper<WlsEjbDeploymentDescriptor> {
 
     private static final String WLS_EJB_JAR_FILENAME = "weblogic-ejb-jar.xml";
 
+    @Override
+    public Set<String> getSupportedFileExtensions() {
+        return Set.of("xml");
+    }
+
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         return rewriteSourceFileHolder.getAbsolutePath().endsWith(WLS_EJB_JAR_FILENAME);
@@ -19,9 +19,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.maven.Maven;
 import org.apache.maven.execution.*;
-import org.apache.maven.project.MavenProject;
+import org.apache.maven.internal.aether.DefaultRepositorySystemSessionFactory;
+import org.apache.maven.project.*;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.codehaus.plexus.util.dag.CycleDetectedException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
@@ -30,6 +34,7 @@ import java.util.function.Consumer;
 
 /**
  * Execute Maven goals and provides the current MavenSession to a custom listener.
+ * Alternatively builds the {@link MavenProject}s of a reactor without executing any goals.
  *
  * @author Fabian Krüger
  */
@@ -86,6 +91,53 @@ class MavenExecutor {
         execute(request);
     }
 
+    /**
+     * Builds the {@link MavenProject}s of the reactor under {@code baseDir} using Maven's {@link ProjectBuilder} and
+     * calls {@code projectsConsumer} with the projects in reactor build order.
+     * <p>
+     * In contrast to {@link #onProjectSucceededEvent(Path, List, Consumer)} no lifecycle is executed and no mojo runs.
+     * Models get interpolated, profiles activated and dependencies resolved (which may download artifacts) so that
+     * the returned projects provide the same information as the projects from a {@link MavenSession}.
+     * Compiled classes from {@code target/} are not required, dependencies on other modules of the reactor are
+     * resolved from the reactor through a {@link ReactorWorkspaceReader}.
+     */
+    public void withSortedProjects(Path baseDir, Consumer<List<MavenProject>> projectsConsumer) {
+        try {
+            PlexusContainer plexusContainer = mavenPlexusContainer.get();
+            MavenExecutionRequest request = requestFactory.createMavenExecutionRequest(plexusContainer, baseDir);
+            plexusContainer.lookup(MavenExecutionRequestPopulator.class).populateDefaults(request);
+            RepositorySystemSession repositorySession = plexusContainer.lookup(DefaultRepositorySystemSessionFactory.class).newRepositorySession(request);
+            ProjectBuilder projectBuilder = plexusContainer.lookup(ProjectBuilder.class);
+
+            // the reactor projects must be known to resolve dependencies between them
+            ProjectBuildingRequest modelsRequest = new DefaultProjectBuildingRequest(request.getProjectBuildingRequest())
+                    .setRepositorySession(repositorySession)
+                    .setResolveDependencies(false);
+            List<MavenProject> reactorProjects = projectBuilder.build(List.of(request.getPom()), true, modelsRequest).stream()
+                    .map(ProjectBuildingResult::getProject)
+                    .toList();
+
+            DefaultRepositorySystemSession reactorSession = new DefaultRepositorySystemSession(repositorySession);
+            reactorSession.setWorkspaceReader(new ReactorWorkspaceReader(reactorProjects));
+            ProjectBuildingRequest projectBuildingRequest = request.getProjectBuildingRequest()
+                    .setRepositorySession(reactorSession)
+                    .setResolveDependencies(true);
+            List<ProjectBuildingResult> results = projectBuilder.build(List.of(request.getPom()), true, projectBuildingRequest);
+            List<MavenProject> projects = results.stream()
+                    .map(ProjectBuildingResult::getProject)
+                    // resolved artifacts are only exposed through getArtifacts() when a filter is set
+                    .peek(project -> project.setArtifactFilter(artifact -> true))
+                    .toList();
+            List<MavenProject> sortedProjects = new ProjectSorter(projects).getSortedProjects();
+            log.info("Maven built %d project(s) without executing goals".formatted(sortedProjects.size()));
+            projectsConsumer.accept(sortedProjects);
+        } catch (ComponentLookupException | CycleDetectedException | DuplicateProjectException e) {
+            throw new RuntimeException(e);
+        } catch (ProjectBuildingException e) {
+            throw new MavenExecutionResultException("Maven could not build projects in '%s'".formatted(baseDir), List.of(e));
+        }
+    }
+
     /**
      * Executes the {@code request} against Maven.
      *
@@ -55,6 +55,11 @@ public class ParserSettings {
     private boolean failOnInvalidActiveRecipes = false;
     private List<String> activeProfiles = List.of("default");
     private Set<String> ignoredPathPatterns = new HashSet<>();
+    /**
+     * Defines if {@code mvn clean install} runs to retrieve the reactor projects (default) or if they are built
+     * without executing goals.
+     */
+    private boolean runMavenBuild = true;
 
     /**
      * @return fully qualified classname of the logger to use.
@@ -106,4 +111,8 @@ public class ParserSettings {
     public Set<String> getIgnoredPathPatterns() {
         return ignoredPathPatterns;
     }
+
+    public boolean isRunMavenBuild() {
+        return runMavenBuild;
+    }
 }
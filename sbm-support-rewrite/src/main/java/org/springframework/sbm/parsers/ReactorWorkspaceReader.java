@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.parsers;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Resolves artifacts of the projects in a reactor from the reactor itself, like Maven's {@code ReactorReader} does
+ * during a build.
+ * <p>
+ * Modules depending on other modules of the same reactor can then be resolved without installing these modules first.
+ * The pom of a module resolves to its pom file, all other artifacts to its output directory, which does not need to
+ * exist as no goal is executed.
+ */
+class ReactorWorkspaceReader implements WorkspaceReader {
+
+    private final Map<String, MavenProject> projects = new HashMap<>();
+    private final WorkspaceRepository repository;
+
+    ReactorWorkspaceReader(Collection<MavenProject> reactorProjects) {
+        reactorProjects.forEach(p -> projects.put(key(p.getGroupId(), p.getArtifactId(), p.getVersion()), p));
+        repository = new WorkspaceRepository("reactor", Set.copyOf(projects.keySet()));
+    }
+
+    @Override
+    public WorkspaceRepository getRepository() {
+        return repository;
+    }
+
+    @Override
+    public File findArtifact(Artifact artifact) {
+        MavenProject project = projects.get(key(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion()));
+        if (project == null) {
+            return null;
+        }
+        if ("pom".equals(artifact.getExtension())) {
+            return project.getFile();
+        }
+        return new File(project.getBuild().getOutputDirectory());
+    }
+
+    @Override
+    public List<String> findVersions(Artifact artifact) {
+        return projects.values().stream()
+                .filter(p -> p.getGroupId().equals(artifact.getGroupId()) && p.getArtifactId().equals(artifact.getArtifactId()))
+                .map(MavenProject::getVersion)
+                .toList();
+    }
+
+    private static String key(String groupId, String artifactId, String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+}
@@ -17,7 +17,6 @@ package org.springframework.sbm.parsers;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
@@ -130,8 +129,7 @@ public class RewriteProjectParser {
 
         AtomicReference<RewriteProjectParsingResult> atomicReference = new AtomicReference<>();
 
-        withMavenSession(baseDir, mavenSession -> {
-            List<MavenProject> sortedProjectsList = mavenSession.getProjectDependencyGraph().getSortedProjects();
+        withSortedProjects(baseDir, sortedProjectsList -> {
             SortedProjects mavenInfos = new SortedProjects(resources, sortedProjectsList, List.of("default"));
 
 //            List<Resource> sortedBuildFileResources = buildFileParser.filterAndSortBuildFiles(resources);
@@ -164,8 +162,12 @@ public class RewriteProjectParser {
         return atomicReference.get();
     }
 
-    private void withMavenSession(Path baseDir, Consumer<MavenSession> consumer) {
-        mavenExecutor.onProjectSucceededEvent(baseDir, List.of("clean", "install"), event -> consumer.accept(event.getSession()));
+    private void withSortedProjects(Path baseDir, Consumer<List<MavenProject>> consumer) {
+        if (parserSettings.isRunMavenBuild()) {
+            mavenExecutor.onProjectSucceededEvent(baseDir, List.of("clean", "install"), event -> consumer.accept(event.getSession().getProjectDependencyGraph().getSortedProjects()));
+        } else {
+            mavenExecutor.withSortedProjects(baseDir, consumer);
+        }
     }
 
     @org.jetbrains.annotations.Nullable
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.recipes;
+
+import lombok.Getter;
+import org.openrewrite.Recipe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of scanned recipes by name, tag and recipe class.
+ */
+@Getter
+class RecipeCatalog {
+
+    private final List<Recipe> recipes;
+    private final Map<String, Recipe> recipesByName;
+    private final Map<String, List<Recipe>> recipesByTag;
+    private final Map<Class<? extends Recipe>, List<Recipe>> recipesByClass;
+
+    RecipeCatalog(List<Recipe> recipes) {
+        this.recipes = List.copyOf(recipes);
+        Map<String, Recipe> byName = new HashMap<>();
+        Map<String, List<Recipe>> byTag = new HashMap<>();
+        Map<Class<? extends Recipe>, List<Recipe>> byClass = new HashMap<>();
+        for (Recipe recipe : this.recipes) {
+            byName.putIfAbsent(recipe.getName(), recipe);
+            recipe.getTags().forEach(tag -> byTag.computeIfAbsent(tag, t -> new ArrayList<>()).add(recipe));
+            byClass.computeIfAbsent(recipe.getClass(), c -> new ArrayList<>()).add(recipe);
+        }
+        this.recipesByName = Map.copyOf(byName);
+        this.recipesByTag = copyOf(byTag);
+        this.recipesByClass = copyOf(byClass);
+    }
+
+    private static <K> Map<K, List<Recipe>> copyOf(Map<K, List<Recipe>> map) {
+        Map<K, List<Recipe>> copy = new HashMap<>();
+        map.forEach((key, value) -> copy.put(key, List.copyOf(value)));
+        return Map.copyOf(copy);
+    }
+}
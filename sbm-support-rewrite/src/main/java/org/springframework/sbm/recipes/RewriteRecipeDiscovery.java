@@ -25,7 +25,6 @@ import org.openrewrite.Validated;
 import org.openrewrite.config.ClasspathScanningLoader;
 import org.openrewrite.config.Environment;
 import org.openrewrite.config.RecipeDescriptor;
-import org.openrewrite.config.ResourceLoader;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.AbstractRewriteMojo;
 import org.springframework.sbm.parsers.RecipeValidationErrorException;
@@ -36,6 +35,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Properties;
 
 import static java.util.Collections.emptyList;
@@ -52,15 +53,49 @@ import static java.util.stream.Collectors.toList;
 public class RewriteRecipeDiscovery {
 
     private final ParserSettings parserSettings;
+    private volatile RecipeCatalog catalog;
+
     /**
+     * All recipes on the classpath.
      *
+     * The recipes are scanned once and shared between calls until {@link #reload()} is called.
      */
     public List<Recipe> discoverRecipes() {
-        ClasspathScanningLoader resourceLoader = new ClasspathScanningLoader(new Properties(), new String[]{});
-        return Environment.builder()
-                .load(resourceLoader)
-                .build()
-                .listRecipes();
+        return getCatalog().getRecipes();
+    }
+
+    /**
+     * Drop the scanned recipes, the classpath is scanned again on next access.
+     * Must be called when the classpath changed, e.g. after recipe jars were added.
+     */
+    public void reload() {
+        catalog = null;
+    }
+
+    public Optional<Recipe> findRecipeByName(String name) {
+        return Optional.ofNullable(getCatalog().getRecipesByName().get(name));
+    }
+
+    public List<Recipe> findRecipesByClass(Class<? extends Recipe> recipeClass) {
+        return getCatalog().getRecipesByClass().getOrDefault(recipeClass, List.of());
+    }
+
+    private RecipeCatalog getCatalog() {
+        RecipeCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    ClasspathScanningLoader resourceLoader = new ClasspathScanningLoader(new Properties(), new String[]{});
+                    Environment environment = Environment.builder()
+                            .load(resourceLoader)
+                            .build();
+                    current = new RecipeCatalog(environment.listRecipes());
+                    catalog = current;
+                }
+            }
+        }
+        return current;
     }
 
     public List<Recipe> discoverFilteredRecipes(List<String> activeRecipes, Properties properties, String[] acceptPackages, ClasspathScanningLoader classpathScanningLoader) {
@@ -137,32 +172,23 @@ public class RewriteRecipeDiscovery {
         return recipes;
     }
 
-    public RecipeDescriptor findRecipeDescriptor(String anotherDummyRecipe) {
-        ResourceLoader resourceLoader = new ClasspathScanningLoader(new Properties(), new String[]{"io.example"});
-        Environment environment = Environment.builder()
-                .load(resourceLoader)
-                .build();
-
-        Collection<RecipeDescriptor> recipeDescriptors = environment.listRecipeDescriptors();
-        RecipeDescriptor descriptor = recipeDescriptors.stream()
-                .filter(rd -> "AnotherDummyRecipe".equals(rd.getDisplayName()))
-                .findFirst()
-                .get();
-        return descriptor;
+    /**
+     * Find the descriptor of the recipe with given name or, if no recipe has this name, with the given display name.
+     */
+    public RecipeDescriptor findRecipeDescriptor(String recipeName) {
+        RecipeCatalog recipeCatalog = getCatalog();
+        Recipe recipe = recipeCatalog.getRecipesByName().get(recipeName);
+        if (recipe == null) {
+            recipe = recipeCatalog.getRecipes().stream()
+                    .filter(r -> recipeName.equals(r.getDisplayName()))
+                    .findFirst()
+                    .orElseThrow(() -> new NoSuchElementException("No recipe found with name '%s'.".formatted(recipeName)));
+        }
+        return recipe.getDescriptor();
     }
 
     public List<Recipe> findRecipesByTags(String tag) {
-        ResourceLoader resourceLoader = new ClasspathScanningLoader(new Properties(), new String[]{});
-        Environment environment = Environment.builder()
-                .load(resourceLoader)
-                .build();
-
-        List<Recipe> recipes = environment.listRecipes()
-                .stream()
-                .filter(r -> r.getTags().contains(tag))
-                .toList();
-
-        return recipes;
+        return getCatalog().getRecipesByTag().getOrDefault(tag, List.of());
     }
 
 
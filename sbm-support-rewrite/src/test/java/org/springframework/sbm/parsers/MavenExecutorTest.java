@@ -15,10 +15,12 @@
  */
 package org.springframework.sbm.parsers;
 
+import org.apache.maven.project.MavenProject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,5 +42,33 @@ class MavenExecutorTest {
         });
     }
 
+    @Test
+    @DisplayName("Build sorted MavenProjects without executing goals")
+    void buildSortedProjectsWithoutExecutingGoals() {
+        MavenExecutionRequestFactory requestFactory = new MavenExecutionRequestFactory(new MavenConfigFileParser());
+        MavenPlexusContainer containerFactory= new MavenPlexusContainer();
+        MavenExecutor sut = new MavenExecutor(requestFactory, containerFactory);
+        Path baseDir = Path.of("./testcode/maven-projects/maven-config").toAbsolutePath().normalize();
+        List<MavenProject> sortedProjects = new ArrayList<>();
+        sut.withSortedProjects(baseDir, sortedProjects::addAll);
+        assertThat(sortedProjects).isNotEmpty();
+        assertThat(sortedProjects.get(0).getFile().toPath()).isEqualTo(baseDir.resolve("pom.xml"));
+    }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Build sorted MavenProjects depending on other modules of the reactor")
+    void buildSortedProjectsWithModuleDependencies() {
+        MavenExecutionRequestFactory requestFactory = new MavenExecutionRequestFactory(new MavenConfigFileParser());
+        MavenPlexusContainer containerFactory= new MavenPlexusContainer();
+        MavenExecutor sut = new MavenExecutor(requestFactory, containerFactory);
+        Path baseDir = Path.of("./testcode/maven-projects/multi-module-1").toAbsolutePath().normalize();
+        List<MavenProject> sortedProjects = new ArrayList<>();
+        sut.withSortedProjects(baseDir, sortedProjects::addAll);
+        assertThat(sortedProjects).extracting(MavenProject::getArtifactId).containsExactly("multi-module-1", "module-b", "module-a");
+        MavenProject moduleA = sortedProjects.get(2);
+        assertThat(moduleA.getArtifacts())
+                .filteredOn(a -> a.getArtifactId().equals("module-b"))
+                .singleElement()
+                .satisfies(a -> assertThat(a.getFile().toPath()).isEqualTo(baseDir.resolve("module-b/target/classes")));
+    }
+}
@@ -166,6 +166,23 @@ class RewriteRecipeDiscoveryTest {
         assertThat(getRecipeByName(recipes, "io.example.recipes.AnotherDummyRecipe")).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should Reuse Scanned Recipes Until Reloaded")
+    void shouldReuseScannedRecipesUntilReloaded() {
+        RewriteRecipeDiscovery sut = buildRecipeDiscovery();
+        List<Recipe> recipes = sut.discoverRecipes();
+
+        assertThat(sut.discoverRecipes()).isSameAs(recipes);
+        assertThat(sut.findRecipeByName("io.example.recipes.AnotherDummyRecipe")).containsSame(sut.findRecipesByClass(AnotherDummyRecipe.class).get(0));
+        assertThat(sut.findRecipesByTags("Java")).allMatch(recipes::contains);
+
+        sut.reload();
+
+        List<Recipe> reloadedRecipes = sut.discoverRecipes();
+        assertThat(reloadedRecipes).isNotSameAs(recipes);
+        assertThat(reloadedRecipes).map(Recipe::getName).containsExactlyElementsOf(recipes.stream().map(Recipe::getName).toList());
+    }
+
     @Test
     @DisplayName("Should Find Recipe Categories")
     void shouldFindRecipeCategories() {